@@ -0,0 +1,76 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.analytics.*;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import com.austinv11.graphs.util.CsrView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole graph analytics over a prebuilt CSR view. PageRank over 10M edges is run with {@code -p size=2500000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AnalyticsBenchmark {
+
+    @Param({"RANDOM", "POWER_LAW"})
+    public Graphs.Shape shape;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private CsrView<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> view;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                Graphs.build("simple", shape, size);
+        view = CsrView.of(graph);
+    }
+
+    @Benchmark
+    public double[] pageRank() {
+        return new PageRank<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>(0.85, 1e-6,
+                100, parallel).score(view);
+    }
+
+    @Benchmark
+    public double[] betweenness() {
+        return new BetweennessCentrality<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>(
+                true, parallel).score(view);
+    }
+
+    @Benchmark
+    public double[] closeness() {
+        return new ClosenessCentrality<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>(
+                parallel).score(view);
+    }
+
+    @Benchmark
+    public long triangles() {
+        return new TriangleCounting<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>(
+                parallel).count(view);
+    }
+
+    @Benchmark
+    public double clustering() {
+        return new ClusteringCoefficient<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>(
+                parallel).average(view);
+    }
+
+    @Benchmark
+    public int[] cores() {
+        return new CoreDecomposition<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>()
+                .coreNumbers(view);
+    }
+}
@@ -0,0 +1,146 @@
+package com.austinv11.graphs.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv}, typically from two different commits. Every benchmark
+ * present in both is printed with its relative change, and changes whose error intervals do not overlap are flagged
+ * as improvements or regressions (taking into account whether the mode reports time or throughput).
+ *
+ * Usage: {@code CompareResults <baseline.csv> <candidate.csv>}, exits with status 2 if anything regressed.
+ */
+public final class CompareResults {
+
+    private CompareResults() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || args[0].isEmpty() || args[1].isEmpty()) {
+            System.err.println("Usage: CompareResults <baseline.csv> <candidate.csv>");
+            System.exit(1);
+        }
+
+        Map<String, Result> baseline = read(args[0]);
+        Map<String, Result> candidate = read(args[1]);
+
+        boolean regressed = false;
+        System.out.printf("%-80s %16s %16s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, Result> entry : baseline.entrySet()) {
+            Result before = entry.getValue();
+            Result after = candidate.get(entry.getKey());
+            if (after == null)
+                continue;
+
+            double change = (after.score - before.score) / before.score * 100;
+            String verdict = "";
+            if (after.score - after.error > before.score + before.error) {
+                verdict = before.higherIsBetter() ? "improved" : "REGRESSED";
+            } else if (after.score + after.error < before.score - before.error) {
+                verdict = before.higherIsBetter() ? "REGRESSED" : "improved";
+            }
+            regressed |= verdict.equals("REGRESSED");
+
+            System.out.printf("%-80s %16s %16s %+8.1f%% %s%n", entry.getKey(), before, after, change, verdict);
+        }
+
+        for (String missing : candidate.keySet()) {
+            if (!baseline.containsKey(missing))
+                System.out.printf("%-80s %16s %16s%n", missing, "-", candidate.get(missing));
+        }
+
+        if (regressed)
+            System.exit(2);
+    }
+
+    private static Map<String, Result> read(String file) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        if (lines.isEmpty())
+            throw new IOException("Empty result file " + file);
+
+        List<String> header = split(lines.get(0));
+        int benchmark = header.indexOf("Benchmark"), mode = header.indexOf("Mode"), score = header.indexOf("Score"),
+                unit = header.indexOf("Unit"), error = -1;
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).startsWith("Score Error"))
+                error = i;
+        }
+        if (benchmark < 0 || mode < 0 || score < 0 || unit < 0 || error < 0)
+            throw new IOException("Not a JMH CSV result file " + file);
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty())
+                continue;
+
+            List<String> columns = split(line);
+            StringBuilder key = new StringBuilder(columns.get(benchmark));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && i < columns.size() && !columns.get(i).isEmpty())
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(columns.get(i));
+            }
+
+            double errorValue = parse(columns.get(error));
+            results.put(key.toString(), new Result(columns.get(mode), parse(columns.get(score)),
+                    Double.isNaN(errorValue) ? 0 : errorValue, columns.get(unit)));
+        }
+        return results;
+    }
+
+    private static double parse(String number) {
+        try {
+            return Double.parseDouble(number.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private static final class Result {
+
+        private final String mode;
+        private final double score, error;
+        private final String unit;
+
+        private Result(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        private boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f %s", score, unit);
+        }
+    }
+}
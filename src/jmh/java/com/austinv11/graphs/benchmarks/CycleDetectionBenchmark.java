@@ -0,0 +1,83 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.alg.ColoringCycleDetectionStrategy;
+import com.austinv11.graphs.alg.ReachabilityIndex;
+import com.austinv11.graphs.impl.DirectedAcyclicGraph;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cycle detection, both standalone and as done by {@link com.austinv11.graphs.impl.DirectedAcyclicGraph} on insertion,
+ * along with the reachability index used to speed it up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CycleDetectionBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> dag, cyclic;
+    private List<SimpleEdge<Integer, SimpleVertex<Integer>>> edges;
+    private SimpleVertex<Integer>[] froms, tos;
+    private final ColoringCycleDetectionStrategy<Integer, SimpleVertex<Integer>,
+            SimpleEdge<Integer, SimpleVertex<Integer>>,
+            Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>> coloring =
+            new ColoringCycleDetectionStrategy<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        edges = Graphs.edges(Graphs.Shape.DAG, size);
+        dag = Graphs.build("simple", Graphs.Shape.DAG, size);
+        cyclic = Graphs.build("simple", Graphs.Shape.RANDOM, size);
+
+        SplittableRandom random = new SplittableRandom(Graphs.SEED);
+        froms = Graphs.vertexArray(PROBES);
+        tos = Graphs.vertexArray(PROBES);
+        for (int i = 0; i < PROBES; i++) {
+            froms[i] = dag.findVertex(random.nextInt(size));
+            tos[i] = dag.findVertex(random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public boolean findCycleAcyclic() {
+        return coloring.findCycle(dag);
+    }
+
+    @Benchmark
+    public boolean findCycleCyclic() {
+        return coloring.findCycle(cyclic);
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> checkedAddEdges() {
+        DirectedAcyclicGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                new DirectedAcyclicGraph<>(new SimpleGraph<>());
+        graph.addEdges(edges);
+        return graph;
+    }
+
+    @Benchmark
+    public void reachability(Blackhole blackhole) {
+        ReachabilityIndex<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> index =
+                new ReachabilityIndex<>(dag);
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(index.isReachable(froms[i], tos[i]));
+        }
+    }
+}
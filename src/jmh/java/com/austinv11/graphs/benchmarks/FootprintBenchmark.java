@@ -0,0 +1,85 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.impl.OffHeapGraph;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the memory footprint and garbage collection cost of large on-heap and off-heap graphs. Each iteration
+ * builds a graph, scans it and then reports the heap and off-heap memory it retains along with the time spent in
+ * garbage collection while a full collection traces it. Run with {@code -prof gc} for allocation rates as well.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-XX:MaxDirectMemorySize=8g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class FootprintBenchmark {
+
+    @Param({"simple", "offheap"})
+    public String implementation;
+
+    @Param({"1000000"})
+    public int size;
+
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph;
+
+    /**
+     * Memory and collector measurements, reported alongside the build time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long heapBytes, offHeapBytes, gcMillis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heapBytes = offHeapBytes = gcMillis = 0;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void release() {
+        graph = null;
+        System.gc();
+    }
+
+    @Benchmark
+    public void buildAndScan(Footprint footprint, Blackhole blackhole) {
+        long before = usedHeap();
+        graph = Graphs.build(implementation, Graphs.Shape.RANDOM, size);
+        for (SimpleEdge<Integer, SimpleVertex<Integer>> edge : graph.edges()) {
+            blackhole.consume(edge);
+        }
+
+        long gcBefore = gcMillis();
+        footprint.heapBytes = usedHeap() - before; // Also forces a full collection which traces the graph
+        footprint.gcMillis = gcMillis() - gcBefore;
+        if (graph instanceof OffHeapGraph)
+            footprint.offHeapBytes = ((OffHeapGraph<Integer>) graph).getOffHeapBytes();
+        blackhole.consume(graph);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,62 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.generate.GraphGenerator;
+import com.austinv11.graphs.impl.OffHeapGraph;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import com.austinv11.graphs.io.EdgeFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating synthetic graphs, both just the edges and into an {@link com.austinv11.graphs.impl.OffHeapGraph}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class GeneratorBenchmark {
+
+    @Param({"RANDOM", "GRID", "POWER_LAW", "DAG"})
+    public Graphs.Shape shape;
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"1", "0"})
+    public int threads; // 0 uses every core
+
+    private ForkJoinPool pool;
+    private List<SimpleVertex<Integer>> vertices;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = threads == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(threads);
+        vertices = Graphs.vertices(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != ForkJoinPool.commonPool())
+            pool.shutdown();
+    }
+
+    private GraphGenerator generator() {
+        return Graphs.generator(shape, size).setPool(pool);
+    }
+
+    @Benchmark
+    public List<SimpleEdge<Integer, SimpleVertex<Integer>>> edges() {
+        return generator().generateEdges(vertices, EdgeFactory.simple());
+    }
+
+    @Benchmark
+    public OffHeapGraph<Integer> offHeapGraph() {
+        return generator().generate(OffHeapGraph::new, SimpleVertex::new, EdgeFactory.simple());
+    }
+}
@@ -0,0 +1,110 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.generate.*;
+import com.austinv11.graphs.impl.OffHeapGraph;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import com.austinv11.graphs.io.EdgeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic graphs shared by the benchmarks, built with the {@link com.austinv11.graphs.generate} models. Every graph
+ * is generated from a fixed seed so results are comparable between runs and commits. All edges are directed and
+ * weighted between 1 and 10.
+ */
+public final class Graphs {
+
+    public static final long SEED = 0x5EED;
+
+    /**
+     * The edge to vertex ratio of the random and DAG shapes.
+     */
+    public static final int DENSITY = 4;
+
+    public enum Shape {
+        /**
+         * Uniformly random edges (an Erdos-Renyi G(n, m) graph).
+         */
+        RANDOM,
+        /**
+         * A square lattice with edges pointing right and down.
+         */
+        GRID,
+        /**
+         * Preferential attachment (a Barabasi-Albert graph) so vertex degrees follow a power law.
+         */
+        POWER_LAW,
+        /**
+         * Uniformly random edges following a random topological order, so the graph is acyclic.
+         */
+        DAG
+    }
+
+    private Graphs() {}
+
+    public static List<SimpleVertex<Integer>> vertices(int size) {
+        List<SimpleVertex<Integer>> vertices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            vertices.add(new SimpleVertex<>(i));
+        }
+        return vertices;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // Generic arrays can't be created directly, and this one starts empty
+    public static SimpleVertex<Integer>[] vertexArray(int length) {
+        return new SimpleVertex[length];
+    }
+
+    public static GraphGenerator generator(Shape shape, int size) {
+        GraphGenerator generator;
+        switch (shape) {
+            case RANDOM:
+                generator = new ErdosRenyiGenerator(size, (long) DENSITY * size);
+                break;
+            case GRID:
+                int side = (int) Math.sqrt(size);
+                generator = new GridGenerator(side, side);
+                break;
+            case POWER_LAW:
+                generator = new BarabasiAlbertGenerator(size, DENSITY);
+                break;
+            case DAG:
+                generator = new RandomDagGenerator(size, (long) DENSITY * size);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+        return generator.setSeed(SEED).setDirected(true).setWeights(1, 10);
+    }
+
+    public static List<SimpleEdge<Integer, SimpleVertex<Integer>>> edges(Shape shape, int size) {
+        return generator(shape, size).generateEdges(vertices(size), EdgeFactory.simple());
+    }
+
+    /**
+     * Creates an empty graph.
+     *
+     * @param implementation Either "simple" or "offheap".
+     * @return The graph.
+     */
+    public static Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> create(
+            String implementation) {
+        switch (implementation) {
+            case "simple":
+                return new SimpleGraph<>();
+            case "offheap":
+                return new OffHeapGraph<>();
+            default:
+                throw new IllegalArgumentException("Unknown graph implementation " + implementation);
+        }
+    }
+
+    public static Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> build(
+            String implementation, Shape shape, int size) {
+        return generator(shape, size).generate(() -> create(implementation), SimpleVertex::new, EdgeFactory.simple());
+    }
+}
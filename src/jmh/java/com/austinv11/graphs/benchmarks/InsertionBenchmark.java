@@ -0,0 +1,67 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds graphs from scratch, one element at a time and in bulk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InsertionBenchmark {
+
+    @Param({"simple", "offheap"})
+    public String implementation;
+
+    @Param({"RANDOM", "GRID", "POWER_LAW", "DAG"})
+    public Graphs.Shape shape;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<SimpleVertex<Integer>> vertices;
+    private List<SimpleEdge<Integer, SimpleVertex<Integer>>> edges;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        vertices = Graphs.vertices(size);
+        edges = Graphs.edges(shape, size);
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> addVertex() {
+        Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                Graphs.create(implementation);
+        for (SimpleVertex<Integer> vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> addEdge() {
+        Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                Graphs.create(implementation);
+        for (SimpleEdge<Integer, SimpleVertex<Integer>> edge : edges) {
+            graph.addEdge(edge);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> addEdges() {
+        Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                Graphs.create(implementation);
+        graph.addEdges(edges);
+        return graph;
+    }
+}
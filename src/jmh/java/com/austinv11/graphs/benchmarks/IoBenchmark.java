@@ -0,0 +1,93 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import com.austinv11.graphs.io.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading graphs from files, compared against rebuilding them edge by edge.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class IoBenchmark {
+
+    @Param({"RANDOM", "POWER_LAW"})
+    public Graphs.Shape shape;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private Path directory, binary, edgeList;
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph;
+    private List<SimpleEdge<Integer, SimpleVertex<Integer>>> edges;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("graph-benchmark");
+        binary = directory.resolve("graph.sgbf");
+        edgeList = directory.resolve("graph.tsv");
+        edges = Graphs.edges(shape, size);
+        graph = Graphs.build("simple", shape, size);
+        new BinaryGraphWriter<>(ValueCodec.integers()).write(graph, binary);
+        new EdgeListWriter<Integer>().write(graph, edgeList);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(edgeList);
+        Files.deleteIfExists(directory.resolve("written.sgbf"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void openMappedAndScan(Blackhole blackhole) throws IOException {
+        MappedGraph<Integer> mapped = MappedGraph.open(binary, ValueCodec.integers());
+        for (SimpleEdge<Integer, SimpleVertex<Integer>> edge : mapped.edges()) {
+            blackhole.consume(edge);
+        }
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> copyMapped()
+            throws IOException {
+        return MappedGraph.open(binary, ValueCodec.integers()).copy();
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> rebuildWithAddEdge() {
+        Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> rebuilt = new SimpleGraph<>();
+        for (SimpleEdge<Integer, SimpleVertex<Integer>> edge : edges) {
+            rebuilt.addEdge(edge);
+        }
+        return rebuilt;
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> readEdgeList()
+            throws IOException {
+        Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> read = new SimpleGraph<>();
+        new EdgeListReader<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>(
+                Integer::valueOf, SimpleVertex::new, EdgeFactory.simple(), true).read(edgeList, read);
+        return read;
+    }
+
+    @Benchmark
+    public void writeBinary() throws IOException {
+        new BinaryGraphWriter<>(ValueCodec.integers()).write(graph, directory.resolve("written.sgbf"));
+    }
+}
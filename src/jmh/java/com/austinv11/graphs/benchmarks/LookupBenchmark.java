@@ -0,0 +1,96 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point queries against a prebuilt graph, each benchmark performs {@link #PROBES} lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LookupBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"simple", "offheap"})
+    public String implementation;
+
+    @Param({"RANDOM", "POWER_LAW"})
+    public Graphs.Shape shape;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph;
+    private int[] firsts, seconds;
+    private SimpleVertex<Integer>[] probes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = Graphs.build(implementation, shape, size);
+
+        // Half of the pairs are connected, the other half are random
+        List<SimpleEdge<Integer, SimpleVertex<Integer>>> edges = Graphs.edges(shape, size);
+        SplittableRandom random = new SplittableRandom(Graphs.SEED);
+        firsts = new int[PROBES];
+        seconds = new int[PROBES];
+        probes = Graphs.vertexArray(PROBES);
+        for (int i = 0; i < PROBES; i++) {
+            if (i % 2 == 0) {
+                SimpleEdge<Integer, SimpleVertex<Integer>> edge = edges.get(random.nextInt(edges.size()));
+                firsts[i] = edge.getFirst();
+                seconds[i] = edge.getSecond();
+            } else {
+                firsts[i] = random.nextInt(size);
+                seconds[i] = random.nextInt(size);
+            }
+            probes[i] = graph.findVertex(firsts[i]);
+        }
+    }
+
+    @Benchmark
+    public void findVertex(Blackhole blackhole) {
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(graph.findVertex(firsts[i]));
+        }
+    }
+
+    @Benchmark
+    public void areConnected(Blackhole blackhole) {
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(graph.areConnected(firsts[i], seconds[i]));
+        }
+    }
+
+    @Benchmark
+    public void getConnections(Blackhole blackhole) {
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(graph.getConnections(firsts[i], seconds[i]));
+        }
+    }
+
+    @Benchmark
+    public void getOutwardEdges(Blackhole blackhole) {
+        for (SimpleVertex<Integer> vertex : probes) {
+            blackhole.consume(graph.getOutwardEdges(vertex));
+        }
+    }
+
+    @Benchmark
+    public void getInwardEdges(Blackhole blackhole) {
+        for (SimpleVertex<Integer> vertex : probes) {
+            blackhole.consume(graph.getInwardEdges(vertex));
+        }
+    }
+}
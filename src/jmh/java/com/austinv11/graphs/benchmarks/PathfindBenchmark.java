@@ -0,0 +1,71 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.PathfindStrategy;
+import com.austinv11.graphs.alg.BreadthFirstSearch;
+import com.austinv11.graphs.alg.DepthFirstSearch;
+import com.austinv11.graphs.alg.DijkstraPathfindStrategy;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single pair pathfinding between the first and last vertices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PathfindBenchmark {
+
+    @Param({"dijkstra", "bfs", "dfs"})
+    public String strategy;
+
+    @Param({"simple", "offheap"})
+    public String implementation;
+
+    @Param({"RANDOM", "GRID", "POWER_LAW", "DAG"})
+    public Graphs.Shape shape;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph;
+    private PathfindStrategy<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>,
+            Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>> pathfinder;
+    private SimpleVertex<Integer> from, to;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = Graphs.build(implementation, shape, size);
+        switch (strategy) {
+            case "dijkstra":
+                pathfinder = new DijkstraPathfindStrategy<>();
+                break;
+            case "bfs":
+                pathfinder = new BreadthFirstSearch<>();
+                break;
+            case "dfs":
+                pathfinder = new DepthFirstSearch<>();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + strategy);
+        }
+
+        // Power law edges point from newer to older vertices
+        boolean reversed = shape == Graphs.Shape.POWER_LAW;
+        int last = shape == Graphs.Shape.GRID ? (int) Math.pow((int) Math.sqrt(size), 2) - 1 : size - 1;
+        from = graph.findVertex(reversed ? last : 0);
+        to = graph.findVertex(reversed ? 0 : last);
+    }
+
+    @Benchmark
+    public List<SimpleEdge<Integer, SimpleVertex<Integer>>> pathfind() {
+        return graph.pathfind(from, to, pathfinder);
+    }
+}
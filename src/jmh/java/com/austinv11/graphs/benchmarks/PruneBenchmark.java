@@ -0,0 +1,59 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.PruneStrategy;
+import com.austinv11.graphs.alg.DijkstraPruneStrategy;
+import com.austinv11.graphs.alg.KruskalPruneStrategy;
+import com.austinv11.graphs.alg.PrimPruneStrategy;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prunes graphs down to spanning trees.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PruneBenchmark {
+
+    @Param({"kruskal", "prim", "dijkstra"})
+    public String strategy;
+
+    @Param({"RANDOM", "GRID", "POWER_LAW"})
+    public Graphs.Shape shape;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph;
+    private PruneStrategy<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> pruner;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = Graphs.build("simple", shape, size);
+        switch (strategy) {
+            case "kruskal":
+                pruner = new KruskalPruneStrategy<>();
+                break;
+            case "prim":
+                pruner = new PrimPruneStrategy<>();
+                break;
+            case "dijkstra":
+                pruner = new DijkstraPruneStrategy<>();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + strategy);
+        }
+    }
+
+    @Benchmark
+    public Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> prune() {
+        return pruner.prune(graph);
+    }
+}
@@ -0,0 +1,68 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.extra.dependency.SemanticVersion;
+import com.austinv11.graphs.extra.dependency.VersionRange;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing, interning and comparing versions, each benchmark handles {@link #COUNT} versions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SemanticVersionBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private String[] strings;
+    private SemanticVersion[] versions;
+    private VersionRange range;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(Graphs.SEED);
+        strings = new String[COUNT];
+        versions = new SemanticVersion[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            strings[i] = random.nextInt(20) + "." + random.nextInt(50) + "." + random.nextInt(100)
+                    + (i % 8 == 0 ? ".rc" + random.nextInt(5) : "");
+            versions[i] = SemanticVersion.of(strings[i]);
+        }
+        range = VersionRange.parse(">=2.5.0 <15.0.0");
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String string : strings) {
+            blackhole.consume(new SemanticVersion(string));
+        }
+    }
+
+    @Benchmark
+    public void intern(Blackhole blackhole) {
+        for (String string : strings) {
+            blackhole.consume(SemanticVersion.of(string));
+        }
+    }
+
+    @Benchmark
+    public void compare(Blackhole blackhole) {
+        for (int i = 1; i < COUNT; i++) {
+            blackhole.consume(versions[i - 1].compareTo(versions[i]));
+        }
+    }
+
+    @Benchmark
+    public void rangeContains(Blackhole blackhole) {
+        for (SemanticVersion version : versions) {
+            blackhole.consume(range.contains(version));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.SortStrategy;
+import com.austinv11.graphs.alg.NaturalSortStrategy;
+import com.austinv11.graphs.alg.TopologicalSortStrategy;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts the vertices of acyclic graphs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SortBenchmark {
+
+    @Param({"topological", "natural"})
+    public String strategy;
+
+    @Param({"simple", "offheap"})
+    public String implementation;
+
+    @Param({"GRID", "DAG"})
+    public Graphs.Shape shape;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph;
+    private SortStrategy<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>,
+            Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>> sorter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = Graphs.build(implementation, shape, size);
+        sorter = strategy.equals("topological") ? new TopologicalSortStrategy<>() : new NaturalSortStrategy<>();
+    }
+
+    @Benchmark
+    public List<SimpleVertex<Integer>> sort() {
+        return graph.sortVertices(sorter);
+    }
+}
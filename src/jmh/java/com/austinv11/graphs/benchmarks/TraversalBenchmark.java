@@ -0,0 +1,82 @@
+package com.austinv11.graphs.benchmarks;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.alg.ParallelBreadthFirstSearch;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+import com.austinv11.graphs.util.CsrView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole graph scans and breadth first search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TraversalBenchmark {
+
+    @Param({"simple", "offheap"})
+    public String implementation;
+
+    @Param({"RANDOM", "GRID", "POWER_LAW", "DAG"})
+    public Graphs.Shape shape;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private Graph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph;
+    private CsrView<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> view;
+    private SimpleVertex<Integer> source;
+    private final ParallelBreadthFirstSearch<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>
+            bfs = new ParallelBreadthFirstSearch<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = Graphs.build(implementation, shape, size);
+        view = CsrView.of(graph);
+        source = graph.findVertex(0);
+    }
+
+    @Benchmark
+    public void vertices(Blackhole blackhole) {
+        for (SimpleVertex<Integer> vertex : graph.vertices()) {
+            blackhole.consume(vertex);
+        }
+    }
+
+    @Benchmark
+    public void edges(Blackhole blackhole) {
+        for (SimpleEdge<Integer, SimpleVertex<Integer>> edge : graph.edges()) {
+            blackhole.consume(edge);
+        }
+    }
+
+    @Benchmark
+    public void outwardEdges(Blackhole blackhole) {
+        for (SimpleVertex<Integer> vertex : graph.vertices()) {
+            blackhole.consume(graph.getOutwardEdges(vertex));
+        }
+    }
+
+    @Benchmark
+    public CsrView<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> csrView() {
+        return CsrView.of(graph);
+    }
+
+    @Benchmark
+    public Map<SimpleVertex<Integer>, Integer> parallelBfs() {
+        return bfs.distances(source, graph);
+    }
+
+    @Benchmark
+    public int[] parallelBfsCsr() {
+        return bfs.distances(view, view.indexOf(source));
+    }
+}
@@ -1,10 +1,14 @@
 package com.austinv11.graphs;
 
+import com.austinv11.graphs.event.GraphEvents;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * This represents a graph data structure.
@@ -251,6 +255,24 @@ public interface Graph<T, V extends Vertex<T>, E extends Edge<T, V>> extends Ite
      */
     void removeVertex(@Nonnull V vertex);
 
+    /**
+     * Replaces a vertex with another in place, rewiring every edge connected to the original vertex onto the
+     * replacement. Implementations may override this to perform the replacement in a single step.
+     *
+     * @param original The vertex to replace.
+     * @param replacement The vertex to replace it with.
+     * @param rewire A function which maps each edge connected to the original vertex to the equivalent edge
+     *               connected to the replacement.
+     */
+    default void replaceVertex(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire) {
+        Collection<E> edges = new ArrayList<>(getConnectedEdges(original));
+        removeVertex(original);
+        addVertex(replacement);
+        for (E edge : edges) {
+            addEdge(rewire.apply(edge));
+        }
+    }
+
     /**
      * Adds an edge to the graph.
      *
@@ -258,6 +280,18 @@ public interface Graph<T, V extends Vertex<T>, E extends Edge<T, V>> extends Ite
      */
     void addEdge(@Nonnull E edge);
 
+    /**
+     * Adds a batch of edges to the graph. Implementations may override this to amortize per-edge costs (such as
+     * locking or validation) across the whole batch.
+     *
+     * @param edges The edges to add.
+     */
+    default void addEdges(@Nonnull Collection<? extends E> edges) {
+        for (E edge : edges) {
+            addEdge(edge);
+        }
+    }
+
     /**
      * Removes an edge from the graph.
      *
@@ -265,6 +299,20 @@ public interface Graph<T, V extends Vertex<T>, E extends Edge<T, V>> extends Ite
      */
     void removeEdge(@Nonnull E edge);
 
+    /**
+     * Changes the weight of an edge. Unlike removing the edge and adding a reweighted one, this keeps the edge (edges
+     * handed out earlier still refer to it, and its position in the graph's structures) and is a single mutation.
+     * This is unsupported unless overridden.
+     *
+     * @param edge The edge, which must be in the graph.
+     * @param weight The new weight.
+     * @throws UnsupportedOperationException If this graph (or this type of edge) does not support changing weights.
+     * @throws java.util.NoSuchElementException If the edge is not in the graph.
+     */
+    default void setEdgeWeight(@Nonnull E edge, double weight) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support changing weights");
+    }
+
     /**
      * Gets the number of vertices present in the graph.
      *
@@ -284,6 +332,30 @@ public interface Graph<T, V extends Vertex<T>, E extends Edge<T, V>> extends Ite
      */
     void clear();
 
+    /**
+     * Begins a {@link com.austinv11.graphs.Transaction} which applies several mutations to this graph atomically.
+     * This is unsupported unless overridden.
+     *
+     * @return The new transaction.
+     * @throws UnsupportedOperationException If this graph does not support transactions.
+     */
+    @Nonnull
+    default Transaction<T, V, E> beginTransaction() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support transactions");
+    }
+
+    /**
+     * Gets the {@link com.austinv11.graphs.event.GraphEvent}s of this graph, which describe every mutation. This is
+     * unsupported unless overridden.
+     *
+     * @return The events of this graph.
+     * @throws UnsupportedOperationException If this graph does not support events.
+     */
+    @Nonnull
+    default GraphEvents<T, V, E> events() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support events");
+    }
+
     /**
      * Copies the contents of this graph to a new instance.
      *
@@ -0,0 +1,119 @@
+package com.austinv11.graphs;
+
+import com.austinv11.graphs.util.TransactionConflictException;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+
+/**
+ * A set of mutations which are buffered and then applied to a {@link com.austinv11.graphs.Graph} atomically, so
+ * concurrent readers never observe only part of them. Transactions are optimistic, they are based on the version of
+ * the graph when they began and committing fails if the graph has been modified since.
+ *
+ * Mutations are not visible (not even to the transaction) until committed. Typical usage is:
+ * <pre>{@code
+ * try (Transaction<T, V, E> transaction = graph.beginTransaction()) {
+ *     transaction.removeEdge(oldEdge);
+ *     transaction.addEdge(newEdge);
+ *     transaction.commit();
+ * } // Rolled back if not committed
+ * }</pre>
+ *
+ * @see Graph#beginTransaction()
+ */
+public interface Transaction<T, V extends Vertex<T>, E extends Edge<T, V>> extends AutoCloseable {
+
+    /**
+     * Gets the version of the graph this transaction is based on.
+     *
+     * @return The version.
+     */
+    long getVersion();
+
+    /**
+     * Gets whether this transaction can still be modified and committed.
+     *
+     * @return True if it is neither committed nor rolled back.
+     */
+    boolean isOpen();
+
+    /**
+     * Buffers the addition of a vertex.
+     *
+     * @param vertex The vertex to add.
+     * @throws IllegalStateException If this transaction is no longer open.
+     */
+    void addVertex(@Nonnull V vertex);
+
+    /**
+     * Buffers the removal of a vertex (and its edges).
+     *
+     * @param vertex The vertex to remove.
+     * @throws IllegalStateException If this transaction is no longer open.
+     */
+    void removeVertex(@Nonnull V vertex);
+
+    /**
+     * Buffers the addition of an edge.
+     *
+     * @param edge The edge to add.
+     * @throws IllegalStateException If this transaction is no longer open.
+     */
+    void addEdge(@Nonnull E edge);
+
+    /**
+     * Buffers the addition of several edges.
+     *
+     * @param edges The edges to add.
+     * @throws IllegalStateException If this transaction is no longer open.
+     */
+    default void addEdges(@Nonnull Collection<? extends E> edges) {
+        for (E edge : edges) {
+            addEdge(edge);
+        }
+    }
+
+    /**
+     * Buffers the removal of an edge.
+     *
+     * @param edge The edge to remove.
+     * @throws IllegalStateException If this transaction is no longer open.
+     */
+    void removeEdge(@Nonnull E edge);
+
+    /**
+     * Buffers a change of the weight of an edge, see
+     * {@link com.austinv11.graphs.Graph#setEdgeWeight(com.austinv11.graphs.Edge, double)}. Committing fails if the
+     * edge is not in the graph at this point of the transaction (for example because it was removed before).
+     *
+     * @param edge The edge.
+     * @param weight The new weight.
+     * @throws IllegalStateException If this transaction is no longer open.
+     */
+    void setEdgeWeight(@Nonnull E edge, double weight);
+
+    /**
+     * Atomically applies every buffered mutation, in order, and closes this transaction.
+     *
+     * @throws TransactionConflictException If the graph was modified since this transaction began, in which case
+     * nothing is applied.
+     * @throws java.util.NoSuchElementException If an edge whose weight is changed is missing, in which case nothing is
+     * applied.
+     * @throws IllegalStateException If this transaction is no longer open.
+     */
+    void commit() throws TransactionConflictException;
+
+    /**
+     * Discards every buffered mutation and closes this transaction.
+     */
+    void rollback();
+
+    /**
+     * Rolls this transaction back unless it was committed.
+     */
+    @Override
+    default void close() {
+        if (isOpen())
+            rollback();
+    }
+}
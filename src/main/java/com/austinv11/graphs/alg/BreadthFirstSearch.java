@@ -4,6 +4,9 @@ import com.austinv11.graphs.Edge;
 import com.austinv11.graphs.Graph;
 import com.austinv11.graphs.PathfindStrategy;
 import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
 
 import javax.annotation.Nonnull;
 import java.util.*;
@@ -16,6 +19,8 @@ import java.util.*;
  */
 public class BreadthFirstSearch<T, V extends Vertex<T>, E extends Edge<T, V>> implements PathfindStrategy<T, V, E, Graph<T, V, E>> {
 
+    private final Counter visitedCounter = Metrics.get().counter(MetricNames.BFS_VISITED);
+
     @Override
     @Nonnull
     public List<E> pathfind(@Nonnull V vertex1, @Nonnull V vertex2, @Nonnull Graph<T, V, E> graph) {
@@ -25,7 +30,9 @@ public class BreadthFirstSearch<T, V extends Vertex<T>, E extends Edge<T, V>> im
     @Nonnull
     private List<E> pathfind(@Nonnull V vertex1, @Nonnull V vertex2, @Nonnull Graph<T, V, E> graph, Set<V> visited, List<Collection<V>> levelTracker) {
         if (levelTracker == null) { // Generate levels until we visit the desired vertex
-            levelTracker = levelize(vertex1, vertex2, graph, new HashSet<>(), null, 0);
+            Set<V> levelized = new HashSet<>();
+            levelTracker = levelize(vertex1, vertex2, graph, levelized, null, 0);
+            visitedCounter.add(levelized.size());
         }
 
         //Now backtrack, since we know that the end vertex is on the last level, we reconstruct a path from it to the root
@@ -0,0 +1,362 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.PathfindStrategy;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.event.GraphEvent;
+import com.austinv11.graphs.event.GraphEvents;
+import com.austinv11.graphs.event.Subscription;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This decorates another {@link com.austinv11.graphs.PathfindStrategy} with a bounded, least recently used cache of
+ * the paths found between pairs of vertices of one graph. The cache listens to the graph's
+ * {@link com.austinv11.graphs.Graph#events()} and only invalidates the entries a mutation may affect:
+ * <ul>
+ *     <li>Removing an edge invalidates the paths which use it.</li>
+ *     <li>Adding an edge (u, v) with weight w invalidates a path from s to t of cost c unless it provably cannot
+ *     shorten it. Since subpaths of shortest paths are shortest paths, the distances from s to the vertices on the
+ *     cached path and from them to t are known, so any path using the new edge costs at least
+ *     d(s, u) + w + d(v, t), where unknown distances are taken as 0. Entries where this bound is at least c are kept.
+ *     Entries are indexed by cost, so only entries more expensive than w are ever examined.</li>
+ *     <li>Cached "no path" results are invalidated by any new edge.</li>
+ *     <li>Changing the weight of an edge invalidates the paths which use it and, if the edge got cheaper, is
+ *     otherwise treated like adding it.</li>
+ * </ul>
+ *
+ * This assumes the delegate finds shortest paths and that weights are non-negative (as with the default
+ * {@link com.austinv11.graphs.alg.DijkstraPathfindStrategy}). Adding a negative edge invalidates everything.
+ *
+ * Calls with other graphs than the one the cache is bound to (or graphs sharing its events, such as wrappers of it)
+ * are passed straight to the delegate. {@link #close()} stops listening to the graph.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Cache_replacement_policies#Least_recently_used_(LRU)">Wikipedia page</a>
+ */
+public class CachingPathfindStrategy<T, V extends Vertex<T>, E extends Edge<T, V>>
+        implements PathfindStrategy<T, V, E, Graph<T, V, E>>, AutoCloseable {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final PathfindStrategy<T, V, E, Graph<T, V, E>> delegate;
+    private final Graph<T, V, E> graph;
+    private final GraphEvents<T, V, E> events;
+    private final int maxEntries;
+    private final Subscription subscription;
+
+    // Guarded by this
+    private final LinkedHashMap<Key<V>, Entry<V, E>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final NavigableSet<Entry<V, E>> byCost = new TreeSet<>(Comparator.<Entry<V, E>>comparingDouble(e -> e.cost)
+            .thenComparingLong(e -> e.id));
+    private final Map<V, Set<Entry<V, E>>> byVertex = new HashMap<>();
+    private long nextId = 0;
+    private long generation = 0; // Incremented by every mutation, so searches racing with one are not cached
+
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+    private final Counter hitCounter = Metrics.get().counter(MetricNames.PATH_CACHE_HITS);
+    private final Counter missCounter = Metrics.get().counter(MetricNames.PATH_CACHE_MISSES);
+    private final Counter invalidationCounter = Metrics.get().counter(MetricNames.PATH_CACHE_INVALIDATIONS);
+    private final Counter evictionCounter = Metrics.get().counter(MetricNames.PATH_CACHE_EVICTIONS);
+
+    /**
+     * Caches {@link com.austinv11.graphs.alg.DijkstraPathfindStrategy} paths, with at most
+     * {@link #DEFAULT_MAX_ENTRIES} entries.
+     *
+     * @param graph The graph to cache paths of, it must support events.
+     */
+    public CachingPathfindStrategy(@Nonnull Graph<T, V, E> graph) {
+        this(new DijkstraPathfindStrategy<>(), graph, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param delegate The strategy to cache the paths of.
+     * @param graph The graph to cache paths of, it must support events.
+     * @param maxEntries The maximum number of cached paths.
+     */
+    public CachingPathfindStrategy(@Nonnull PathfindStrategy<T, V, E, Graph<T, V, E>> delegate,
+                                   @Nonnull Graph<T, V, E> graph, int maxEntries) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("The cache must hold at least one entry");
+        this.delegate = delegate;
+        this.graph = graph;
+        this.events = graph.events();
+        this.maxEntries = maxEntries;
+        this.subscription = events.addListener(this::onEvent);
+    }
+
+    @Override
+    @Nonnull
+    public List<E> pathfind(@Nonnull V vertex1, @Nonnull V vertex2, @Nonnull Graph<T, V, E> graph) {
+        if (vertex1.equals(vertex2) || !isBound(graph))
+            return delegate.pathfind(vertex1, vertex2, graph);
+
+        Key<V> key = new Key<>(vertex1, vertex2);
+        long searchedAt;
+        synchronized (this) {
+            Entry<V, E> entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                hitCounter.increment();
+                return new ArrayList<>(entry.path);
+            }
+            searchedAt = generation;
+        }
+        misses.increment();
+        missCounter.increment();
+
+        List<E> path = delegate.pathfind(vertex1, vertex2, graph);
+        synchronized (this) {
+            if (generation == searchedAt && !entries.containsKey(key))
+                put(key, path);
+        }
+        return path;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups which were passed to the delegate (excluding calls for other graphs).
+     *
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups answered from the cache.
+     *
+     * @return The hit rate, between 0 and 1 (0 if nothing was looked up).
+     */
+    public double getHitRate() {
+        long hits = getHits(), total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of cached paths.
+     *
+     * @return The size of the cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes every cached path.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidationCounter.add(entries.size());
+        entries.clear();
+        byCost.clear();
+        byVertex.clear();
+    }
+
+    /**
+     * Stops listening to the graph and empties the cache. Later calls are passed straight to the delegate.
+     */
+    @Override
+    public void close() {
+        subscription.cancel();
+        invalidateAll();
+    }
+
+    private boolean isBound(Graph<T, V, E> graph) {
+        if (graph == this.graph)
+            return true;
+        try {
+            return graph.events() == events;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private void put(Key<V> key, List<E> path) {
+        Entry<V, E> entry = new Entry<>(key, new ArrayList<>(path), nextId++);
+        entries.put(key, entry);
+        byCost.add(entry);
+        for (V vertex : entry.prefix.keySet()) {
+            byVertex.computeIfAbsent(vertex, v -> new HashSet<>()).add(entry);
+        }
+
+        if (entries.size() > maxEntries) {
+            remove(entries.values().iterator().next()); // The least recently used
+            evictionCounter.increment();
+        }
+    }
+
+    private void remove(Entry<V, E> entry) {
+        entries.remove(entry.key);
+        byCost.remove(entry);
+        for (V vertex : entry.prefix.keySet()) {
+            Set<Entry<V, E>> indexed = byVertex.get(vertex);
+            if (indexed != null) {
+                indexed.remove(entry);
+                if (indexed.isEmpty())
+                    byVertex.remove(vertex);
+            }
+        }
+    }
+
+    private void invalidate(Collection<Entry<V, E>> invalidated) {
+        for (Entry<V, E> entry : invalidated) {
+            remove(entry);
+        }
+        invalidationCounter.add(invalidated.size());
+    }
+
+    private synchronized void onEvent(GraphEvent<T, V, E> event) {
+        switch (event.getType()) {
+            case EDGE_ADDED:
+                generation++;
+                edgeAdded(event.getEdge());
+                break;
+            case EDGE_REMOVED:
+                generation++;
+                edgeRemoved(event.getEdge(), event.getEdge().getWeight());
+                break;
+            case WEIGHT_CHANGED:
+                generation++;
+                edgeRemoved(event.getEdge(), event.getOldWeight()); // Paths using it no longer cost what was cached
+                if (event.getEdge().getWeight() < event.getOldWeight())
+                    edgeAdded(event.getEdge());
+                break;
+            case CLEARED:
+                invalidateAll();
+                break;
+            default: // Adding or removing an isolated vertex does not affect any path
+                break;
+        }
+    }
+
+    private void edgeAdded(E edge) {
+        double weight = edge.getWeight();
+        if (weight < 0) {
+            invalidateAll();
+            return;
+        }
+
+        List<Entry<V, E>> invalidated = new ArrayList<>();
+        // Any path through the new edge costs at least its weight, so cheaper entries are never affected
+        for (Entry<V, E> entry : byCost.tailSet(new Entry<>(weight), false)) {
+            double bound = bound(entry, edge.getFirstVertex(), edge.getSecondVertex(), weight);
+            if (!edge.isDirected())
+                bound = Math.min(bound, bound(entry, edge.getSecondVertex(), edge.getFirstVertex(), weight));
+            if (bound < entry.cost)
+                invalidated.add(entry);
+        }
+        invalidate(invalidated);
+    }
+
+    // A lower bound of the cost of a path for the entry which goes through from -> to
+    private double bound(Entry<V, E> entry, V from, V to, double weight) {
+        Double toFrom = entry.prefix.get(from), toTo = entry.prefix.get(to);
+        return (toFrom != null ? toFrom : 0) + weight + (toTo != null ? entry.cost - toTo : 0);
+    }
+
+    private void edgeRemoved(E edge, double weight) {
+        Set<Entry<V, E>> candidates = byVertex.get(edge.getFirstVertex());
+        if (candidates == null)
+            return;
+
+        List<Entry<V, E>> invalidated = new ArrayList<>();
+        for (Entry<V, E> entry : candidates) {
+            if (entry.uses(edge, weight))
+                invalidated.add(entry);
+        }
+        invalidate(invalidated);
+    }
+
+    private static final class Key<V> {
+
+        private final V source, target;
+
+        private Key(V source, V target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key<?> key = (Key<?>) o;
+            return source.equals(key.source) && target.equals(key.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + target.hashCode();
+        }
+    }
+
+    private static final class Entry<V extends Vertex<?>, E extends Edge<?, V>> {
+
+        private final Key<V> key;
+        private final List<E> path;
+        private final double cost; // Infinite if there is no path
+        private final Map<V, Double> prefix; // The distance from the source to each vertex on the path
+        private final long id;
+
+        private Entry(Key<V> key, List<E> path, long id) {
+            this.key = key;
+            this.path = path;
+            this.id = id;
+            this.prefix = new HashMap<>();
+            if (path.isEmpty()) {
+                cost = Double.POSITIVE_INFINITY;
+            } else {
+                double distance = 0;
+                V current = key.source;
+                prefix.put(current, 0D);
+                for (E edge : path) {
+                    distance += edge.getWeight();
+                    current = edge.getOther(current);
+                    prefix.putIfAbsent(current, distance);
+                }
+                cost = distance;
+            }
+        }
+
+        private Entry(double cost) { // A probe for searching by cost
+            this.key = null;
+            this.path = null;
+            this.cost = cost;
+            this.prefix = null;
+            this.id = Long.MAX_VALUE;
+        }
+
+        // Edges are matched by identity and by endpoints, since undirected edges may be reversed copies (which still
+        // have the weight the edge had when the path was cached)
+        private boolean uses(E removed, double weight) {
+            for (E edge : path) {
+                if (edge.equals(removed))
+                    return true;
+                if (edge.isDirected() == removed.isDirected()
+                        && Double.compare(edge.getWeight(), weight) == 0
+                        && (edge.getFirstVertex().equals(removed.getFirstVertex())
+                        && edge.getSecondVertex().equals(removed.getSecondVertex())
+                        || !edge.isDirected() && edge.getFirstVertex().equals(removed.getSecondVertex())
+                        && edge.getSecondVertex().equals(removed.getFirstVertex())))
+                    return true;
+            }
+            return false;
+        }
+    }
+}
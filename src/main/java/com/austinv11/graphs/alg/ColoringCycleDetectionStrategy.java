@@ -6,15 +6,13 @@ import com.austinv11.graphs.Graph;
 import com.austinv11.graphs.Vertex;
 
 import javax.annotation.Nonnull;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Detects cycles by performing a depth first search and looking for "back edges". See this link for a simple
  * explanation: https://www.geeksforgeeks.org/detect-cycle-direct-graph-using-colors/
  *
- * This algorithm is O(|E| + |V|)
+ * This algorithm is O(|E| + |V|). The search keeps its own stack, so it works on arbitrarily deep graphs.
  */
 public class ColoringCycleDetectionStrategy<T, V extends Vertex<T>, E extends Edge<T, V>, G extends Graph<T, V, E>> implements CycleDetectionStrategy<T, V, E, G> {
 
@@ -23,22 +21,31 @@ public class ColoringCycleDetectionStrategy<T, V extends Vertex<T>, E extends Ed
         Map<V, Color> colorMap = new HashMap<>();
         Collection<V> vertices = graph.vertices();
         for (V v : vertices) {
-            if (recursiveSearch(graph, colorMap, v))
+            if (search(graph, colorMap, v))
                 return true;
         }
         return false;
     }
 
-    boolean recursiveSearch(G graph, Map<V, Color> colorMap, V vertex) {
+    boolean search(G graph, Map<V, Color> colorMap, V vertex) {
         Color c = colorMap.getOrDefault(vertex, Color.WHITE);
 
         if (c == Color.BLACK)
             return false;
 
+        // Each entry is a grey vertex and its remaining outward edges
+        Deque<Map.Entry<V, Iterator<E>>> stack = new ArrayDeque<>();
         colorMap.put(vertex, Color.GREY);
+        stack.push(new AbstractMap.SimpleImmutableEntry<>(vertex, graph.getOutwardEdges(vertex).iterator()));
+        while (!stack.isEmpty()) {
+            Map.Entry<V, Iterator<E>> top = stack.peek();
+            if (!top.getValue().hasNext()) {
+                colorMap.put(top.getKey(), Color.BLACK);
+                stack.pop();
+                continue;
+            }
 
-        for (E e : graph.getOutwardEdges(vertex)) {
-            V other = e.getOther(vertex);
+            V other = top.getValue().next().getOther(top.getKey());
             Color otherColor = colorMap.getOrDefault(other, Color.WHITE);
             if (otherColor == Color.GREY)
                 return true;
@@ -46,12 +53,10 @@ public class ColoringCycleDetectionStrategy<T, V extends Vertex<T>, E extends Ed
             if (otherColor == Color.BLACK)
                 continue;
 
-            if (recursiveSearch(graph, colorMap, other))
-                return true;
+            colorMap.put(other, Color.GREY);
+            stack.push(new AbstractMap.SimpleImmutableEntry<>(other, graph.getOutwardEdges(other).iterator()));
         }
 
-        colorMap.put(vertex, Color.BLACK);
-
         return false;
     }
 
@@ -4,6 +4,9 @@ import com.austinv11.graphs.Edge;
 import com.austinv11.graphs.Graph;
 import com.austinv11.graphs.PathfindStrategy;
 import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
 
 import javax.annotation.Nonnull;
 import java.util.*;
@@ -27,6 +30,10 @@ public class DijkstraPathfindStrategy<T, V extends Vertex<T>, E extends Edge<T,
 
     private final Supplier<Queue<? extends Comparable<?>>> queueSupplier;
 
+    private final Counter settledCounter = Metrics.get().counter(MetricNames.DIJKSTRA_SETTLED);
+    private final Counter relaxedCounter = Metrics.get().counter(MetricNames.DIJKSTRA_RELAXED);
+    private final Counter heapCounter = Metrics.get().counter(MetricNames.DIJKSTRA_HEAP_OPERATIONS);
+
     public DijkstraPathfindStrategy() {
         this(PriorityQueue::new);
     }
@@ -48,9 +55,11 @@ public class DijkstraPathfindStrategy<T, V extends Vertex<T>, E extends Edge<T,
         nodeMap.put(vertex1, currNode);
 
         Queue<DijkstraNode<V>> pq = (Queue<DijkstraNode<V>>) queueSupplier.get();
+        long settled = 0, relaxed = 0, heapOperations = 0; // Counted locally so metrics are only touched once
 
         while (Double.isFinite(currNode.tenativeDistance)) {
             visited.add(currNode.vertex);
+            settled++;
 
             Collection<E> edges = graph.getOutwardEdges(currNode.vertex);
             for (E edge : edges) {
@@ -62,18 +71,25 @@ public class DijkstraPathfindStrategy<T, V extends Vertex<T>, E extends Edge<T,
                         neighbor.hint(currNode, edge); //Mark previous for backtracking
                         pq.remove(neighbor);  //Required to ensure the pq updates the order correctly
                         pq.add(neighbor);
+                        relaxed++;
+                        heapOperations += 2;
                     }
                 }
             }
 
-            if (pq.isEmpty())
+            if (pq.isEmpty()) {
                 currNode = null;
-            else
+            } else {
                 currNode = pq.poll();
+                heapOperations++;
+            }
 
             if (currNode == null || currNode.vertex.equals(vertex2))
                 break;
         }
+        settledCounter.add(settled);
+        relaxedCounter.add(relaxed);
+        heapCounter.add(heapOperations);
 
         if (currNode != null && currNode.vertex.equals(vertex2)) { //Successful! Reconstruct the path.
             LinkedList<E> path = new LinkedList<>();
@@ -0,0 +1,428 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.event.GraphEvent;
+import com.austinv11.graphs.event.Subscription;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
+import com.austinv11.graphs.metrics.Timer;
+import com.austinv11.graphs.util.IndexedMinHeap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * This implements a dynamic single source shortest path tree, which keeps the distances from a source vertex (and the
+ * edges of a shortest path tree, like the one built by {@link com.austinv11.graphs.alg.DijkstraPruneStrategy}) up to
+ * date as the graph changes, in the style of Ramalingam and Reps. The tree listens to the graph's
+ * {@link com.austinv11.graphs.Graph#events()} and only touches the region a mutation affects:
+ * <ul>
+ *     <li>Adding an edge (u, v) only does anything if d(u) + w(u, v) &lt; d(v), in which case the decrease is
+ *     propagated with Dijkstra's algorithm from v, stopping wherever distances do not improve.</li>
+ *     <li>Removing an edge which is not in the tree changes nothing. Removing a tree edge into v detaches the subtree
+ *     rooted at v. Only the vertices of that subtree can get further away, so they are reset, seeded with their best
+ *     edge from a vertex outside the subtree and settled again with Dijkstra's algorithm.</li>
+ *     <li>Lowering the weight of an edge is handled like adding it and raising it like removing it (except that the
+ *     edge stays a candidate when the subtree is reattached).</li>
+ * </ul>
+ * The cost of an update is therefore proportional to the number of vertices whose distance changes (and their
+ * edges), rather than to the size of the graph.
+ *
+ * Edge weights must be non-negative. Queries are thread safe, updates happen on the thread mutating the graph.
+ * {@link #close()} stops listening to the graph.
+ *
+ * @see <a href="https://doi.org/10.1006/jagm.1996.0046">Ramalingam and Reps, An Incremental Algorithm for a
+ * Generalization of the Shortest-Path Problem</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Shortest-path_tree">Wikipedia page</a>
+ * @see com.austinv11.graphs.alg.DijkstraPruneStrategy
+ */
+public class DynamicShortestPathTree<T, V extends Vertex<T>, E extends Edge<T, V>> implements AutoCloseable {
+
+    private final Graph<T, V, E> graph;
+    private final V source;
+    private final Subscription subscription;
+
+    // Guarded by this
+    private State<V, E> state = new State<>();
+    private final IndexedMinHeap heap = new IndexedMinHeap();
+    private long mutations = 0;
+    private boolean building = false;
+
+    private final Timer updateTimer = Metrics.get().timer(MetricNames.DYNAMIC_SSSP_UPDATE);
+    private final Counter affectedCounter = Metrics.get().counter(MetricNames.DYNAMIC_SSSP_AFFECTED);
+
+    /**
+     * @param graph The graph, it must support events.
+     * @param source The source vertex.
+     */
+    public DynamicShortestPathTree(@Nonnull Graph<T, V, E> graph, @Nonnull V source) {
+        this.graph = graph;
+        this.source = source;
+        this.subscription = graph.events().addListener(this::onEvent);
+        recompute();
+    }
+
+    @Nonnull
+    public V getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the distance of a vertex from the source.
+     *
+     * @param vertex The vertex.
+     * @return The distance, or {@link Double#POSITIVE_INFINITY} if it is unreachable.
+     */
+    public synchronized double getDistance(@Nonnull V vertex) {
+        Integer id = state.ids.get(vertex);
+        return id == null ? Double.POSITIVE_INFINITY : state.dist[id];
+    }
+
+    /**
+     * Checks if a vertex can be reached from the source.
+     *
+     * @param vertex The vertex.
+     * @return True if reachable, false if otherwise.
+     */
+    public boolean isReachable(@Nonnull V vertex) {
+        return Double.isFinite(getDistance(vertex));
+    }
+
+    /**
+     * Gets the edge leading to a vertex in the tree.
+     *
+     * @param vertex The vertex.
+     * @return The edge, or null if the vertex is the source or is unreachable.
+     */
+    @Nullable
+    public synchronized E getPredecessorEdge(@Nonnull V vertex) {
+        Integer id = state.ids.get(vertex);
+        return id == null ? null : state.pred(id);
+    }
+
+    /**
+     * Gets a shortest path from the source to a vertex.
+     *
+     * @param target The vertex.
+     * @return The edges of the path in order (or an empty list if the vertex is unreachable or the source).
+     */
+    @Nonnull
+    public synchronized List<E> pathTo(@Nonnull V target) {
+        Integer id = state.ids.get(target);
+        if (id == null || !Double.isFinite(state.dist[id]))
+            return new ArrayList<>();
+
+        LinkedList<E> path = new LinkedList<>();
+        V current = target;
+        E edge;
+        while ((edge = state.pred(state.ids.get(current))) != null) {
+            path.addFirst(edge);
+            current = edge.getOther(current);
+        }
+        return new ArrayList<>(path);
+    }
+
+    /**
+     * Gets the distances of every reachable vertex.
+     *
+     * @return The distances, by vertex.
+     */
+    @Nonnull
+    public synchronized Map<V, Double> getDistances() {
+        Map<V, Double> distances = new HashMap<>();
+        for (int i = 0; i < state.vertices.size(); i++) {
+            if (Double.isFinite(state.dist[i]))
+                distances.put(state.vertices.get(i), state.dist[i]);
+        }
+        return distances;
+    }
+
+    /**
+     * Creates a graph out of the edges of the tree.
+     *
+     * @param newGraphSupplier Supplies the (empty) graph to add the edges to.
+     * @return The graph.
+     */
+    @Nonnull
+    public Graph<T, V, E> toGraph(@Nonnull Supplier<? extends Graph<T, V, E>> newGraphSupplier) {
+        List<E> edges = new ArrayList<>();
+        boolean reachable;
+        synchronized (this) {
+            for (int i = 0; i < state.vertices.size(); i++) {
+                E edge = state.pred(i);
+                if (edge != null)
+                    edges.add(edge);
+            }
+            Integer id = state.ids.get(source);
+            reachable = id != null && Double.isFinite(state.dist[id]);
+        }
+
+        Graph<T, V, E> tree = newGraphSupplier.get();
+        if (reachable)
+            tree.addVertex(source);
+        tree.addEdges(edges);
+        return tree;
+    }
+
+    /**
+     * Creates a {@link com.austinv11.graphs.impl.SimpleGraph} out of the edges of the tree.
+     *
+     * @return The graph.
+     */
+    @Nonnull
+    public Graph<T, V, E> toGraph() {
+        return toGraph(SimpleGraph::new);
+    }
+
+    /**
+     * Throws away the tree and computes it from scratch. This is never needed to keep the tree correct.
+     */
+    public void recompute() {
+        while (true) {
+            long before;
+            synchronized (this) {
+                building = true;
+                before = mutations;
+            }
+
+            State<V, E> built;
+            try {
+                built = build();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    building = false;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                if (mutations == before) { // Otherwise the graph changed while it was read, so try again
+                    state = built;
+                    building = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the graph, the tree is no longer updated.
+     */
+    @Override
+    public void close() {
+        subscription.cancel();
+    }
+
+    // This reads the graph without holding this lock, so mutations (which hold the graph's lock while waiting for
+    // this one) cannot deadlock with it
+    private State<V, E> build() {
+        State<V, E> built = new State<>();
+        if (graph.findVertex(source.get()) == null)
+            return built;
+
+        IndexedMinHeap queue = new IndexedMinHeap();
+        int root = built.id(source);
+        built.dist[root] = 0;
+        queue.update(root, 0);
+        while (!queue.isEmpty()) {
+            int id = queue.poll();
+            V vertex = built.vertices.get(id);
+            for (E edge : graph.getOutwardEdges(vertex)) {
+                V neighbor = edge.getOther(vertex);
+                if (neighbor.equals(vertex))
+                    continue;
+
+                double distance = built.dist[id] + weight(edge);
+                int neighborId = built.id(neighbor);
+                if (distance < built.dist[neighborId]) {
+                    built.dist[neighborId] = distance;
+                    built.pred[neighborId] = edge;
+                    queue.update(neighborId, distance);
+                }
+            }
+        }
+        return built;
+    }
+
+    private synchronized void onEvent(GraphEvent<T, V, E> event) {
+        mutations++;
+        if (building)
+            return;
+
+        long start = updateTimer.start();
+        try {
+            heap.clear(); // In case a previous update failed half way
+            switch (event.getType()) {
+                case VERTEX_ADDED:
+                    if (event.getVertex().equals(source)) {
+                        int root = state.id(source);
+                        state.dist[root] = 0;
+                        state.pred[root] = null;
+                    }
+                    break;
+                case VERTEX_REMOVED:
+                    if (event.getVertex().equals(source)) {
+                        state = new State<>();
+                    } else {
+                        Integer id = state.ids.get(event.getVertex());
+                        if (id != null)
+                            detach(id);
+                    }
+                    break;
+                case EDGE_ADDED:
+                    edgeAdded(event.getEdge());
+                    break;
+                case EDGE_REMOVED:
+                    edgeRemoved(event.getEdge());
+                    break;
+                case WEIGHT_CHANGED:
+                    if (event.getEdge().getWeight() < event.getOldWeight()) {
+                        edgeAdded(event.getEdge());
+                    } else { // The edge is still there, so the detached subtree is reattached through it if still best
+                        edgeRemoved(event.getEdge());
+                    }
+                    break;
+                case CLEARED:
+                    state = new State<>();
+                    break;
+            }
+        } finally {
+            updateTimer.stop(start);
+        }
+    }
+
+    private void edgeAdded(E edge) {
+        relax(edge, edge.getFirstVertex(), edge.getSecondVertex());
+        if (!edge.isDirected())
+            relax(edge, edge.getSecondVertex(), edge.getFirstVertex());
+        propagate();
+    }
+
+    private void edgeRemoved(E edge) {
+        Integer first = state.ids.get(edge.getFirstVertex()), second = state.ids.get(edge.getSecondVertex());
+        if (second != null && edge.equals(state.pred(second))) {
+            detach(second);
+        } else if (!edge.isDirected() && first != null && edge.equals(state.pred(first))) {
+            detach(first);
+        }
+    }
+
+    /**
+     * Lowers the distance of a vertex if an edge offers a shorter path to it, queueing it if so.
+     */
+    private void relax(E edge, V from, V to) {
+        if (from.equals(to))
+            return;
+
+        Integer fromId = state.ids.get(from);
+        if (fromId == null || !Double.isFinite(state.dist[fromId]))
+            return;
+
+        double distance = state.dist[fromId] + weight(edge);
+        int toId = state.id(to);
+        if (distance < state.dist[toId]) {
+            state.dist[toId] = distance;
+            state.pred[toId] = edge;
+            heap.update(toId, distance);
+        }
+    }
+
+    /**
+     * Settles the queued vertices with Dijkstra's algorithm. Only vertices whose distance improves are queued, so
+     * this stops at the boundary of the affected region.
+     */
+    private void propagate() {
+        long settled = 0;
+        while (!heap.isEmpty()) {
+            V vertex = state.vertices.get(heap.poll());
+            settled++;
+            for (E edge : graph.getOutwardEdges(vertex)) {
+                relax(edge, vertex, edge.getOther(vertex));
+            }
+        }
+        affectedCounter.add(settled);
+    }
+
+    /**
+     * Detaches the subtree rooted at a vertex (whose tree edge is gone) and reattaches it through the remaining
+     * edges, if possible.
+     */
+    private void detach(int root) {
+        List<Integer> subtree = new ArrayList<>();
+        Set<Integer> members = new HashSet<>();
+        subtree.add(root);
+        members.add(root);
+        for (int i = 0; i < subtree.size(); i++) {
+            V vertex = state.vertices.get(subtree.get(i));
+            for (E edge : graph.getOutwardEdges(vertex)) {
+                Integer child = state.ids.get(edge.getOther(vertex));
+                if (child != null && !members.contains(child) && edge.equals(state.pred(child))) {
+                    subtree.add(child);
+                    members.add(child);
+                }
+            }
+        }
+
+        for (int id : subtree) {
+            state.dist[id] = Double.POSITIVE_INFINITY;
+            state.pred[id] = null;
+        }
+
+        // Vertices outside the subtree keep their distances, so the best edge from them bounds each member
+        for (int id : subtree) {
+            V vertex = state.vertices.get(id);
+            for (E edge : graph.getInwardEdges(vertex)) {
+                V parent = edge.getOther(vertex);
+                Integer parentId = state.ids.get(parent);
+                if (parentId != null && !members.contains(parentId))
+                    relax(edge, parent, vertex);
+            }
+        }
+        propagate();
+    }
+
+    private static double weight(Edge<?, ?> edge) {
+        double weight = edge.getWeight();
+        if (weight < 0)
+            throw new IllegalArgumentException("Negative edge weight " + weight + " on " + edge);
+        return weight;
+    }
+
+    /**
+     * The distances and tree edges, indexed by dense vertex ids.
+     */
+    private static final class State<V, E> {
+
+        final Map<V, Integer> ids = new HashMap<>();
+        final List<V> vertices = new ArrayList<>();
+        double[] dist = new double[16];
+        Object[] pred = new Object[16];
+
+        int id(V vertex) {
+            Integer id = ids.get(vertex);
+            if (id != null)
+                return id;
+
+            id = vertices.size();
+            if (id == dist.length) {
+                dist = Arrays.copyOf(dist, id * 2);
+                pred = Arrays.copyOf(pred, id * 2);
+            }
+            dist[id] = Double.POSITIVE_INFINITY;
+            ids.put(vertex, id);
+            vertices.add(vertex);
+            return id;
+        }
+
+        @SuppressWarnings("unchecked")
+        E pred(int id) {
+            return (E) pred[id];
+        }
+    }
+}
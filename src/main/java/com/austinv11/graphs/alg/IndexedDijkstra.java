@@ -0,0 +1,190 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.IndexedMinHeap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A reusable Dijkstra search over dense vertex ids and an {@link com.austinv11.graphs.util.IndexedMinHeap} (so a
+ * tentative distance is lowered in place instead of removing and re-adding a queue node), for the strategies which run
+ * many searches per call. Searches can:
+ * <ul>
+ *     <li>Follow edges backwards, computing distances <i>to</i> the source.</li>
+ *     <li>Skip excluded vertices and edges.</li>
+ *     <li>Be guided by a consistent lower bound of the remaining distance to the target (making it an A* search).</li>
+ *     <li>Ignore vertices which cannot be reached within a bound (including the lower bound).</li>
+ * </ul>
+ *
+ * Weights must be non-negative. This is not thread safe.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/A*_search_algorithm">Wikipedia page</a>
+ */
+final class IndexedDijkstra<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    private final Graph<T, V, E> graph;
+    private final ToDoubleFunction<? super E> weight;
+    private final boolean reverse;
+    private Predicate<? super V> excludedVertices = v -> false;
+    private Predicate<? super E> excludedEdges = e -> false;
+    private ToDoubleFunction<? super V> heuristic = null;
+
+    private final Map<V, Integer> ids = new HashMap<>();
+    private final List<V> vertices = new ArrayList<>();
+    private double[] dist = new double[16];
+    private Object[] pred = new Object[16];
+    private final IndexedMinHeap heap = new IndexedMinHeap();
+    private long settled = 0;
+
+    /**
+     * @param graph The graph to search.
+     * @param weight The weight of each edge.
+     * @param reverse Whether to follow edges backwards.
+     */
+    IndexedDijkstra(@Nonnull Graph<T, V, E> graph, @Nonnull ToDoubleFunction<? super E> weight, boolean reverse) {
+        this.graph = graph;
+        this.weight = weight;
+        this.reverse = reverse;
+    }
+
+    IndexedDijkstra<T, V, E> exclude(@Nonnull Predicate<? super V> vertices, @Nonnull Predicate<? super E> edges) {
+        this.excludedVertices = vertices;
+        this.excludedEdges = edges;
+        return this;
+    }
+
+    /**
+     * Sets the lower bound of the remaining distance, it must be consistent (never decrease by more than the weight of
+     * an edge along it) and infinite for vertices which cannot reach the target.
+     */
+    IndexedDijkstra<T, V, E> heuristic(@Nullable ToDoubleFunction<? super V> heuristic) {
+        this.heuristic = heuristic;
+        return this;
+    }
+
+    /**
+     * Runs a search, replacing the results of the previous one.
+     *
+     * @param source The vertex to start from.
+     * @param target The vertex to stop at, or null to search everything reachable.
+     * @param bound Vertices whose distance (plus lower bound) exceeds this are not searched.
+     * @return True if the target was reached (always true without a target).
+     */
+    boolean search(@Nonnull V source, @Nullable V target, double bound) {
+        ids.clear();
+        vertices.clear();
+        heap.clear();
+
+        int root = id(source);
+        dist[root] = 0;
+        double key = estimate(source);
+        if (!(key <= bound) || excludedVertices.test(source)) // Also rejects infinite lower bounds
+            return target == null;
+        heap.update(root, key);
+
+        while (!heap.isEmpty()) {
+            int id = heap.poll();
+            V vertex = vertices.get(id);
+            settled++;
+            if (vertex.equals(target))
+                return true;
+
+            for (E edge : reverse ? graph.getInwardEdges(vertex) : graph.getOutwardEdges(vertex)) {
+                V neighbor = edge.getOther(vertex);
+                if (neighbor.equals(vertex) || excludedEdges.test(edge) || excludedVertices.test(neighbor))
+                    continue;
+
+                double w = weight.applyAsDouble(edge);
+                if (w < 0)
+                    throw new IllegalArgumentException("Negative edge weight " + w + " on " + edge);
+                double distance = dist[id] + w;
+                int neighborId = id(neighbor);
+                if (distance < dist[neighborId]) {
+                    double neighborKey = distance + estimate(neighbor);
+                    if (!(neighborKey <= bound)) // Also rejects infinite lower bounds
+                        continue;
+                    dist[neighborId] = distance;
+                    pred[neighborId] = edge;
+                    heap.update(neighborId, neighborKey);
+                }
+            }
+        }
+        return target == null;
+    }
+
+    /**
+     * Gets the distance of a vertex found by the last search. This is exact for the target and, without a target,
+     * for every vertex.
+     *
+     * @return The distance, or {@link Double#POSITIVE_INFINITY} if the vertex was not reached.
+     */
+    double distance(@Nonnull V vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? Double.POSITIVE_INFINITY : dist[id];
+    }
+
+    boolean isReached(@Nonnull V vertex) {
+        return Double.isFinite(distance(vertex));
+    }
+
+    /**
+     * Gets the path found by the last search, in the direction of the edges. For a forward search this leads from the
+     * source to the vertex, for a reverse search from the vertex to the source.
+     *
+     * @return The edges of the path (empty if the vertex was not reached or is the source).
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    List<E> path(@Nonnull V vertex) {
+        LinkedList<E> path = new LinkedList<>();
+        Integer id = ids.get(vertex);
+        if (id == null || !Double.isFinite(dist[id]))
+            return path;
+
+        V current = vertex;
+        E edge;
+        while ((edge = (E) pred[ids.get(current)]) != null) {
+            if (reverse) {
+                path.addLast(edge);
+            } else {
+                path.addFirst(edge);
+            }
+            current = edge.getOther(current);
+        }
+        return path;
+    }
+
+    /**
+     * Gets the number of vertices settled by every search so far.
+     */
+    long getSettled() {
+        return settled;
+    }
+
+    private double estimate(V vertex) {
+        return heuristic == null ? 0 : heuristic.applyAsDouble(vertex);
+    }
+
+    private int id(V vertex) {
+        Integer id = ids.get(vertex);
+        if (id != null)
+            return id;
+
+        id = vertices.size();
+        if (id == dist.length) {
+            dist = Arrays.copyOf(dist, id * 2);
+            pred = Arrays.copyOf(pred, id * 2);
+        }
+        dist[id] = Double.POSITIVE_INFINITY;
+        pred[id] = null;
+        ids.put(vertex, id);
+        vertices.add(vertex);
+        return id;
+    }
+}
@@ -0,0 +1,210 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.AtomicBitSet;
+import com.austinv11.graphs.util.CsrView;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This implements a parallel, direction-optimizing breadth first search which computes the hop distance from a source
+ * to every vertex of a graph. Unlike {@link com.austinv11.graphs.alg.BreadthFirstSearch}, this is meant for whole-graph
+ * analytics rather than finding a single path.
+ *
+ * Each level is expanded either "top-down" (frontier vertices claim their unvisited outward neighbors) or "bottom-up"
+ * (unvisited vertices scan their inward neighbors for one in the frontier, stopping at the first hit). Bottom-up steps
+ * are far cheaper once the frontier covers a large part of the graph, so the search switches between the two using
+ * Beamer's heuristics. Frontiers and visited marks are {@link com.austinv11.graphs.util.AtomicBitSet}s and each step is
+ * split across fork-join workers. This algorithm is O(|E| + |V|).
+ *
+ * @see <a href="https://doi.org/10.1109/SC.2012.50">Direction-Optimizing Breadth-First Search</a>
+ * @see com.austinv11.graphs.alg.BreadthFirstSearch
+ */
+public class ParallelBreadthFirstSearch<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    /**
+     * The distance assigned to vertices which cannot be reached from the source.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private final ForkJoinPool pool;
+    private final int alpha, beta;
+
+    public ParallelBreadthFirstSearch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBreadthFirstSearch(@Nonnull ForkJoinPool pool) {
+        this(pool, 14, 24);
+    }
+
+    /**
+     * @param pool The pool to run workers on.
+     * @param alpha Switch to bottom-up once the frontier's outward edges exceed 1/alpha of the unexplored edges.
+     * @param beta Switch back to top-down once the frontier holds less than 1/beta of the vertices.
+     */
+    public ParallelBreadthFirstSearch(@Nonnull ForkJoinPool pool, int alpha, int beta) {
+        this.pool = pool;
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Computes the hop distance from a source vertex to every vertex.
+     *
+     * @param source The source vertex.
+     * @param graph The graph to search.
+     * @return The hop distances of every reachable vertex (including the source).
+     */
+    @Nonnull
+    public Map<V, Integer> distances(@Nonnull V source, @Nonnull Graph<T, V, E> graph) {
+        CsrView<T, V, E> view = CsrView.of(graph);
+        int index = view.indexOf(source);
+        if (index < 0)
+            return new HashMap<>();
+
+        int[] distances = distances(view, index);
+        Map<V, Integer> map = new HashMap<>();
+        for (int i = 0; i < distances.length; i++) {
+            if (distances[i] != UNREACHABLE)
+                map.put(view.vertex(i), distances[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Computes the hop distance from a source vertex to every vertex.
+     *
+     * @param view The graph view.
+     * @param source The index of the source vertex.
+     * @return The hop distances, indexed by vertex index, with {@link #UNREACHABLE} for unreachable vertices.
+     */
+    @Nonnull
+    public int[] distances(@Nonnull CsrView<T, V, E> view, int source) {
+        int n = view.size();
+        int[] distances = new int[n];
+        Arrays.fill(distances, UNREACHABLE);
+        if (n == 0)
+            return distances;
+
+        distances[source] = 0;
+        AtomicBitSet visited = new AtomicBitSet(n);
+        visited.set(source);
+        AtomicBitSet frontier = new AtomicBitSet(n);
+        frontier.set(source);
+        int[] frontierList = {source};
+
+        long frontierEdges = view.outDegree(source);
+        long unexploredEdges = view.outTargets().length - frontierEdges;
+        boolean bottomUp = false;
+        int level = 0;
+        while (frontierList.length > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / alpha) {
+                bottomUp = true;
+            } else if (bottomUp && frontierList.length < n / beta) {
+                bottomUp = false;
+            }
+
+            AtomicBitSet next = new AtomicBitSet(n);
+            int nextLevel = ++level;
+            if (bottomUp) {
+                AtomicBitSet currFrontier = frontier;
+                pool.invoke(new RangeTask(0, visited.wordCount(), (from, to) ->
+                        bottomUpStep(view, from, to, currFrontier, next, visited, distances, nextLevel)));
+            } else {
+                int[] currFrontier = frontierList;
+                pool.invoke(new RangeTask(0, currFrontier.length, (from, to) ->
+                        topDownStep(view, currFrontier, from, to, next, visited, distances, nextLevel)));
+            }
+
+            frontier = next;
+            frontierList = next.toArray();
+            frontierEdges = 0;
+            for (int v : frontierList) {
+                frontierEdges += view.outDegree(v);
+            }
+            unexploredEdges -= frontierEdges;
+        }
+        return distances;
+    }
+
+    private static void topDownStep(CsrView<?, ?, ?> view, int[] frontier, int from, int to,
+                                    AtomicBitSet next, AtomicBitSet visited, int[] distances, int level) {
+        int[] offsets = view.outOffsets();
+        int[] targets = view.outTargets();
+        for (int i = from; i < to; i++) {
+            int u = frontier[i];
+            for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                int v = targets[j];
+                if (!visited.get(v) && visited.set(v)) {
+                    distances[v] = level;
+                    next.set(v);
+                }
+            }
+        }
+    }
+
+    // Ranges are in words, so each worker exclusively owns the vertices (and bits) it updates
+    private static void bottomUpStep(CsrView<?, ?, ?> view, int fromWord, int toWord, AtomicBitSet frontier,
+                                     AtomicBitSet next, AtomicBitSet visited, int[] distances, int level) {
+        int[] offsets = view.inOffsets();
+        int[] sources = view.inSources();
+        int n = view.size();
+        for (int w = fromWord; w < toWord; w++) {
+            long unvisited = ~visited.word(w);
+            while (unvisited != 0) {
+                int v = (w << 6) + Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                if (v >= n)
+                    break;
+
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    if (frontier.get(sources[j])) {
+                        distances[v] = level;
+                        visited.set(v);
+                        next.set(v);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeBody {
+
+        void run(int from, int to);
+    }
+
+    @SuppressWarnings("serial") // Tasks only live in the pool, they are never serialized
+    private static final class RangeTask extends RecursiveAction {
+
+        private final int from, to;
+        private final RangeBody body;
+
+        private RangeTask(int from, int to, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                body.run(from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, body), new RangeTask(mid, to, body));
+            }
+        }
+    }
+}
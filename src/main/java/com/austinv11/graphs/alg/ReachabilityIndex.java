@@ -0,0 +1,328 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.CycleException;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * This implements a reachability (transitive closure) index for directed acyclic graphs. It answers whether a directed
+ * path exists from one vertex to another without running a full search per query. The index is built lazily on the
+ * first query after construction or {@link #invalidate()}.
+ *
+ * Two representations are used depending on the configured memory cap:
+ * <ul>
+ *     <li>If it fits, a bitset transitive closure over the topological order is built. Since every descendant of a
+ *     vertex comes after it in topological order, each row only stores the bits following its own position (roughly
+ *     |V|^2 / 16 bytes in total). Queries are O(1).</li>
+ *     <li>Otherwise, GRAIL style interval labels are built (8 bytes per vertex per traversal). A label mismatch proves
+ *     a vertex is unreachable in O(k), and positive queries run a depth first search which prunes every branch whose
+ *     labels exclude the destination.</li>
+ * </ul>
+ *
+ * Building either representation is O(|E| + |V|) for labels and O(|E| * |V| / 64) for the closure. A
+ * {@link com.austinv11.graphs.util.CycleException} is thrown if the graph is not acyclic.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Reachability#Algorithms">Wikipedia page</a>
+ * @see <a href="https://doi.org/10.14778/1920841.1920879">GRAIL: Scalable Reachability Index for Large Graphs</a>
+ * @see com.austinv11.graphs.impl.DirectedAcyclicGraph#enableReachabilityIndex(long)
+ */
+public class ReachabilityIndex<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    /**
+     * The default memory cap (64 MiB).
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final int LABEL_TRAVERSALS = 3;
+
+    private final Graph<T, V, E> graph;
+    private final long maxBytes;
+    private final long seed;
+
+    private boolean stale = true;
+
+    private Map<V, Integer> indices;
+    private int[] offsets, targets; // Adjacency in topological order
+
+    private long[][] closure;
+
+    private int[][] lows, posts;
+    private int[] visitStamps;
+    private int stamp;
+
+    public ReachabilityIndex(@Nonnull Graph<T, V, E> graph) {
+        this(graph, DEFAULT_MAX_BYTES);
+    }
+
+    public ReachabilityIndex(@Nonnull Graph<T, V, E> graph, long maxBytes) {
+        this(graph, maxBytes, 0x5DEECE66DL);
+    }
+
+    public ReachabilityIndex(@Nonnull Graph<T, V, E> graph, long maxBytes, long seed) {
+        this.graph = graph;
+        this.maxBytes = maxBytes;
+        this.seed = seed;
+    }
+
+    /**
+     * Checks if a directed path exists from one vertex to another. A vertex is always considered reachable from
+     * itself.
+     *
+     * @param from The starting vertex.
+     * @param to The destination vertex.
+     * @return True if the destination is reachable, false if otherwise (or if either vertex is not in the graph).
+     */
+    public synchronized boolean isReachable(@Nonnull V from, @Nonnull V to) {
+        ensureBuilt();
+        Integer source = indices.get(from);
+        Integer dest = indices.get(to);
+        if (source == null || dest == null)
+            return false;
+
+        int u = source, v = dest;
+        if (u == v)
+            return true;
+        if (v < u) // Descendants always come later in topological order
+            return false;
+
+        if (closure != null) {
+            int word = (v >>> 6) - (u >>> 6);
+            return (closure[u][word] & (1L << (v & 63))) != 0;
+        }
+
+        return searchLabelled(u, v);
+    }
+
+    /**
+     * Checks whether the index currently holds a full transitive closure (as opposed to interval labels).
+     *
+     * @return True if the closure fit within the memory cap.
+     */
+    public synchronized boolean isClosure() {
+        ensureBuilt();
+        return closure != null;
+    }
+
+    /**
+     * Marks the index as stale, so it will be rebuilt on the next query.
+     */
+    public synchronized void invalidate() {
+        stale = true;
+        indices = null;
+        offsets = targets = null;
+        closure = null;
+        lows = posts = null;
+        visitStamps = null;
+    }
+
+    private void ensureBuilt() {
+        if (!stale)
+            return;
+
+        order();
+
+        int n = indices.size();
+        long closureBytes = 0;
+        for (int i = 0; i < n; i++) {
+            closureBytes += 8L * ((n - 1 >>> 6) - (i >>> 6) + 1);
+            if (closureBytes > maxBytes)
+                break;
+        }
+
+        if (closureBytes <= maxBytes) {
+            buildClosure(n);
+        } else {
+            buildLabels(n);
+        }
+
+        stale = false;
+    }
+
+    // Kahn's algorithm, renumbering vertices so edges always point from a lower index to a higher one
+    private void order() {
+        Collection<V> vertices = graph.vertices();
+        int n = vertices.size();
+        List<V> byIndex = new ArrayList<>(vertices);
+        Map<V, Integer> initial = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            initial.put(byIndex.get(i), i);
+        }
+
+        int[][] adjacency = new int[n][];
+        int[] inDegrees = new int[n];
+        for (int i = 0; i < n; i++) {
+            V vertex = byIndex.get(i);
+            Collection<E> out = graph.getOutwardEdges(vertex);
+            int[] row = new int[out.size()];
+            int j = 0;
+            for (E e : out) {
+                Integer other = initial.get(e.getOther(vertex));
+                if (other != null) {
+                    row[j++] = other;
+                    inDegrees[other]++;
+                }
+            }
+            adjacency[i] = j == row.length ? row : Arrays.copyOf(row, j);
+        }
+
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegrees[i] == 0)
+                queue[tail++] = i;
+        }
+        while (head < tail) {
+            int curr = queue[head++];
+            for (int next : adjacency[curr]) {
+                if (--inDegrees[next] == 0)
+                    queue[tail++] = next;
+            }
+        }
+
+        if (tail != n)
+            throw new CycleException();
+
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[queue[i]] = i;
+        }
+
+        indices = new HashMap<>();
+        offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int original = queue[i];
+            indices.put(byIndex.get(original), i);
+            offsets[i + 1] = offsets[i] + adjacency[original].length;
+        }
+        targets = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int[] row = adjacency[queue[i]];
+            for (int j = 0; j < row.length; j++) {
+                targets[offsets[i] + j] = rank[row[j]];
+            }
+        }
+    }
+
+    private void buildClosure(int n) {
+        int lastWord = n - 1 >>> 6;
+        closure = new long[n][];
+        for (int u = n - 1; u >= 0; u--) {
+            int base = u >>> 6;
+            long[] row = new long[lastWord - base + 1];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                row[(v >>> 6) - base] |= 1L << (v & 63);
+                long[] other = closure[v];
+                int shift = (v >>> 6) - base;
+                for (int w = 0; w < other.length; w++) {
+                    row[w + shift] |= other[w];
+                }
+            }
+            closure[u] = row;
+        }
+    }
+
+    private void buildLabels(int n) {
+        Random random = new Random(seed);
+        lows = new int[LABEL_TRAVERSALS][n];
+        posts = new int[LABEL_TRAVERSALS][n];
+        visitStamps = new int[n];
+        stamp = 0;
+
+        boolean[] hasParent = new boolean[n];
+        for (int target : targets) {
+            hasParent[target] = true;
+        }
+        List<Integer> roots = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (!hasParent[i])
+                roots.add(i);
+        }
+
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        int[] start = new int[n];
+        for (int t = 0; t < LABEL_TRAVERSALS; t++) {
+            int[] low = lows[t], post = posts[t];
+            boolean[] visited = new boolean[n];
+            Collections.shuffle(roots, random);
+            int rank = 0;
+            for (int root : roots) {
+                int depth = 0;
+                stack[depth] = root;
+                visited[root] = true;
+                low[root] = Integer.MAX_VALUE;
+                start[root] = randomStart(random, root);
+                cursor[root] = 0;
+                while (depth >= 0) {
+                    int u = stack[depth];
+                    int degree = offsets[u + 1] - offsets[u];
+                    if (cursor[u] < degree) {
+                        int v = targets[offsets[u] + (start[u] + cursor[u]++) % degree];
+                        if (visited[v]) {
+                            low[u] = Math.min(low[u], low[v]);
+                        } else {
+                            visited[v] = true;
+                            low[v] = Integer.MAX_VALUE;
+                            start[v] = randomStart(random, v);
+                            cursor[v] = 0;
+                            stack[++depth] = v;
+                        }
+                    } else {
+                        post[u] = rank++;
+                        low[u] = Math.min(low[u], post[u]);
+                        depth--;
+                        if (depth >= 0) {
+                            int parent = stack[depth];
+                            low[parent] = Math.min(low[parent], low[u]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int randomStart(Random random, int u) {
+        int degree = offsets[u + 1] - offsets[u];
+        return degree == 0 ? 0 : random.nextInt(degree);
+    }
+
+    private boolean excluded(int u, int v) {
+        for (int t = 0; t < LABEL_TRAVERSALS; t++) {
+            if (lows[t][v] < lows[t][u] || posts[t][v] > posts[t][u])
+                return true;
+        }
+        return false;
+    }
+
+    private boolean searchLabelled(int from, int to) {
+        if (excluded(from, to))
+            return false;
+
+        if (++stamp == 0) { // Overflowed, reset the marks
+            Arrays.fill(visitStamps, 0);
+            stamp = 1;
+        }
+
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(from);
+        visitStamps[from] = stamp;
+        while (!stack.isEmpty()) {
+            int u = stack.pop();
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (v == to)
+                    return true;
+                if (visitStamps[v] == stamp || v > to || excluded(v, to))
+                    continue;
+                visitStamps[v] = stamp;
+                stack.push(v);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,246 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.PathfindStrategy;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This implements a resource constrained shortest path search, which finds the cheapest path whose total use of a
+ * second resource (such as time or fuel, given per edge) stays within a budget. This problem is NP-hard in general,
+ * so this uses an exact label setting algorithm: every vertex can hold several labels (partial paths with their cost
+ * and resource use), and a label is only kept if no other label at its vertex is both cheaper and uses less of the
+ * resource. To keep it fast on large graphs, two reverse searches are done first:
+ * <ul>
+ *     <li>The least resource use to the target of every vertex (up to the budget), so vertices which cannot reach
+ *     the target within the budget are never searched. Completing a label with this path is always within the
+ *     budget, which gives upper bounds of the optimal cost, so labels which cannot beat the best of these are
+ *     dropped.</li>
+ *     <li>The cheapest cost to the target of the remaining vertices (up to the first upper bound), which is used as
+ *     the lower bound of an A* search over the labels (so the first label to reach the target is optimal). If the
+ *     cheapest path fits the budget, it is returned without any labels.</li>
+ * </ul>
+ *
+ * Costs and resource uses must be non-negative.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Shortest_path_problem">Wikipedia page</a>
+ */
+public class ResourceConstrainedPathfindStrategy<T, V extends Vertex<T>, E extends Edge<T, V>>
+        implements PathfindStrategy<T, V, E, Graph<T, V, E>> {
+
+    private final ToDoubleFunction<? super E> cost;
+    private final ToDoubleFunction<? super E> resource;
+    private final double budget;
+
+    private final Counter labelCounter = Metrics.get().counter(MetricNames.CONSTRAINED_LABELS);
+    private final Counter prunedCounter = Metrics.get().counter(MetricNames.CONSTRAINED_PRUNED);
+
+    /**
+     * Minimizes the edge weights.
+     *
+     * @param resource The resource used by each edge.
+     * @param budget The maximum total resource use of a path.
+     */
+    public ResourceConstrainedPathfindStrategy(@Nonnull ToDoubleFunction<? super E> resource, double budget) {
+        this(Edge::getWeight, resource, budget);
+    }
+
+    /**
+     * @param cost The cost of each edge, which is minimized.
+     * @param resource The resource used by each edge.
+     * @param budget The maximum total resource use of a path.
+     */
+    public ResourceConstrainedPathfindStrategy(@Nonnull ToDoubleFunction<? super E> cost,
+                                               @Nonnull ToDoubleFunction<? super E> resource, double budget) {
+        if (budget < 0)
+            throw new IllegalArgumentException("Negative budget");
+        this.cost = cost;
+        this.resource = resource;
+        this.budget = budget;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    @Override
+    @Nonnull
+    public List<E> pathfind(@Nonnull V vertex1, @Nonnull V vertex2, @Nonnull Graph<T, V, E> graph) {
+        if (vertex1.equals(vertex2))
+            return Collections.emptyList();
+
+        // Vertices which need more than the budget to reach the target are never reached
+        IndexedDijkstra<T, V, E> resourceToGo = new IndexedDijkstra<>(graph, resource, true);
+        resourceToGo.search(vertex2, null, budget);
+        if (!resourceToGo.isReached(vertex1))
+            return Collections.emptyList();
+
+        Map<V, Double> completionCosts = new HashMap<>(); // The cost of the least resource path of each vertex
+        double upper = completionCost(vertex1, resourceToGo, completionCosts);
+        Label<V, E> best = new Label<>(vertex1, 0, 0, null, null);
+
+        // Every path within the budget only visits vertices reached above, so this bounds the cost of all of them
+        IndexedDijkstra<T, V, E> costToGo = new IndexedDijkstra<>(graph, cost, true)
+                .exclude(v -> !resourceToGo.isReached(v), e -> false);
+        costToGo.search(vertex2, null, upper);
+        List<E> cheapest = costToGo.path(vertex1); // Empty if rounding put it past the bound, then no label can win
+        if (!cheapest.isEmpty() && sum(resource, cheapest) <= budget)
+            return cheapest;
+
+        Map<V, Double> leastResource = new HashMap<>(); // Of the labels settled at each vertex
+        PriorityQueue<Label<V, E>> queue = new PriorityQueue<>();
+        queue.add(new Label<>(vertex1, 0, 0, costToGo.distance(vertex1), null, null));
+        long labels = 0, pruned = 0;
+        while (!queue.isEmpty()) {
+            Label<V, E> label = queue.poll();
+            if (label.key >= upper)
+                break; // No remaining label can beat the best path known
+
+            Double least = leastResource.get(label.vertex);
+            if (least != null && label.resource >= least) { // Dominated by a cheaper label
+                pruned++;
+                continue;
+            }
+            leastResource.put(label.vertex, label.resource);
+            labels++;
+
+            if (label.vertex.equals(vertex2)) {
+                best = label;
+                upper = label.cost;
+                break;
+            }
+
+            double completion = label.cost + completionCost(label.vertex, resourceToGo, completionCosts);
+            if (completion < upper) {
+                upper = completion;
+                best = label;
+            }
+
+            for (E edge : graph.getOutwardEdges(label.vertex)) {
+                V neighbor = edge.getOther(label.vertex);
+                if (neighbor.equals(label.vertex))
+                    continue;
+
+                double c = label.cost + check(cost.applyAsDouble(edge), edge);
+                double r = label.resource + check(resource.applyAsDouble(edge), edge);
+                double key = c + costToGo.distance(neighbor);
+                Double neighborLeast = leastResource.get(neighbor);
+                if (!(r + resourceToGo.distance(neighbor) <= budget) || !(key < upper)
+                        || neighborLeast != null && r >= neighborLeast) {
+                    pruned++;
+                    continue;
+                }
+                queue.add(new Label<>(neighbor, c, r, key, label, edge));
+            }
+        }
+        labelCounter.add(labels);
+        prunedCounter.add(pruned);
+
+        List<E> path = best.path();
+        if (!best.vertex.equals(vertex2))
+            path.addAll(resourceToGo.path(best.vertex));
+        return withoutCycles(vertex1, path);
+    }
+
+    private double completionCost(V vertex, IndexedDijkstra<T, V, E> resourceToGo, Map<V, Double> memo) {
+        Double known = memo.get(vertex);
+        if (known != null)
+            return known;
+
+        List<E> path = resourceToGo.path(vertex);
+        double total = sum(cost, path);
+        V current = vertex;
+        for (E edge : path) { // Every suffix is also a least resource path
+            memo.put(current, total);
+            total -= cost.applyAsDouble(edge);
+            current = edge.getOther(current);
+        }
+        return memo.getOrDefault(vertex, 0D);
+    }
+
+    // A label completed with a least resource path may revisit a vertex, cutting out the cycle is never worse
+    private static <V extends Vertex<?>, E extends Edge<?, V>> List<E> withoutCycles(V source, List<E> path) {
+        List<E> simple = new ArrayList<>(path.size());
+        List<V> vertices = new ArrayList<>(path.size() + 1); // The vertex reached after each prefix of the path
+        Map<V, Integer> positions = new HashMap<>();
+        vertices.add(source);
+        positions.put(source, 0);
+        for (E edge : path) {
+            V next = edge.getOther(vertices.get(vertices.size() - 1));
+            Integer seen = positions.get(next);
+            if (seen != null) {
+                for (V vertex : vertices.subList(seen + 1, vertices.size())) {
+                    positions.remove(vertex);
+                }
+                vertices.subList(seen + 1, vertices.size()).clear();
+                simple.subList(seen, simple.size()).clear();
+            } else {
+                simple.add(edge);
+                vertices.add(next);
+                positions.put(next, simple.size());
+            }
+        }
+        return simple;
+    }
+
+    private static double sum(ToDoubleFunction<?> function, List<?> edges) {
+        @SuppressWarnings("unchecked")
+        ToDoubleFunction<Object> f = (ToDoubleFunction<Object>) function;
+        double total = 0;
+        for (Object edge : edges) {
+            total += f.applyAsDouble(edge);
+        }
+        return total;
+    }
+
+    private static double check(double value, Edge<?, ?> edge) {
+        if (value < 0)
+            throw new IllegalArgumentException("Negative cost or resource " + value + " on " + edge);
+        return value;
+    }
+
+    private static final class Label<V, E> implements Comparable<Label<V, E>> {
+
+        private final V vertex;
+        private final double cost, resource;
+        private final double key; // The cost plus the lower bound of the cost to the target
+        private final Label<V, E> parent;
+        private final E edge;
+
+        private Label(V vertex, double cost, double resource, @Nullable Label<V, E> parent, @Nullable E edge) {
+            this(vertex, cost, resource, cost, parent, edge);
+        }
+
+        private Label(V vertex, double cost, double resource, double key, @Nullable Label<V, E> parent,
+                      @Nullable E edge) {
+            this.vertex = vertex;
+            this.cost = cost;
+            this.resource = resource;
+            this.key = key;
+            this.parent = parent;
+            this.edge = edge;
+        }
+
+        private List<E> path() {
+            LinkedList<E> path = new LinkedList<>();
+            for (Label<V, E> label = this; label.parent != null; label = label.parent) {
+                path.addFirst(label.edge);
+            }
+            return path;
+        }
+
+        @Override
+        public int compareTo(Label<V, E> o) {
+            int compare = Double.compare(key, o.key);
+            return compare != 0 ? compare : Double.compare(resource, o.resource);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.austinv11.graphs.Edge;
 import com.austinv11.graphs.Graph;
 import com.austinv11.graphs.SortStrategy;
 import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
 import com.austinv11.graphs.util.CycleException;
 import com.austinv11.graphs.util.InvalidGraphConfigurationException;
 
@@ -18,11 +21,16 @@ import java.util.*;
  */
 public class TopologicalSortStrategy<T, V extends Vertex<T>, E extends Edge<T, V>> implements SortStrategy<T, V, E, Graph<T, V, E>> {
 
+    private final Counter vertexCounter = Metrics.get().counter(MetricNames.TOPOLOGICAL_VERTICES);
+    private final Counter edgeCounter = Metrics.get().counter(MetricNames.TOPOLOGICAL_EDGES);
+
     @Override
     @Nonnull
     public List<V> sort(@Nonnull Graph<T, V, E> graph) {
         Map<V, VertexWrapper> wrapperMap = new HashMap<>();
+        long scanned = 0;
         for (E e : graph.edges()) {
+            scanned++;
             if (!e.isDirected()) {
                 throw new InvalidGraphConfigurationException("Undirected edge detected!");
             }
@@ -31,19 +39,21 @@ public class TopologicalSortStrategy<T, V extends Vertex<T>, E extends Edge<T, V
             VertexWrapper toWrapper = wrapperMap.computeIfAbsent(e.getSecondVertex(), VertexWrapper::new);
             fromWrapper.outEdges.add(e);
             toWrapper.inEdges.add(e);
+            toWrapper.remainingInEdges++;
         }
         List<V> eliminatedTracker = new LinkedList<>();
         Queue<VertexWrapper> noIncomingEdges = new LinkedList<>();
         Set<VertexWrapper> vertexPool = new HashSet<>(wrapperMap.values());
-        Set<E> eliminatedEdges = new HashSet<>();
-        for (VertexWrapper wrapper : vertexPool) {
+        Iterator<VertexWrapper> poolIterator = vertexPool.iterator();
+        while (poolIterator.hasNext()) {
+            VertexWrapper wrapper = poolIterator.next();
             if (wrapper.inEdges.isEmpty()) {
                 noIncomingEdges.add(wrapper);
-                vertexPool.remove(wrapper);
+                poolIterator.remove();
             }
         }
 
-        if (noIncomingEdges.isEmpty()) {
+        if (noIncomingEdges.isEmpty() && !vertexPool.isEmpty()) {
             throw new CycleException();
         }
 
@@ -51,15 +61,17 @@ public class TopologicalSortStrategy<T, V extends Vertex<T>, E extends Edge<T, V
             VertexWrapper curr = noIncomingEdges.remove();
             eliminatedTracker.add(curr.vertex);
             for (E out : curr.outEdges) {
-                eliminatedEdges.add(out);
                 VertexWrapper toWrapper = wrapperMap.get(out.getSecondVertex());
-                if (eliminatedEdges.containsAll(toWrapper.inEdges)) {
+                if (--toWrapper.remainingInEdges == 0) {
                     noIncomingEdges.add(toWrapper);
                     vertexPool.remove(toWrapper);
                 }
             }
         }
 
+        edgeCounter.add(scanned);
+        vertexCounter.add(eliminatedTracker.size());
+
         if (!vertexPool.isEmpty()) {
             throw new InvalidGraphConfigurationException("Could not sort all vertices!");
         }
@@ -73,6 +85,7 @@ public class TopologicalSortStrategy<T, V extends Vertex<T>, E extends Edge<T, V
 
         private final List<E> inEdges;
         private final List<E> outEdges;
+        private int remainingInEdges = 0;
 
         private VertexWrapper(V vertex) {
             this.vertex = vertex;
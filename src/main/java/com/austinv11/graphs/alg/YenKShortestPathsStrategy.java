@@ -0,0 +1,164 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.PathfindStrategy;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * This implements Yen's algorithm for finding the k shortest loopless paths between two vertices, such as failover
+ * routes. Each path after the first is found by "spurring" off the previous one: for every vertex of the previous path
+ * a shortest path to the target is searched which shares the prefix up to that vertex but then leaves it through an
+ * edge none of the paths found so far with the same prefix used (and never revisits the prefix). The cheapest of these
+ * candidates is the next path.
+ *
+ * The searches are pruned so they stay fast on large graphs:
+ * <ul>
+ *     <li>The distances to the target are computed once with a reverse search, this gives the first path and is used
+ *     as the lower bound of an A* search for every spur path (removing edges only makes distances longer, so it stays
+ *     admissible and consistent).</li>
+ *     <li>Only the k - i cheapest candidates are kept once i paths are found, since no other candidate can be
+ *     picked. Once there are enough candidates, spur searches give up on anything more expensive than the worst of
+ *     them.</li>
+ * </ul>
+ *
+ * {@link #pathfind(Vertex, Vertex, Graph)} just returns the shortest path, use
+ * {@link #findPaths(Vertex, Vertex, Graph)} for all of them. Edge weights must be non-negative.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Yen%27s_algorithm">Wikipedia page</a>
+ */
+public class YenKShortestPathsStrategy<T, V extends Vertex<T>, E extends Edge<T, V>>
+        implements PathfindStrategy<T, V, E, Graph<T, V, E>> {
+
+    private final int k;
+
+    private final Counter spurCounter = Metrics.get().counter(MetricNames.YEN_SPUR_SEARCHES);
+    private final Counter settledCounter = Metrics.get().counter(MetricNames.YEN_SETTLED);
+
+    /**
+     * @param k The (maximum) number of paths to find.
+     */
+    public YenKShortestPathsStrategy(int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException("At least one path must be searched for");
+        this.k = k;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    @Override
+    @Nonnull
+    public List<E> pathfind(@Nonnull V vertex1, @Nonnull V vertex2, @Nonnull Graph<T, V, E> graph) {
+        if (vertex1.equals(vertex2))
+            return Collections.emptyList();
+
+        IndexedDijkstra<T, V, E> search = new IndexedDijkstra<>(graph, Edge::getWeight, false);
+        boolean found = search.search(vertex1, vertex2, Double.POSITIVE_INFINITY);
+        settledCounter.add(search.getSettled());
+        return found ? search.path(vertex2) : Collections.emptyList();
+    }
+
+    /**
+     * Finds the k shortest loopless paths between two vertices.
+     *
+     * @param vertex1 The starting vertex.
+     * @param vertex2 The destination vertex.
+     * @param graph The graph to search.
+     * @return Up to k paths, from the cheapest to the most expensive (empty if there are none).
+     */
+    @Nonnull
+    public List<List<E>> findPaths(@Nonnull V vertex1, @Nonnull V vertex2, @Nonnull Graph<T, V, E> graph) {
+        List<List<E>> paths = new ArrayList<>();
+        if (vertex1.equals(vertex2))
+            return paths;
+
+        IndexedDijkstra<T, V, E> toTarget = new IndexedDijkstra<>(graph, Edge::getWeight, true);
+        toTarget.search(vertex2, null, Double.POSITIVE_INFINITY);
+        long settled = toTarget.getSettled();
+        if (!toTarget.isReached(vertex1)) {
+            settledCounter.add(settled);
+            return paths;
+        }
+        paths.add(toTarget.path(vertex1));
+
+        Set<V> excludedVertices = new HashSet<>();
+        Set<E> excludedEdges = new HashSet<>();
+        IndexedDijkstra<T, V, E> spur = new IndexedDijkstra<>(graph, Edge::getWeight, false)
+                .exclude(excludedVertices::contains, excludedEdges::contains)
+                .heuristic(toTarget::distance);
+
+        NavigableSet<Candidate<E>> candidates = new TreeSet<>();
+        Set<List<E>> seen = new HashSet<>(paths);
+        long nextId = 0, spurs = 0;
+        while (paths.size() < k) {
+            List<E> previous = paths.get(paths.size() - 1);
+            int needed = k - paths.size();
+
+            excludedVertices.clear();
+            V spurVertex = vertex1;
+            double rootCost = 0;
+            for (int i = 0; i < previous.size(); i++) {
+                List<E> root = previous.subList(0, i);
+                excludedEdges.clear();
+                for (List<E> path : paths) {
+                    if (path.size() > i && path.subList(0, i).equals(root))
+                        excludedEdges.add(path.get(i));
+                }
+
+                double bound = candidates.size() < needed ? Double.POSITIVE_INFINITY
+                        : candidates.last().cost - rootCost;
+                spurs++;
+                if (spur.search(spurVertex, vertex2, bound)) {
+                    List<E> path = new ArrayList<>(i + 8);
+                    path.addAll(root);
+                    path.addAll(spur.path(vertex2));
+                    if (seen.add(path)) {
+                        candidates.add(new Candidate<>(path, rootCost + spur.distance(vertex2), nextId++));
+                        if (candidates.size() > needed)
+                            candidates.pollLast(); // Can never be picked
+                    }
+                }
+
+                excludedVertices.add(spurVertex);
+                E edge = previous.get(i);
+                rootCost += edge.getWeight();
+                spurVertex = edge.getOther(spurVertex);
+            }
+
+            if (candidates.isEmpty())
+                break;
+            paths.add(candidates.pollFirst().path);
+        }
+
+        spurCounter.add(spurs);
+        settledCounter.add(settled + spur.getSettled());
+        return paths;
+    }
+
+    private static final class Candidate<E> implements Comparable<Candidate<E>> {
+
+        private final List<E> path;
+        private final double cost;
+        private final long id; // Breaks ties in the order candidates were found
+
+        private Candidate(List<E> path, double cost, long id) {
+            this.path = path;
+            this.cost = cost;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Candidate<E> o) {
+            int compare = Double.compare(cost, o.cost);
+            return compare != 0 ? compare : Long.compare(id, o.id);
+        }
+    }
+}
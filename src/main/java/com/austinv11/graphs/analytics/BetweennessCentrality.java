@@ -0,0 +1,116 @@
+package com.austinv11.graphs.analytics;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.CsrView;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * This implements Brandes' algorithm for (unweighted) betweenness centrality, the number of shortest paths between
+ * other vertices which pass through a vertex. Sources are processed in parallel, each worker accumulating into its own
+ * array, which are summed at the end. This algorithm is O(|V| * |E|).
+ *
+ * Undirected edges are traversable in both directions, so every pair of vertices is counted once per direction. Halve
+ * the results to get the conventional values for undirected graphs.
+ *
+ * @see <a href="https://doi.org/10.1080/0022250X.2001.9990249">A faster algorithm for betweenness centrality</a>
+ */
+public class BetweennessCentrality<T, V extends Vertex<T>, E extends Edge<T, V>> implements CentralityMeasure<T, V, E> {
+
+    private final boolean normalized;
+    private final boolean parallel;
+
+    public BetweennessCentrality() {
+        this(false, true);
+    }
+
+    /**
+     * @param normalized Whether scores should be divided by the number of ordered vertex pairs, (|V| - 1) * (|V| - 2).
+     * @param parallel Whether to process sources in parallel.
+     */
+    public BetweennessCentrality(boolean normalized, boolean parallel) {
+        this.normalized = normalized;
+        this.parallel = parallel;
+    }
+
+    @Override
+    @Nonnull
+    public double[] score(@Nonnull CsrView<T, V, E> view) {
+        int n = view.size();
+        IntStream sources = IntStream.range(0, n);
+        double[] scores = (parallel ? sources.parallel() : sources)
+                .collect(() -> new Accumulator(view), Accumulator::accumulate, Accumulator::merge)
+                .scores;
+
+        if (normalized && n > 2) {
+            double scale = 1D / ((double) (n - 1) * (n - 2));
+            for (int i = 0; i < n; i++) {
+                scores[i] *= scale;
+            }
+        }
+        return scores;
+    }
+
+    private static final class Accumulator {
+
+        private final int[] offsets, targets;
+        private final double[] scores;
+        private final int[] distances, order;
+        private final double[] sigma, delta;
+
+        private Accumulator(CsrView<?, ?, ?> view) {
+            int n = view.size();
+            offsets = view.outOffsets();
+            targets = view.outTargets();
+            scores = new double[n];
+            distances = new int[n];
+            order = new int[n];
+            sigma = new double[n];
+            delta = new double[n];
+        }
+
+        private void accumulate(int source) {
+            Arrays.fill(distances, -1);
+            Arrays.fill(sigma, 0);
+            Arrays.fill(delta, 0);
+
+            distances[source] = 0;
+            sigma[source] = 1;
+            order[0] = source;
+            int head = 0, tail = 1;
+            while (head < tail) { // The BFS queue doubles as the visitation order
+                int u = order[head++];
+                for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                    int v = targets[j];
+                    if (distances[v] < 0) {
+                        distances[v] = distances[u] + 1;
+                        order[tail++] = v;
+                    }
+                    if (distances[v] == distances[u] + 1) {
+                        sigma[v] += sigma[u];
+                    }
+                }
+            }
+
+            for (int i = tail - 1; i > 0; i--) { // Back-propagate dependencies, farthest vertices first
+                int u = order[i];
+                for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                    int v = targets[j];
+                    if (distances[v] == distances[u] + 1) {
+                        delta[u] += sigma[u] / sigma[v] * (1 + delta[v]);
+                    }
+                }
+                scores[u] += delta[u];
+            }
+        }
+
+        private void merge(Accumulator other) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] += other.scores[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.austinv11.graphs.analytics;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.CsrView;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+
+/**
+ * This interface represents an abstraction for an algorithm which assigns an importance score to every vertex.
+ *
+ * @see com.austinv11.graphs.analytics.PageRank
+ * @see com.austinv11.graphs.analytics.DegreeCentrality
+ * @see com.austinv11.graphs.analytics.ClosenessCentrality
+ * @see com.austinv11.graphs.analytics.BetweennessCentrality
+ */
+public interface CentralityMeasure<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    /**
+     * Scores every vertex of a frozen graph view.
+     *
+     * @param view The graph view.
+     * @return The scores, indexed by vertex index.
+     */
+    @Nonnull
+    double[] score(@Nonnull CsrView<T, V, E> view);
+
+    /**
+     * Scores every vertex of a graph.
+     *
+     * @param graph The graph.
+     * @return The scores of each vertex.
+     */
+    @Nonnull
+    default Map<V, Double> score(@Nonnull Graph<T, V, E> graph) {
+        CsrView<T, V, E> view = CsrView.of(graph);
+        return view.toMap(score(view));
+    }
+}
@@ -0,0 +1,68 @@
+package com.austinv11.graphs.analytics;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.CsrView;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * This implements closeness centrality, the inverse of the average hop distance from a vertex to every vertex it can
+ * reach by following outward edges. To stay meaningful on disconnected graphs, the Wasserman and Faust normalization
+ * is applied, so a vertex which reaches r - 1 other vertices scores ((r - 1) / (|V| - 1)) * ((r - 1) / total distance).
+ * Edge weights are ignored.
+ *
+ * This runs a breadth first search from every vertex in parallel, making it O(|V| * (|V| + |E|)) overall.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Closeness_centrality">Wikipedia page</a>
+ */
+public class ClosenessCentrality<T, V extends Vertex<T>, E extends Edge<T, V>> implements CentralityMeasure<T, V, E> {
+
+    private final boolean parallel;
+
+    public ClosenessCentrality() {
+        this(true);
+    }
+
+    public ClosenessCentrality(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    @Nonnull
+    public double[] score(@Nonnull CsrView<T, V, E> view) {
+        int n = view.size();
+        int[] offsets = view.outOffsets();
+        int[] targets = view.outTargets();
+        ThreadLocal<int[][]> buffers = ThreadLocal.withInitial(() -> new int[2][n]);
+
+        double[] scores = new double[n];
+        IntStream sources = IntStream.range(0, n);
+        (parallel ? sources.parallel() : sources).forEach(source -> {
+            int[][] buffer = buffers.get();
+            int[] distances = buffer[0], queue = buffer[1];
+            Arrays.fill(distances, -1);
+            distances[source] = 0;
+            queue[0] = source;
+            int head = 0, tail = 1;
+            long total = 0;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int j = offsets[u]; j < offsets[u + 1]; j++) {
+                    int v = targets[j];
+                    if (distances[v] < 0) {
+                        distances[v] = distances[u] + 1;
+                        total += distances[v];
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            int reached = tail - 1;
+            scores[source] = total == 0 ? 0 : ((double) reached / (n - 1)) * ((double) reached / total);
+        });
+        return scores;
+    }
+}
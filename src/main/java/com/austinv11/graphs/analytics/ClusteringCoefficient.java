@@ -0,0 +1,106 @@
+package com.austinv11.graphs.analytics;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.CsrView;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This computes clustering coefficients, ignoring edge direction, self-loops and parallel edges. The local coefficient
+ * of a vertex is the fraction of pairs of its neighbors which are themselves adjacent, while the global coefficient
+ * (transitivity) is the fraction of connected triples in the whole graph which close into triangles. Triangles are
+ * counted by {@link com.austinv11.graphs.analytics.TriangleCounting}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Clustering_coefficient">Wikipedia page</a>
+ */
+public class ClusteringCoefficient<T, V extends Vertex<T>, E extends Edge<T, V>> implements CentralityMeasure<T, V, E> {
+
+    private final boolean parallel;
+    private final TriangleCounting<T, V, E> triangles;
+
+    public ClusteringCoefficient() {
+        this(true);
+    }
+
+    public ClusteringCoefficient(boolean parallel) {
+        this.parallel = parallel;
+        this.triangles = new TriangleCounting<>(parallel);
+    }
+
+    /**
+     * Computes the local clustering coefficient of every vertex. Vertices with less than two neighbors score 0.
+     *
+     * @param view The graph view.
+     * @return The local coefficients, indexed by vertex index.
+     */
+    @Override
+    @Nonnull
+    public double[] score(@Nonnull CsrView<T, V, E> view) {
+        int[][] neighbors = SimpleAdjacency.of(view, parallel);
+        long[] counts = triangles.countPerVertex(neighbors);
+        double[] coefficients = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            long degree = neighbors[i].length;
+            coefficients[i] = degree < 2 ? 0 : 2D * counts[i] / (degree * (degree - 1));
+        }
+        return coefficients;
+    }
+
+    /**
+     * Computes the mean of the local clustering coefficients.
+     *
+     * @param graph The graph.
+     * @return The average clustering coefficient.
+     */
+    public double average(@Nonnull Graph<T, V, E> graph) {
+        return average(CsrView.of(graph));
+    }
+
+    /**
+     * Computes the mean of the local clustering coefficients.
+     *
+     * @param view The graph view.
+     * @return The average clustering coefficient.
+     */
+    public double average(@Nonnull CsrView<T, V, E> view) {
+        double[] coefficients = score(view);
+        if (coefficients.length == 0)
+            return 0;
+
+        double sum = 0;
+        for (double c : coefficients) {
+            sum += c;
+        }
+        return sum / coefficients.length;
+    }
+
+    /**
+     * Computes the global clustering coefficient (transitivity).
+     *
+     * @param graph The graph.
+     * @return The global clustering coefficient.
+     */
+    public double global(@Nonnull Graph<T, V, E> graph) {
+        return global(CsrView.of(graph));
+    }
+
+    /**
+     * Computes the global clustering coefficient (transitivity).
+     *
+     * @param view The graph view.
+     * @return The global clustering coefficient.
+     */
+    public double global(@Nonnull CsrView<T, V, E> view) {
+        int[][] neighbors = SimpleAdjacency.of(view, parallel);
+        long[] counts = triangles.countPerVertex(neighbors);
+        long closed = 0, triples = 0;
+        for (int i = 0; i < counts.length; i++) {
+            long degree = neighbors[i].length;
+            closed += counts[i];
+            triples += degree * (degree - 1) / 2;
+        }
+        return triples == 0 ? 0 : (double) closed / triples; // Each triangle closes three triples
+    }
+}
@@ -0,0 +1,57 @@
+package com.austinv11.graphs.analytics;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.CsrView;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This implements degree centrality, the number of edges incident to a vertex normalized by the maximum possible
+ * degree (|V| - 1). This algorithm is O(|V|).
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Centrality#Degree_centrality">Wikipedia page</a>
+ */
+public class DegreeCentrality<T, V extends Vertex<T>, E extends Edge<T, V>> implements CentralityMeasure<T, V, E> {
+
+    private final Mode mode;
+
+    public DegreeCentrality() {
+        this(Mode.OUT);
+    }
+
+    public DegreeCentrality(@Nonnull Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    @Nonnull
+    public double[] score(@Nonnull CsrView<T, V, E> view) {
+        int n = view.size();
+        double[] scores = new double[n];
+        double normalizer = n > 1 ? 1D / (n - 1) : 1D;
+        for (int i = 0; i < n; i++) {
+            int degree;
+            switch (mode) {
+                case IN:
+                    degree = view.inDegree(i);
+                    break;
+                case OUT:
+                    degree = view.outDegree(i);
+                    break;
+                default:
+                    degree = view.inDegree(i) + view.outDegree(i);
+                    break;
+            }
+            scores[i] = degree * normalizer;
+        }
+        return scores;
+    }
+
+    /**
+     * Which edges are counted towards a vertex's degree. Undirected edges are counted as both inward and outward.
+     */
+    public enum Mode {
+        IN, OUT, TOTAL
+    }
+}
@@ -0,0 +1,146 @@
+package com.austinv11.graphs.analytics;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.CsrView;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * This implements PageRank via power iteration. Each iteration "pulls" rank along the inward edges of every vertex,
+ * which lets vertices be updated independently (and therefore in parallel) over primitive arrays. Rank held by
+ * vertices without outward edges is redistributed according to the teleport distribution. Edge weights are ignored.
+ *
+ * Iteration stops once the L1 distance between two successive rank vectors falls below the configured tolerance, or
+ * after the maximum number of iterations. Each iteration is O(|E| + |V|).
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/PageRank">Wikipedia page</a>
+ * @see #personalized(com.austinv11.graphs.util.CsrView, double[])
+ */
+public class PageRank<T, V extends Vertex<T>, E extends Edge<T, V>> implements CentralityMeasure<T, V, E> {
+
+    private final double damping;
+    private final double tolerance;
+    private final int maxIterations;
+    private final boolean parallel;
+
+    public PageRank() {
+        this(0.85, 1e-6, 100, true);
+    }
+
+    public PageRank(double damping, double tolerance, int maxIterations, boolean parallel) {
+        if (damping < 0 || damping > 1)
+            throw new IllegalArgumentException("Damping factor must be between 0 and 1!");
+
+        this.damping = damping;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.parallel = parallel;
+    }
+
+    @Override
+    @Nonnull
+    public double[] score(@Nonnull CsrView<T, V, E> view) {
+        int n = view.size();
+        double[] uniform = new double[n];
+        Arrays.fill(uniform, 1D / n);
+        return iterate(view, uniform);
+    }
+
+    /**
+     * Computes personalized PageRank, where random jumps land on vertices according to a preference distribution
+     * instead of uniformly.
+     *
+     * @param graph The graph.
+     * @param preferences The (non-negative) preference of each vertex, absent vertices have no preference.
+     * @return The scores of each vertex.
+     */
+    @Nonnull
+    public Map<V, Double> personalized(@Nonnull Graph<T, V, E> graph, @Nonnull Map<V, Double> preferences) {
+        CsrView<T, V, E> view = CsrView.of(graph);
+        double[] teleport = new double[view.size()];
+        for (Map.Entry<V, Double> entry : preferences.entrySet()) {
+            int index = view.indexOf(entry.getKey());
+            if (index >= 0)
+                teleport[index] = entry.getValue();
+        }
+        return view.toMap(personalized(view, teleport));
+    }
+
+    /**
+     * Computes personalized PageRank, where random jumps land on vertices according to a preference distribution
+     * instead of uniformly.
+     *
+     * @param view The graph view.
+     * @param preferences The (non-negative) preference of each vertex, indexed by vertex index. It does not need to
+     *                    be normalized.
+     * @return The scores, indexed by vertex index.
+     */
+    @Nonnull
+    public double[] personalized(@Nonnull CsrView<T, V, E> view, @Nonnull double[] preferences) {
+        if (preferences.length != view.size())
+            throw new IllegalArgumentException("Expected a preference for every vertex!");
+
+        double total = 0;
+        for (double p : preferences) {
+            if (p < 0)
+                throw new IllegalArgumentException("Preferences must be non-negative!");
+            total += p;
+        }
+        if (total <= 0)
+            throw new IllegalArgumentException("At least one vertex must have a positive preference!");
+
+        double[] teleport = new double[preferences.length];
+        for (int i = 0; i < preferences.length; i++) {
+            teleport[i] = preferences[i] / total;
+        }
+        return iterate(view, teleport);
+    }
+
+    private double[] iterate(CsrView<T, V, E> view, double[] teleport) {
+        int n = view.size();
+        if (n == 0)
+            return new double[0];
+
+        int[] inOffsets = view.inOffsets();
+        int[] inSources = view.inSources();
+        double[] inverseOutDegree = new double[n];
+        for (int i = 0; i < n; i++) {
+            int degree = view.outDegree(i);
+            inverseOutDegree[i] = degree == 0 ? 0 : 1D / degree;
+        }
+
+        double[] rank = teleport.clone();
+        double[] next = new double[n];
+        double[] contribution = new double[n];
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            final double[] curr = rank, out = next;
+            range(n).forEach(i -> contribution[i] = curr[i] * inverseOutDegree[i]);
+            double dangling = range(n).filter(i -> inverseOutDegree[i] == 0).mapToDouble(i -> curr[i]).sum();
+
+            range(n).forEach(i -> {
+                double sum = 0;
+                for (int j = inOffsets[i]; j < inOffsets[i + 1]; j++) {
+                    sum += contribution[inSources[j]];
+                }
+                out[i] = damping * (sum + dangling * teleport[i]) + (1 - damping) * teleport[i];
+            });
+
+            double delta = range(n).mapToDouble(i -> Math.abs(out[i] - curr[i])).sum();
+            next = rank;
+            rank = out;
+            if (delta < tolerance)
+                break;
+        }
+        return rank;
+    }
+
+    private IntStream range(int n) {
+        IntStream stream = IntStream.range(0, n);
+        return parallel ? stream.parallel() : stream;
+    }
+}
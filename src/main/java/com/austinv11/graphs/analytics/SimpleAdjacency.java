@@ -0,0 +1,38 @@
+package com.austinv11.graphs.analytics;
+
+import com.austinv11.graphs.util.CsrView;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the sorted, de-duplicated, undirected neighbor arrays of a graph view (ignoring direction, self-loops and
+ * parallel edges), which is what most subgraph counting algorithms operate on.
+ */
+final class SimpleAdjacency {
+
+    private SimpleAdjacency() {}
+
+    static int[][] of(CsrView<?, ?, ?> view, boolean parallel) {
+        int n = view.size();
+        int[] outOffsets = view.outOffsets(), outTargets = view.outTargets();
+        int[] inOffsets = view.inOffsets(), inSources = view.inSources();
+        int[][] neighbors = new int[n][];
+        IntStream vertices = IntStream.range(0, n);
+        (parallel ? vertices.parallel() : vertices).forEach(u -> {
+            int outDegree = outOffsets[u + 1] - outOffsets[u];
+            int inDegree = inOffsets[u + 1] - inOffsets[u];
+            int[] row = new int[outDegree + inDegree];
+            System.arraycopy(outTargets, outOffsets[u], row, 0, outDegree);
+            System.arraycopy(inSources, inOffsets[u], row, outDegree, inDegree);
+            Arrays.sort(row);
+            int size = 0;
+            for (int i = 0; i < row.length; i++) {
+                if (row[i] != u && (size == 0 || row[size - 1] != row[i]))
+                    row[size++] = row[i];
+            }
+            neighbors[u] = size == row.length ? row : Arrays.copyOf(row, size);
+        });
+        return neighbors;
+    }
+}
@@ -0,0 +1,196 @@
+package com.austinv11.graphs.event;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
+import com.austinv11.graphs.util.MpscRingBuffer;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link com.austinv11.graphs.event.GraphEvents} implementation used by graphs to publish their events. Graphs
+ * should check {@link #isActive()} before creating events, so mutations cost nothing extra when nobody is listening.
+ *
+ * Listeners are called synchronously by {@link #emit(GraphEvent)}. Each subscriber gets its own
+ * {@link com.austinv11.graphs.util.MpscRingBuffer}, which {@link #emit(GraphEvent)} offers to without ever blocking,
+ * and a drain task which is scheduled on the subscriber's executor whenever events are pending. The drain task
+ * delivers events in batches and yields the executor thread after a few batches, so one busy subscriber cannot
+ * monopolize a shared pool.
+ *
+ * Exceptions thrown by listeners and subscribers are passed to the current thread's uncaught exception handler,
+ * they never interrupt a mutation or stop delivery.
+ */
+public class EventDispatcher<T, V extends Vertex<T>, E extends Edge<T, V>> implements GraphEvents<T, V, E> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private static final int BATCH_SIZE = 256;
+    private static final int BATCHES_PER_RUN = 16;
+
+    // Copy on write, so emitting never locks
+    private final List<GraphListener<T, V, E>> listeners = new CopyOnWriteArrayList<>();
+    private final List<AsyncSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean active = false;
+
+    private final Counter droppedCounter = Metrics.get().counter(MetricNames.EVENTS_DROPPED);
+
+    /**
+     * Checks whether anything is listening to events.
+     *
+     * @return True if there is at least one listener or subscriber.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Publishes an event to every listener and subscriber. This must be called in the order the events happened,
+     * so concurrent graphs should call it while holding their write lock.
+     *
+     * @param event The event.
+     */
+    public void emit(@Nonnull GraphEvent<T, V, E> event) {
+        for (GraphListener<T, V, E> listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                report(e);
+            }
+        }
+        for (AsyncSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Subscription addListener(@Nonnull GraphListener<T, V, E> listener) {
+        listeners.add(listener);
+        active = true;
+        return () -> removeListener(listener);
+    }
+
+    @Nonnull
+    @Override
+    public Subscription subscribe(@Nonnull GraphSubscriber<T, V, E> subscriber) {
+        return subscribe(subscriber, DEFAULT_BUFFER_SIZE, ForkJoinPool.commonPool());
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Subscription subscribe(@Nonnull GraphSubscriber<T, V, E> subscriber, int bufferSize,
+                                               @Nonnull Executor executor) {
+        AsyncSubscription subscription = new AsyncSubscription(subscriber, bufferSize, executor);
+        subscriptions.add(subscription);
+        active = true;
+        return subscription;
+    }
+
+    private synchronized void removeListener(GraphListener<T, V, E> listener) {
+        for (int i = 0; i < listeners.size(); i++) {
+            if (listeners.get(i) == listener) { // The same listener may be added more than once
+                listeners.remove(i);
+                break;
+            }
+        }
+        updateActive();
+    }
+
+    private synchronized void removeSubscription(AsyncSubscription subscription) {
+        subscriptions.remove(subscription);
+        updateActive();
+    }
+
+    private void updateActive() {
+        active = !listeners.isEmpty() || !subscriptions.isEmpty();
+    }
+
+    private static void report(Throwable t) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+    }
+
+    private final class AsyncSubscription implements Subscription, Runnable {
+
+        private final GraphSubscriber<T, V, E> subscriber;
+        private final MpscRingBuffer<GraphEvent<T, V, E>> buffer;
+        private final Executor executor;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicLong dropped = new AtomicLong(0); // Since the last overflow notification
+        private volatile boolean cancelled = false;
+
+        AsyncSubscription(GraphSubscriber<T, V, E> subscriber, int bufferSize, Executor executor) {
+            this.subscriber = subscriber;
+            this.buffer = new MpscRingBuffer<>(bufferSize);
+            this.executor = executor;
+        }
+
+        void offer(GraphEvent<T, V, E> event) {
+            if (!buffer.offer(event)) {
+                dropped.incrementAndGet();
+                droppedCounter.increment();
+            }
+            if (!scheduled.get() && scheduled.compareAndSet(false, true))
+                execute();
+        }
+
+        private void execute() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                report(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCHES_PER_RUN; i++) {
+                if (cancelled)
+                    return;
+
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    try {
+                        subscriber.onOverflow(lost);
+                    } catch (RuntimeException e) {
+                        report(e);
+                    }
+                }
+
+                List<GraphEvent<T, V, E>> batch = new ArrayList<>();
+                buffer.drain(batch::add, BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    scheduled.set(false);
+                    // An event offered after draining but before unscheduling would otherwise never be delivered
+                    if ((buffer.isEmpty() && dropped.get() == 0) || !scheduled.compareAndSet(false, true))
+                        return;
+                    continue;
+                }
+
+                try {
+                    subscriber.onEvents(batch);
+                } catch (RuntimeException e) {
+                    report(e);
+                }
+            }
+            execute(); // Still scheduled, but lets other tasks run first
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            removeSubscription(this);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.austinv11.graphs.event;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Describes a single change to a graph. Compound mutations are described by several events, for example removing a
+ * vertex emits an {@link Type#EDGE_REMOVED} event for each of its edges followed by a {@link Type#VERTEX_REMOVED}
+ * event, and adding an edge between new vertices emits {@link Type#VERTEX_ADDED} events before the
+ * {@link Type#EDGE_ADDED} event. Mutations which do not change anything (such as adding a vertex twice) do not emit
+ * events.
+ */
+public final class GraphEvent<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    public enum Type {
+        VERTEX_ADDED, VERTEX_REMOVED, EDGE_ADDED, EDGE_REMOVED,
+        /**
+         * The weight of an edge was changed in place, see
+         * {@link com.austinv11.graphs.Graph#setEdgeWeight(com.austinv11.graphs.Edge, double)}.
+         */
+        WEIGHT_CHANGED,
+        /**
+         * Every vertex and edge was removed at once.
+         */
+        CLEARED
+    }
+
+    private final Type type;
+    private final V vertex;
+    private final E edge;
+    private final double oldWeight;
+
+    private GraphEvent(@Nonnull Type type, @Nullable V vertex, @Nullable E edge) {
+        this(type, vertex, edge, Double.NaN);
+    }
+
+    private GraphEvent(@Nonnull Type type, @Nullable V vertex, @Nullable E edge, double oldWeight) {
+        this.type = type;
+        this.vertex = vertex;
+        this.edge = edge;
+        this.oldWeight = oldWeight;
+    }
+
+    @Nonnull
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> GraphEvent<T, V, E> vertexAdded(@Nonnull V vertex) {
+        return new GraphEvent<>(Type.VERTEX_ADDED, vertex, null);
+    }
+
+    @Nonnull
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> GraphEvent<T, V, E> vertexRemoved(@Nonnull V vertex) {
+        return new GraphEvent<>(Type.VERTEX_REMOVED, vertex, null);
+    }
+
+    @Nonnull
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> GraphEvent<T, V, E> edgeAdded(@Nonnull E edge) {
+        return new GraphEvent<>(Type.EDGE_ADDED, null, edge);
+    }
+
+    @Nonnull
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> GraphEvent<T, V, E> edgeRemoved(@Nonnull E edge) {
+        return new GraphEvent<>(Type.EDGE_REMOVED, null, edge);
+    }
+
+    /**
+     * @param edge The edge, with its new weight.
+     * @param oldWeight The weight before the change.
+     * @return The event.
+     */
+    @Nonnull
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> GraphEvent<T, V, E> weightChanged(@Nonnull E edge,
+                                                                                                  double oldWeight) {
+        return new GraphEvent<>(Type.WEIGHT_CHANGED, null, edge, oldWeight);
+    }
+
+    @Nonnull
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> GraphEvent<T, V, E> cleared() {
+        return new GraphEvent<>(Type.CLEARED, null, null);
+    }
+
+    @Nonnull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the vertex of a vertex event.
+     *
+     * @return The vertex, or null if this is not a vertex event.
+     */
+    @Nullable
+    public V getVertex() {
+        return vertex;
+    }
+
+    /**
+     * Gets the edge of an edge event.
+     *
+     * @return The edge, or null if this is not an edge event.
+     */
+    @Nullable
+    public E getEdge() {
+        return edge;
+    }
+
+    /**
+     * Gets the weight an edge had before a {@link Type#WEIGHT_CHANGED} event, the new weight is the edge's.
+     *
+     * @return The old weight, or NaN if this is not a weight event.
+     */
+    public double getOldWeight() {
+        return oldWeight;
+    }
+
+    @Override
+    public String toString() {
+        return type + (vertex != null ? " " + vertex.get() : "")
+                + (edge != null ? " " + edge.getFirstVertex().get() + (edge.isDirected() ? " -> " : " -- ")
+                + edge.getSecondVertex().get() : "")
+                + (type == Type.WEIGHT_CHANGED ? " " + oldWeight + " => " + edge.getWeight() : "");
+    }
+}
@@ -0,0 +1,46 @@
+package com.austinv11.graphs.event;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Executor;
+
+/**
+ * Registers listeners and subscribers to the {@link com.austinv11.graphs.event.GraphEvent}s of a graph.
+ *
+ * @see com.austinv11.graphs.Graph#events()
+ */
+public interface GraphEvents<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    /**
+     * Registers a synchronous listener.
+     *
+     * @param listener The listener.
+     * @return The subscription, cancel it to unregister the listener.
+     */
+    @Nonnull
+    Subscription addListener(@Nonnull GraphListener<T, V, E> listener);
+
+    /**
+     * Registers an asynchronous subscriber with a buffer of
+     * {@link com.austinv11.graphs.event.EventDispatcher#DEFAULT_BUFFER_SIZE} events, delivered on the common
+     * {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param subscriber The subscriber.
+     * @return The subscription, cancel it to unregister the subscriber.
+     */
+    @Nonnull
+    Subscription subscribe(@Nonnull GraphSubscriber<T, V, E> subscriber);
+
+    /**
+     * Registers an asynchronous subscriber.
+     *
+     * @param subscriber The subscriber.
+     * @param bufferSize The number of events which can be buffered before events are dropped.
+     * @param executor The executor to deliver events on.
+     * @return The subscription, cancel it to unregister the subscriber.
+     */
+    @Nonnull
+    Subscription subscribe(@Nonnull GraphSubscriber<T, V, E> subscriber, int bufferSize, @Nonnull Executor executor);
+}
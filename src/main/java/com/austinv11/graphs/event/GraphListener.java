@@ -0,0 +1,18 @@
+package com.austinv11.graphs.event;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Synchronously receives every event of a graph, on the thread mutating it and (for concurrent graphs) while the
+ * graph is locked. This is meant for cheap bookkeeping which must never lag behind the graph, such as cache
+ * invalidation. Listeners must not mutate the graph. Use a {@link com.austinv11.graphs.event.GraphSubscriber} for
+ * anything slow.
+ */
+@FunctionalInterface
+public interface GraphListener<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    void onEvent(@Nonnull GraphEvent<T, V, E> event);
+}
@@ -0,0 +1,32 @@
+package com.austinv11.graphs.event;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Asynchronously receives the events of a graph in batches. Events are buffered in a bounded ring buffer and
+ * delivered in order on an executor, one batch at a time, so a slow subscriber never slows down mutations. If a
+ * subscriber falls so far behind that its buffer fills up, events are dropped and it is notified with
+ * {@link #onOverflow(long)}.
+ */
+@FunctionalInterface
+public interface GraphSubscriber<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    /**
+     * Receives a batch of events, in the order they happened.
+     *
+     * @param events The events, the subscriber may keep this list.
+     */
+    void onEvents(@Nonnull List<GraphEvent<T, V, E>> events);
+
+    /**
+     * Called when events were dropped because the buffer was full. Subscribers keeping derived state in sync should
+     * rebuild it from the graph (for example, from a {@link com.austinv11.graphs.impl.SimpleGraph#snapshot()}).
+     *
+     * @param dropped The number of events dropped since the previous call.
+     */
+    default void onOverflow(long dropped) {}
+}
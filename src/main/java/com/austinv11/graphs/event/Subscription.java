@@ -0,0 +1,18 @@
+package com.austinv11.graphs.event;
+
+/**
+ * A registered {@link com.austinv11.graphs.event.GraphListener} or
+ * {@link com.austinv11.graphs.event.GraphSubscriber}.
+ */
+public interface Subscription extends AutoCloseable {
+
+    /**
+     * Stops delivering events. Events already buffered for a subscriber are discarded.
+     */
+    void cancel();
+
+    @Override
+    default void close() {
+        cancel();
+    }
+}
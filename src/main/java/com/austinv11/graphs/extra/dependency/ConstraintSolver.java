@@ -0,0 +1,383 @@
+package com.austinv11.graphs.extra.dependency;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * This implements a version constraint solver in the spirit of PubGrub. Starting from a root dependency, it selects
+ * exactly one version of every transitively required dependency such that every
+ * {@link com.austinv11.graphs.extra.dependency.Dependency.Requirement} holds.
+ *
+ * The search assigns one dependency at a time, always picking the dependency with the fewest remaining candidates.
+ * This makes unit propagation fall out naturally: dependencies with a single allowed version are decided immediately,
+ * and dependencies with none are detected as conflicts as soon as they appear. Candidates are tried from the highest
+ * version down. When a dependency has no candidate left, the search backjumps directly to the most recent decision
+ * which imposed one of its constraints (conflict-directed backjumping) rather than retrying unrelated decisions.
+ *
+ * The search is iterative, keeping a trail of every change so a decision can be undone in the reverse order it was
+ * made, so its depth is not limited by the stack. The allowed candidates of each dependency are kept up to date
+ * incrementally: a decision only filters the candidates of the dependencies it requires, and the pending dependencies
+ * are ordered by their number of allowed candidates. Candidate lists and requirements are only queried once per
+ * solve.
+ *
+ * Dependencies which are already installed can be passed to {@link #solve(Dependency, Collection)}, they are kept
+ * as fixed decisions which the rest of the solution must be compatible with.
+ *
+ * @see <a href="https://nex3.medium.com/pubgrub-2fb6470504f">PubGrub: Next-Generation Version Solving</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Backjumping">Wikipedia page</a>
+ */
+public class ConstraintSolver<D extends Dependency.Info> {
+
+    private final Function<String, Collection<Dependency<D>>> candidates;
+
+    /**
+     * @param candidates Gets every available version of a dependency by name.
+     */
+    public ConstraintSolver(@Nonnull Function<String, Collection<Dependency<D>>> candidates) {
+        this.candidates = candidates;
+    }
+
+    /**
+     * Selects a version of every dependency transitively required by the root.
+     *
+     * @param root The root dependency, which is always selected as-is.
+     * @return The solution.
+     *
+     * @throws com.austinv11.graphs.extra.dependency.UnsatisfiableDependencyException If no solution exists.
+     */
+    @Nonnull
+    public Solution<D> solve(@Nonnull Dependency<D> root) {
+        return solve(root, Collections.emptyList());
+    }
+
+    /**
+     * Selects a version of every dependency transitively required by the root, keeping the versions of dependencies
+     * which are already installed. An installed dependency which is required is selected as-is (and its own
+     * requirements are assumed to be satisfied already), so the solution fails if it does not satisfy a requirement.
+     *
+     * @param root The root dependency, which is always selected as-is.
+     * @param installed The dependencies which are already installed, at most one per name.
+     * @return The solution, including the installed dependencies which are required.
+     *
+     * @throws com.austinv11.graphs.extra.dependency.UnsatisfiableDependencyException If no solution exists, or if a
+     * different version of the root is installed.
+     */
+    @Nonnull
+    public Solution<D> solve(@Nonnull Dependency<D> root, @Nonnull Collection<Dependency<D>> installed) {
+        Search search = new Search();
+        for (Dependency<D> dep : installed) {
+            search.installed.put(dep.get().getName(), dep);
+        }
+
+        String rootName = root.get().getName();
+        Dependency<D> installedRoot = search.installed.get(rootName);
+        if (installedRoot != null && !installedRoot.equals(root))
+            throw new UnsatisfiableDependencyException(rootName + " " + installedRoot.get().getVersion()
+                    + " is already installed");
+
+        search.select(search.variable(rootName), root, search.requirements(root));
+        if (!search.search())
+            throw new UnsatisfiableDependencyException(search.explanation);
+
+        List<DependencyRelationship<D>> relationships = new ArrayList<>();
+        for (Dependency<D> dependent : search.selected.values()) {
+            if (dependent != root && search.isInstalled(dependent))
+                continue; // Its relationships are already present
+
+            for (Dependency.Requirement requirement : search.requirements(dependent)) {
+                Dependency<D> dependency = search.selected.get(requirement.getName());
+                if (dependency != dependent)
+                    relationships.add(new DependencyRelationship<>(dependent, dependency));
+            }
+        }
+        return new Solution<>(new ArrayList<>(search.selected.values()), relationships);
+    }
+
+    /**
+     * The result of a successful solve.
+     */
+    public static class Solution<D extends Dependency.Info> {
+
+        private final Collection<Dependency<D>> selected;
+        private final Collection<DependencyRelationship<D>> relationships;
+
+        private Solution(Collection<Dependency<D>> selected, Collection<DependencyRelationship<D>> relationships) {
+            this.selected = Collections.unmodifiableCollection(selected);
+            this.relationships = Collections.unmodifiableCollection(relationships);
+        }
+
+        /**
+         * Gets the selected dependencies (one per name), in the order they were decided.
+         *
+         * @return The selected dependencies.
+         */
+        @Nonnull
+        public Collection<Dependency<D>> getSelected() {
+            return selected;
+        }
+
+        /**
+         * Gets the relationships between the selected dependencies.
+         *
+         * @return The relationships.
+         */
+        @Nonnull
+        public Collection<DependencyRelationship<D>> getRelationships() {
+            return relationships;
+        }
+    }
+
+    private static final class Constraint {
+
+        private final VersionRange range;
+        private final String cause; // The name of the dependency which imposed this
+
+        private Constraint(VersionRange range, String cause) {
+            this.range = range;
+            this.cause = cause;
+        }
+    }
+
+    // A dependency name and the state of its candidates
+    private static final class Variable<D extends Dependency.Info> {
+
+        private final String name;
+        private final int order; // Breaks ties between pending variables, in the order they were first required
+        private final List<Dependency<D>> candidates; // Highest version first
+        private final boolean[] eliminated;
+        private int allowed;
+        private final List<Constraint> constraints = new ArrayList<>();
+        private Dependency<D> selected = null;
+        private boolean pending = false;
+
+        private Variable(String name, int order, List<Dependency<D>> candidates) {
+            this.name = name;
+            this.order = order;
+            this.candidates = candidates;
+            this.eliminated = new boolean[candidates.size()];
+            this.allowed = candidates.size();
+        }
+    }
+
+    // A change to the state of the search, undone when backtracking
+    private static final class Change<D extends Dependency.Info> {
+
+        private static final int CONSTRAINED = -1, SELECTED = -2;
+
+        private final Variable<D> variable;
+        private final int kind; // The index of an eliminated candidate, or one of the constants above
+
+        private Change(Variable<D> variable, int kind) {
+            this.variable = variable;
+            this.kind = kind;
+        }
+    }
+
+    // A decision, and the candidates which remain to be tried for it
+    private static final class Decision<D extends Dependency.Info> {
+
+        private final Variable<D> variable;
+        private final Set<String> conflict; // The decisions responsible for the candidates which failed so far
+        private int next = 0;
+        private int trail; // The size of the trail before the current candidate was selected
+
+        private Decision(Variable<D> variable, Set<String> conflict) {
+            this.variable = variable;
+            this.conflict = conflict;
+        }
+    }
+
+    private final class Search {
+
+        private final Map<String, Dependency<D>> installed = new HashMap<>();
+        private final Map<String, Variable<D>> variables = new HashMap<>();
+        private final Map<String, Dependency<D>> selected = new LinkedHashMap<>();
+        private final NavigableSet<Variable<D>> pending = new TreeSet<>((v1, v2) -> v1.allowed != v2.allowed
+                ? Integer.compare(v1.allowed, v2.allowed) : Integer.compare(v1.order, v2.order));
+        private final List<Change<D>> trail = new ArrayList<>();
+        private final Map<D, Collection<Dependency.Requirement>> requirementCache = new HashMap<>();
+        private String explanation = "No solution exists";
+
+        // Returns true on success, otherwise the explanation is set
+        private boolean search() {
+            Deque<Decision<D>> decisions = new ArrayDeque<>();
+            Set<String> conflict = null; // The decisions responsible for the current conflict, if any
+            while (true) {
+                Decision<D> decision;
+                if (conflict == null) {
+                    if (pending.isEmpty())
+                        return true;
+
+                    Variable<D> next = pending.first();
+                    if (next.allowed == 0) {
+                        explain(next);
+                        conflict = causes(next);
+                        continue;
+                    }
+                    decision = new Decision<>(next, causes(next));
+                    decisions.push(decision);
+                } else {
+                    decision = decisions.peek();
+                    if (decision == null)
+                        return false;
+
+                    undo(decision.trail);
+                    if (!conflict.remove(decision.variable.name)) {
+                        decisions.pop(); // This decision did not contribute, so jump straight past it
+                        continue;
+                    }
+                    decision.conflict.addAll(conflict);
+                    conflict = null;
+                }
+
+                if (!tryNext(decision)) {
+                    decisions.pop();
+                    decision.conflict.remove(decision.variable.name);
+                    conflict = decision.conflict;
+                }
+            }
+        }
+
+        // Selects the next allowed candidate of a decision which does not clash with the selected dependencies
+        private boolean tryNext(Decision<D> decision) {
+            Variable<D> variable = decision.variable;
+            while (decision.next < variable.candidates.size()) {
+                int index = decision.next++;
+                if (variable.eliminated[index])
+                    continue;
+
+                Dependency<D> candidate = variable.candidates.get(index);
+                boolean isInstalled = isInstalled(candidate);
+                Collection<Dependency.Requirement> requirements = isInstalled ? Collections.emptyList()
+                        : requirements(candidate);
+                String clash = clash(candidate, requirements);
+                if (clash != null) {
+                    decision.conflict.add(clash);
+                    continue;
+                }
+
+                decision.trail = trail.size();
+                select(variable, candidate, requirements);
+                return true;
+            }
+            return false;
+        }
+
+        private void select(Variable<D> variable, Dependency<D> dependency,
+                            Collection<Dependency.Requirement> requirements) {
+            setPending(variable, false);
+            variable.selected = dependency;
+            selected.put(variable.name, dependency);
+            trail.add(new Change<>(variable, Change.SELECTED));
+
+            for (Dependency.Requirement requirement : requirements) {
+                Variable<D> required = variable(requirement.getName());
+                required.constraints.add(new Constraint(requirement.getRange(), variable.name));
+                trail.add(new Change<>(required, Change.CONSTRAINED));
+                if (required.selected != null)
+                    continue; // Checked by clash(), and undone before it is deselected
+
+                setPending(required, false);
+                for (int i = 0; i < required.candidates.size(); i++) {
+                    if (!required.eliminated[i]
+                            && !requirement.getRange().contains(required.candidates.get(i).get().getVersion())) {
+                        required.eliminated[i] = true;
+                        required.allowed--;
+                        trail.add(new Change<>(required, i));
+                    }
+                }
+                setPending(required, true);
+            }
+        }
+
+        // Reverts every change made after the trail had the given size
+        private void undo(int size) {
+            while (trail.size() > size) {
+                Change<D> change = trail.remove(trail.size() - 1);
+                Variable<D> variable = change.variable;
+                if (change.kind == Change.SELECTED) {
+                    variable.selected = null;
+                    selected.remove(variable.name);
+                    setPending(variable, true);
+                } else if (change.kind == Change.CONSTRAINED) {
+                    variable.constraints.remove(variable.constraints.size() - 1);
+                    if (variable.constraints.isEmpty())
+                        setPending(variable, false);
+                } else {
+                    boolean wasPending = variable.pending;
+                    setPending(variable, false);
+                    variable.eliminated[change.kind] = false;
+                    variable.allowed++;
+                    setPending(variable, wasPending);
+                }
+            }
+        }
+
+        // Keeps the pending set ordered, variables must be removed from it while their number of candidates changes
+        private void setPending(Variable<D> variable, boolean pending) {
+            if (variable.pending == pending)
+                return;
+            if (pending)
+                this.pending.add(variable);
+            else
+                this.pending.remove(variable);
+            variable.pending = pending;
+        }
+
+        // Finds an already selected dependency which violates one of the candidate's requirements
+        private String clash(Dependency<D> candidate, Collection<Dependency.Requirement> requirements) {
+            for (Dependency.Requirement requirement : requirements) {
+                Dependency<D> existing = selected.get(requirement.getName());
+                if (existing != null && existing != candidate
+                        && !requirement.getRange().contains(existing.get().getVersion())) {
+                    explanation = candidate.get().getName() + " " + candidate.get().getVersion() + " requires "
+                            + requirement + " but " + existing.get().getVersion() + " is selected";
+                    return requirement.getName();
+                }
+            }
+            return null;
+        }
+
+        private Set<String> causes(Variable<D> variable) {
+            Set<String> causes = new HashSet<>();
+            for (Constraint constraint : variable.constraints) {
+                causes.add(constraint.cause);
+            }
+            return causes;
+        }
+
+        private void explain(Variable<D> variable) {
+            StringJoiner joiner = new StringJoiner(", ", "No version of " + variable.name + " satisfies ", "");
+            for (Constraint constraint : variable.constraints) {
+                joiner.add(constraint.range + " (required by " + constraint.cause + ")");
+            }
+            Dependency<D> dep = installed.get(variable.name);
+            if (dep != null)
+                joiner.add("but " + dep.get().getVersion() + " is installed");
+            explanation = joiner.toString();
+        }
+
+        private boolean isInstalled(Dependency<D> dependency) {
+            return installed.get(dependency.get().getName()) == dependency;
+        }
+
+        private Variable<D> variable(String name) {
+            return variables.computeIfAbsent(name, n -> {
+                Dependency<D> dep = installed.get(n);
+                List<Dependency<D>> sorted;
+                if (dep != null) {
+                    sorted = Collections.singletonList(dep);
+                } else {
+                    sorted = new ArrayList<>(candidates.apply(n));
+                    sorted.sort((d1, d2) -> d2.get().getVersion().compareTo(d1.get().getVersion())); // Highest first
+                }
+                return new Variable<>(n, variables.size(), sorted);
+            });
+        }
+
+        private Collection<Dependency.Requirement> requirements(Dependency<D> dependency) {
+            return requirementCache.computeIfAbsent(dependency.get(), i -> dependency.getRequirements());
+        }
+    }
+}
@@ -4,7 +4,10 @@ import com.austinv11.graphs.Vertex;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
@@ -17,12 +20,28 @@ public class Dependency<D extends Dependency.Info> implements Vertex<D> {
     private final D info;
     private final BooleanSupplier installation;
     private final Function<Info, Collection<Dependency<D>>> dependencyDetection;
+    private final @Nullable Collection<Requirement> requirements;
 
     public Dependency(D info, BooleanSupplier installation,
                       Function<Info, Collection<Dependency<D>>> dependencyDetection) {
         this.info = info;
         this.installation = installation;
         this.dependencyDetection = dependencyDetection;
+        this.requirements = null;
+    }
+
+    /**
+     * Creates a dependency which declares version ranges rather than concrete dependencies. The concrete versions are
+     * chosen when resolving with a {@link com.austinv11.graphs.extra.dependency.ConstraintSolver}, so
+     * {@link #getDirectDependencies()} is always empty for such a dependency.
+     *
+     * @see DependencyGraph#addAndResolve(Dependency, Function)
+     */
+    public Dependency(D info, BooleanSupplier installation, Collection<Requirement> requirements) {
+        this.info = info;
+        this.installation = installation;
+        this.dependencyDetection = i -> Collections.emptyList();
+        this.requirements = Collections.unmodifiableList(new ArrayList<>(requirements));
     }
 
     @Nonnull
@@ -51,6 +70,25 @@ public class Dependency<D extends Dependency.Info> implements Vertex<D> {
         return dependencyDetection.apply(info);
     }
 
+    /**
+     * Retrieves the version requirements of the <b>DIRECT</b> dependencies of the current dependency. If this
+     * dependency was created with concrete dependencies, each one is required at its version or higher.
+     *
+     * @return The requirements of this dependency, or an empty collection if none.
+     */
+    @Nonnull
+    public Collection<Requirement> getRequirements() {
+        if (requirements != null)
+            return requirements;
+
+        Collection<Dependency<D>> deps = getDirectDependencies();
+        List<Requirement> derived = new ArrayList<>(deps.size());
+        for (Dependency<D> dep : deps) {
+            derived.add(new Requirement(dep.get().getName(), VersionRange.atLeast(dep.get().getVersion())));
+        }
+        return derived;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -122,4 +160,55 @@ public class Dependency<D extends Dependency.Info> implements Vertex<D> {
             return Objects.hash(getName(), getVersion(), getDescription());
         }
     }
+
+    /**
+     * Represents a requirement on any version of a named dependency within a range.
+     *
+     * @see com.austinv11.graphs.extra.dependency.VersionRange
+     */
+    public static class Requirement {
+
+        private final String name;
+        private final VersionRange range;
+
+        public Requirement(String name, VersionRange range) {
+            this.name = name;
+            this.range = range;
+        }
+
+        public Requirement(String name, String range) {
+            this(name, VersionRange.parse(range));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public VersionRange getRange() {
+            return range;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Requirement)) {
+                return false;
+            }
+            Requirement that = (Requirement) o;
+            return Objects.equals(getName(), that.getName()) &&
+                    Objects.equals(getRange(), that.getRange());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getName(), getRange());
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + range;
+        }
+    }
 }
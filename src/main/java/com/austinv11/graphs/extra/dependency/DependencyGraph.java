@@ -1,14 +1,16 @@
 package com.austinv11.graphs.extra.dependency;
 
-import com.austinv11.graphs.Graph;
 import com.austinv11.graphs.alg.TopologicalSortStrategy;
 import com.austinv11.graphs.impl.DirectedAcyclicGraph;
 import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.util.BoundedExecutor;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * Represents a dependency "graph" (this doesn't actually implement {@link com.austinv11.graphs.Graph}).
@@ -18,53 +20,204 @@ import java.util.Set;
  */
 public class DependencyGraph<D extends Dependency.Info> {
 
-    private final Graph<D, Dependency<D>, DependencyRelationship<D>> graph = new DirectedAcyclicGraph<>(new SimpleGraph<>());
+    private final DirectedAcyclicGraph<D, Dependency<D>, DependencyRelationship<D>> graph = new DirectedAcyclicGraph<>(new SimpleGraph<>());
+    private final Map<String, Dependency<D>> byName = new HashMap<>();
+    private final Map<D, CompletableFuture<Collection<Dependency<D>>>> directDependencies = new ConcurrentHashMap<>();
 
     /**
      * Adds a dependency to the graph, and recursively resolves all its transitive dependencies.
      *
      * @param dependency The dependency to add.
      */
-    public void addAndResolve(Dependency<D> dependency) {
+    public synchronized void addAndResolve(Dependency<D> dependency) {
         addAndResolve(dependency, new HashSet<>());
     }
 
     private void addAndResolve(Dependency<D> dependency, Set<Dependency<D>> progress) {
-        if (progress.contains(dependency))
+        if (!progress.add(dependency))
             return;
 
-        addOrReplace(dependency);
-        progress.add(dependency);
+        Dependency<D> resolved = addOrReplace(dependency);
 
-        for (Dependency<D> dep : dependency.getDirectDependencies()) {
-            addOrReplace(dep);
-            graph.addEdge(new DependencyRelationship<>(dependency, dep));
-            progress.add(dep);
+        for (Dependency<D> dep : getDirectDependencies(dependency)) {
+            Dependency<D> resolvedDep = addOrReplace(dep);
+            addRelationship(resolved, resolvedDep);
             addAndResolve(dep, progress);
         }
     }
 
-    private void addOrReplace(Dependency<D> dep) {
-        Dependency<D> dep2 = graph.vertices().stream()
-                .filter(d -> d.get().getName().equals(dep.get().getName()))
-                .filter(d -> !d.get().getVersion().equals(dep.get().getVersion()))
-                .findFirst().orElse(null);
-        if (dep2 != null) {
-            if (dep.get().getVersion().isHigherThan(dep2.get().getVersion())) {
-                Collection<DependencyRelationship<D>> edges = graph.getConnectedEdges(dep2);
-                graph.removeVertex(dep2);
+    /**
+     * Adds a dependency to the graph, and resolves all its transitive dependencies by their version requirements
+     * rather than by "highest version wins". A version of each dependency satisfying every
+     * {@link Dependency.Requirement} is chosen with a {@link com.austinv11.graphs.extra.dependency.ConstraintSolver},
+     * and exactly those versions are then added to the graph in a single batch with a single cycle check, so the graph
+     * is never rewired. Dependencies already in the graph are kept as they are, so the new requirements must be
+     * satisfied by them.
+     *
+     * @param dependency The dependency to add.
+     * @param candidates Gets every available version of a dependency by name.
+     *
+     * @throws com.austinv11.graphs.extra.dependency.UnsatisfiableDependencyException If the requirements conflict
+     * with each other or with the dependencies already in the graph, in which case nothing is added.
+     * @throws com.austinv11.graphs.util.CycleException If the solution is cyclic, in which case no relationships are
+     * added.
+     *
+     * @see Dependency#getRequirements()
+     */
+    public synchronized void addAndResolve(Dependency<D> dependency,
+                                           Function<String, Collection<Dependency<D>>> candidates) {
+        ConstraintSolver.Solution<D> solution = new ConstraintSolver<>(candidates).solve(dependency, byName.values());
+        for (Dependency<D> dep : solution.getSelected()) {
+            String name = dep.get().getName();
+            if (!byName.containsKey(name)) { // Otherwise the solver kept the existing dependency
                 graph.addVertex(dep);
-                for (DependencyRelationship<D> edge : edges) {
-                    if (edge.getFirstVertex().equals(dep2)) {
-                        graph.addEdge(new DependencyRelationship<>(dep, edge.getSecondVertex()));
-                    } else {
-                        graph.addEdge(new DependencyRelationship<>(edge.getFirstVertex(), dep));
-                    }
+                byName.put(name, dep);
+            }
+        }
+        addRelationships(solution.getRelationships());
+    }
+
+    /**
+     * Adds a dependency to the graph, and resolves all its transitive dependencies asynchronously. Calls to
+     * {@link Dependency#getDirectDependencies()} fan out in parallel on the executor (with at most
+     * {@code maxConcurrency} running at once) and are memoized per {@link Dependency.Info}, so each dependency is
+     * only ever queried once per graph. Once everything is discovered, it is merged into the graph in a single batch
+     * with a single cycle check.
+     *
+     * @param dependency The dependency to add.
+     * @param executor The executor to query dependencies on.
+     * @param maxConcurrency The maximum number of concurrent queries.
+     * @return A future which completes once the dependencies are merged into the graph. It completes exceptionally
+     * with a {@link com.austinv11.graphs.util.CycleException} if the dependencies are cyclic, in which case no
+     * relationships are added.
+     */
+    public CompletableFuture<Void> addAndResolveAsync(Dependency<D> dependency, Executor executor, int maxConcurrency) {
+        AsyncResolution resolution = new AsyncResolution(new BoundedExecutor(executor, maxConcurrency));
+        resolution.visit(dependency);
+        return resolution.result.thenRun(() -> merge(resolution.discovered, resolution.relationships));
+    }
+
+    private Collection<Dependency<D>> getDirectDependencies(Dependency<D> dependency) {
+        CompletableFuture<Collection<Dependency<D>>> memoized = directDependencies.get(dependency.get());
+        if (memoized != null && !memoized.isCompletedExceptionally())
+            return memoized.join();
+
+        Collection<Dependency<D>> deps = dependency.getDirectDependencies();
+        directDependencies.put(dependency.get(), CompletableFuture.completedFuture(deps));
+        return deps;
+    }
+
+    private CompletableFuture<Collection<Dependency<D>>> getDirectDependenciesAsync(Dependency<D> dependency,
+                                                                                     Executor executor) {
+        D info = dependency.get();
+        CompletableFuture<Collection<Dependency<D>>> query = new CompletableFuture<>();
+        while (true) { // Only the thread which publishes the future starts the query, outside of the map
+            CompletableFuture<Collection<Dependency<D>>> memoized = directDependencies.putIfAbsent(info, query);
+            if (memoized == null)
+                break;
+            if (!memoized.isCompletedExceptionally())
+                return memoized;
+            if (directDependencies.replace(info, memoized, query)) // Failed queries are retried
+                break;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    query.complete(dependency.getDirectDependencies());
+                } catch (Throwable t) {
+                    query.completeExceptionally(t);
                 }
+            });
+        } catch (Throwable t) {
+            query.completeExceptionally(t);
+        }
+        return query;
+    }
+
+    synchronized void merge(Collection<Dependency<D>> discovered,
+                                    Collection<DependencyRelationship<D>> relationships) {
+        for (Dependency<D> dep : discovered) {
+            addOrReplace(dep);
+        }
+        addRelationships(relationships);
+    }
+
+    // Adds relationships between dependencies in the graph (by name) in a single batch
+    private void addRelationships(Collection<DependencyRelationship<D>> relationships) {
+        graph.beginBatch();
+        try {
+            for (DependencyRelationship<D> relationship : relationships) {
+                Dependency<D> dependent = byName.get(relationship.getDependent().get().getName());
+                Dependency<D> dependency = byName.get(relationship.getDependency().get().getName());
+                addRelationship(dependent, dependency);
             }
-        } else {
+        } catch (RuntimeException e) {
+            graph.rollback();
+            throw e;
+        }
+        graph.commit();
+    }
+
+    // Seeds the memoized direct dependencies, so resolving the dependency will not query it
+    void memoize(D info, Collection<Dependency<D>> deps) {
+        directDependencies.put(info, CompletableFuture.completedFuture(deps));
+    }
+
+    // The declared direct dependencies of every dependency queried so far
+    Map<D, Collection<Dependency<D>>> declaredDependencies() {
+        Map<D, Collection<Dependency<D>>> declared = new HashMap<>();
+        directDependencies.forEach((info, memoized) -> {
+            if (memoized.isDone() && !memoized.isCompletedExceptionally())
+                declared.put(info, memoized.join());
+        });
+        return declared;
+    }
+
+    synchronized Collection<Dependency<D>> dependencies() {
+        return new ArrayList<>(graph.vertices());
+    }
+
+    synchronized Collection<DependencyRelationship<D>> relationships() {
+        return new ArrayList<>(graph.edges());
+    }
+
+    // Adds a relationship unless an identical one is already present
+    private DependencyRelationship<D> addRelationship(Dependency<D> dependent, Dependency<D> dependency) {
+        for (DependencyRelationship<D> existing : graph.getConnections(dependency, dependent)) {
+            if (existing.getDependent().equals(dependent) && existing.getDependency().equals(dependency))
+                return null;
+        }
+
+        DependencyRelationship<D> edge = new DependencyRelationship<>(dependent, dependency);
+        graph.addEdge(edge);
+        return edge;
+    }
+
+    /**
+     * Adds a dependency to the graph unless a dependency with the same name is already present, in which case the
+     * higher version wins. A lower version is replaced in place, keeping all of its relationships.
+     *
+     * @param dep The dependency to add.
+     * @return The dependency which is present in the graph under that name after this call.
+     */
+    private Dependency<D> addOrReplace(Dependency<D> dep) {
+        String name = dep.get().getName();
+        Dependency<D> existing = byName.get(name);
+        if (existing == null) {
             graph.addVertex(dep);
+            byName.put(name, dep);
+            return dep;
         }
+
+        if (!dep.get().getVersion().isHigherThan(existing.get().getVersion()))
+            return existing;
+
+        graph.replaceVertex(existing, dep, edge -> edge.getDependency().equals(existing)
+                ? new DependencyRelationship<>(edge.getDependent(), dep)
+                : new DependencyRelationship<>(dep, edge.getDependency()));
+        byName.put(name, dep);
+        return dep;
     }
 
     /**
@@ -72,9 +225,8 @@ public class DependencyGraph<D extends Dependency.Info> {
      *
      * @return True if successful, false if at least one dependency failed.
      */
-    public boolean installAll() {
-        List<Dependency<D>> dependencies = graph.sortVertices(new TopologicalSortStrategy<>());
-        for (Dependency<D> dep : dependencies) {
+    public synchronized boolean installAll() {
+        for (Dependency<D> dep : installationOrder()) {
             if (!dep.install()) {
                 return false;
             }
@@ -82,5 +234,214 @@ public class DependencyGraph<D extends Dependency.Info> {
         return true;
     }
 
+    // Dependencies come before their dependents, the sort skips dependencies without any relationships
+    private List<Dependency<D>> installationOrder() {
+        List<Dependency<D>> order = new ArrayList<>(graph.sortVertices(new TopologicalSortStrategy<>()));
+        Set<Dependency<D>> sorted = new HashSet<>(order);
+        for (Dependency<D> dep : graph.vertices()) {
+            if (!sorted.contains(dep))
+                order.add(dep);
+        }
+        return order;
+    }
+
+    /**
+     * Attempts to install all dependencies concurrently. Each dependency is scheduled on the executor as soon as all
+     * of its own dependencies have been installed, so independent dependencies install in parallel. Since installs are
+     * typically I/O bound, a cached or virtual thread per task executor is a good fit.
+     *
+     * This fails fast: once any installation fails (returns false or throws), no further installations are started,
+     * in-flight ones are cancelled (interrupted) and this returns immediately. This blocks until the installation
+     * completes. The dependencies to install are taken from a snapshot of the graph, so dependencies added while this
+     * runs are not installed.
+     *
+     * @param executor The executor to run installations on.
+     * @return The report of the installation, including per-dependency timings.
+     */
+    public InstallationReport<D> installAll(ExecutorService executor) {
+        long start = System.nanoTime();
+        Map<Dependency<D>, AtomicInteger> remaining = new HashMap<>();
+        Map<Dependency<D>, List<Dependency<D>>> dependents = new HashMap<>();
+        synchronized (this) {
+            for (Dependency<D> dep : graph.vertices()) {
+                remaining.put(dep, new AtomicInteger(graph.getInwardEdges(dep).size()));
+                List<Dependency<D>> list = new ArrayList<>();
+                for (DependencyRelationship<D> edge : graph.getOutwardEdges(dep)) {
+                    list.add(edge.getDependent());
+                }
+                dependents.put(dep, list);
+            }
+        }
+
+        ParallelInstallation installation = new ParallelInstallation(executor, remaining, dependents);
+        for (Map.Entry<Dependency<D>, AtomicInteger> entry : remaining.entrySet()) {
+            if (entry.getValue().get() == 0)
+                installation.schedule(entry.getKey());
+        }
+
+        try {
+            if (!remaining.isEmpty())
+                installation.done.await();
+        } catch (InterruptedException e) {
+            installation.fail(null, e);
+            Thread.currentThread().interrupt();
+        }
+
+        Dependency<D> failed = installation.failed.get();
+        Throwable failure = installation.failure.get();
+        return new InstallationReport<>(failed == null && failure == null, failed, failure,
+                new HashMap<>(installation.timings), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // Dependencies are visited from a work queue rather than recursively, since completed futures (a synchronous
+    // executor or a warm memo) would otherwise run every callback on the same stack, one frame per level of the tree
+    private final class AsyncResolution {
+
+        private final Executor executor;
+        private final Map<D, Boolean> seen = new ConcurrentHashMap<>();
+        private final Queue<Dependency<D>> discovered = new ConcurrentLinkedQueue<>();
+        private final Queue<DependencyRelationship<D>> relationships = new ConcurrentLinkedQueue<>();
+        private final Queue<Dependency<D>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger draining = new AtomicInteger(0);
+        private final AtomicInteger outstanding = new AtomicInteger(0); // Queued or being queried
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private AsyncResolution(Executor executor) {
+            this.executor = executor;
+        }
+
+        private void visit(Dependency<D> dependency) {
+            outstanding.incrementAndGet();
+            pending.add(dependency);
+            drain();
+        }
+
+        // Only one thread drains at a time, visits made meanwhile (including from callbacks run by the drain itself)
+        // are picked up by it instead of recursing
+        private void drain() {
+            if (draining.getAndIncrement() != 0)
+                return;
+
+            int missed = 1;
+            do {
+                Dependency<D> dependency;
+                while ((dependency = pending.poll()) != null) {
+                    try {
+                        query(dependency);
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+                }
+                missed = draining.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void query(Dependency<D> dependency) {
+            if (result.isDone() || seen.putIfAbsent(dependency.get(), true) != null) {
+                finish();
+                return;
+            }
 
+            discovered.add(dependency);
+            getDirectDependenciesAsync(dependency, executor).whenComplete((deps, error) -> {
+                try {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                        return;
+                    }
+
+                    for (Dependency<D> dep : deps) {
+                        relationships.add(new DependencyRelationship<>(dependency, dep));
+                        visit(dep);
+                    }
+                    finish();
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        }
+
+        private void finish() {
+            if (outstanding.decrementAndGet() == 0)
+                result.complete(null);
+        }
+    }
+
+    private final class ParallelInstallation {
+
+        private final ExecutorService executor;
+        private final Map<Dependency<D>, AtomicInteger> remaining;
+        private final Map<Dependency<D>, List<Dependency<D>>> dependents;
+        private final AtomicInteger completed = new AtomicInteger(0);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final AtomicReference<Dependency<D>> failed = new AtomicReference<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final Map<Dependency<D>, Duration> timings = new ConcurrentHashMap<>();
+        private final Map<Dependency<D>, Future<?>> running = new ConcurrentHashMap<>();
+        private volatile boolean aborted = false;
+
+        private ParallelInstallation(ExecutorService executor, Map<Dependency<D>, AtomicInteger> remaining,
+                                     Map<Dependency<D>, List<Dependency<D>>> dependents) {
+            this.executor = executor;
+            this.remaining = remaining;
+            this.dependents = dependents;
+        }
+
+        private void schedule(Dependency<D> dep) {
+            if (aborted)
+                return;
+
+            try {
+                running.put(dep, executor.submit(() -> install(dep)));
+            } catch (RejectedExecutionException e) {
+                fail(dep, e);
+            }
+        }
+
+        private void install(Dependency<D> dep) {
+            if (aborted)
+                return;
+
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = dep.install();
+            } catch (Throwable t) {
+                timings.put(dep, Duration.ofNanos(System.nanoTime() - start));
+                fail(dep, t);
+                return;
+            } finally {
+                running.remove(dep);
+            }
+            timings.put(dep, Duration.ofNanos(System.nanoTime() - start));
+
+            if (!success) {
+                fail(dep, null);
+                return;
+            }
+
+            for (Dependency<D> dependent : dependents.get(dep)) {
+                if (remaining.get(dependent).decrementAndGet() == 0)
+                    schedule(dependent);
+            }
+
+            if (completed.incrementAndGet() == remaining.size())
+                done.countDown();
+        }
+
+        private void fail(Dependency<D> dep, Throwable t) {
+            synchronized (this) {
+                if (aborted)
+                    return;
+                aborted = true;
+                failed.set(dep);
+                failure.set(t);
+            }
+
+            for (Future<?> future : running.values()) {
+                future.cancel(true);
+            }
+            done.countDown();
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package com.austinv11.graphs.extra.dependency;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The outcome of a parallel installation.
+ *
+ * @see com.austinv11.graphs.extra.dependency.DependencyGraph#installAll(java.util.concurrent.ExecutorService)
+ */
+public class InstallationReport<D extends Dependency.Info> {
+
+    private final boolean successful;
+    private final @Nullable Dependency<D> failed;
+    private final @Nullable Throwable failure;
+    private final Map<Dependency<D>, Duration> timings;
+    private final Duration totalTime;
+
+    InstallationReport(boolean successful, @Nullable Dependency<D> failed, @Nullable Throwable failure,
+                       Map<Dependency<D>, Duration> timings, Duration totalTime) {
+        this.successful = successful;
+        this.failed = failed;
+        this.failure = failure;
+        this.timings = Collections.unmodifiableMap(timings);
+        this.totalTime = totalTime;
+    }
+
+    /**
+     * Checks if every dependency was installed.
+     *
+     * @return True if successful, false if at least one dependency failed.
+     */
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    /**
+     * Gets the first dependency which failed to install.
+     *
+     * @return The failed dependency, or null if none failed (or the installation was interrupted).
+     */
+    @Nullable
+    public Dependency<D> getFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the exception which caused the installation to fail, if any.
+     *
+     * @return The exception, or null if the failure was reported by {@link Dependency#install()} returning false.
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Gets how long each attempted installation took. Dependencies which were never started are absent.
+     *
+     * @return The installation time of each attempted dependency.
+     */
+    @Nonnull
+    public Map<Dependency<D>, Duration> getTimings() {
+        return timings;
+    }
+
+    /**
+     * Gets the wall-clock time of the whole installation.
+     *
+     * @return The total time.
+     */
+    @Nonnull
+    public Duration getTotalTime() {
+        return totalTime;
+    }
+}
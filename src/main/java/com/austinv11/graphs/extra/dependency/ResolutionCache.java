@@ -0,0 +1,289 @@
+package com.austinv11.graphs.extra.dependency;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A persistent, on-disk cache of resolved {@link com.austinv11.graphs.extra.dependency.DependencyGraph}s, keyed by the
+ * {@link Dependency.Info} of the root dependency. Each entry stores the name, version and description of every
+ * resolved dependency along with the relationships between them, and the direct dependencies every queried
+ * dependency declared (including versions which lost to a higher one).
+ *
+ * Entries can optionally store a fingerprint of each dependency (for example a metadata timestamp or checksum). When
+ * resolving through the cache, only dependencies whose fingerprint changed are queried through
+ * {@link Dependency#getDirectDependencies()} again, every other dependency reuses its cached direct dependencies.
+ * Since those are the declared ones rather than the resolved ones, the resolution is the same as without the cache.
+ *
+ * Dependencies are recreated from the cache through a factory, which must produce {@link Dependency.Info} instances
+ * equal to the ones produced by {@link Dependency#getDirectDependencies()} for cache hits to be recognized.
+ */
+public class ResolutionCache<D extends Dependency.Info> {
+
+    private static final int MAGIC = 0x53474443; // "SGDC"
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path directory;
+    private final Function<Dependency.Info, Dependency<D>> factory;
+    private final @Nullable Function<? super D, String> fingerprint;
+
+    /**
+     * Creates a cache which trusts cached entries until they are invalidated.
+     *
+     * @param directory The directory to store entries in.
+     * @param factory Recreates a dependency from its cached metadata.
+     */
+    public ResolutionCache(@Nonnull Path directory, @Nonnull Function<Dependency.Info, Dependency<D>> factory) {
+        this(directory, factory, null);
+    }
+
+    /**
+     * Creates a cache which re-resolves dependencies whose fingerprint changed.
+     *
+     * @param directory The directory to store entries in.
+     * @param factory Recreates a dependency from its cached metadata.
+     * @param fingerprint Computes a (cheap) fingerprint of a dependency which changes whenever its direct dependencies
+     *                    might have changed.
+     */
+    public ResolutionCache(@Nonnull Path directory, @Nonnull Function<Dependency.Info, Dependency<D>> factory,
+                           @Nullable Function<? super D, String> fingerprint) {
+        this.directory = directory;
+        this.factory = factory;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Resolves a dependency graph using the cache. Cached dependencies whose fingerprint is unchanged are not
+     * queried, the rest of the tree is resolved normally. The resulting graph is then written back to the cache.
+     *
+     * @param root The root dependency.
+     * @return The resolved graph.
+     * @throws IOException If the updated entry could not be written.
+     */
+    @Nonnull
+    public DependencyGraph<D> resolve(@Nonnull Dependency<D> root) throws IOException {
+        DependencyGraph<D> graph = new DependencyGraph<>();
+        Entry entry = read(root.get());
+        if (entry != null) {
+            List<Dependency<D>> dependencies = entry.instantiate();
+            for (int i = 0; i < dependencies.size(); i++) {
+                Dependency<D> dep = dependencies.get(i);
+                int[] declared = entry.declared.get(i);
+                if (declared == null || fingerprint != null
+                        && !Objects.equals(entry.fingerprints.get(i), fingerprint.apply(dep.get())))
+                    continue;
+
+                List<Dependency<D>> children = new ArrayList<>(declared.length);
+                for (int child : declared) {
+                    children.add(dependencies.get(child));
+                }
+                graph.memoize(dep.get(), children);
+            }
+        }
+
+        // Resolution visits dependencies iteratively, so this cannot overflow the stack on deep trees
+        graph.addAndResolveAsync(root, Runnable::run, 1).join();
+        store(root, graph);
+        return graph;
+    }
+
+    /**
+     * Loads a cached dependency graph as-is, without checking fingerprints or resolving anything.
+     *
+     * @param root The root dependency.
+     * @return The cached graph, or null if there is no (readable) entry for the root.
+     */
+    @Nullable
+    public DependencyGraph<D> load(@Nonnull Dependency<D> root) {
+        Entry entry = read(root.get());
+        if (entry == null)
+            return null;
+
+        List<Dependency<D>> dependencies = entry.instantiate();
+        List<Dependency<D>> resolved = new ArrayList<>();
+        for (int i = 0; i < dependencies.size(); i++) {
+            if (entry.resolved.get(i))
+                resolved.add(dependencies.get(i));
+        }
+        List<DependencyRelationship<D>> relationships = new ArrayList<>(entry.edges.size());
+        for (int[] edge : entry.edges) {
+            relationships.add(new DependencyRelationship<>(dependencies.get(edge[0]), dependencies.get(edge[1])));
+        }
+
+        DependencyGraph<D> graph = new DependencyGraph<>();
+        graph.merge(resolved, relationships);
+        return graph;
+    }
+
+    /**
+     * Writes a resolved dependency graph to the cache, replacing any existing entry for the root.
+     *
+     * @param root The root dependency.
+     * @param graph The resolved graph.
+     * @throws IOException If the entry could not be written.
+     */
+    public void store(@Nonnull Dependency<D> root, @Nonnull DependencyGraph<D> graph) throws IOException {
+        Collection<Dependency<D>> resolved = graph.dependencies();
+        Map<D, Collection<Dependency<D>>> declared = graph.declaredDependencies();
+        Map<D, Integer> indices = new LinkedHashMap<>(); // Resolved dependencies first, then every declared one
+        for (Dependency<D> dep : resolved) {
+            indices.putIfAbsent(dep.get(), indices.size());
+        }
+        for (Map.Entry<D, Collection<Dependency<D>>> entry : declared.entrySet()) {
+            indices.putIfAbsent(entry.getKey(), indices.size());
+            for (Dependency<D> child : entry.getValue()) {
+                indices.putIfAbsent(child.get(), indices.size());
+            }
+        }
+        Collection<DependencyRelationship<D>> relationships = graph.relationships();
+
+        Files.createDirectories(directory);
+        Path target = path(root.get());
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeInfo(out, root.get());
+            out.writeInt(indices.size());
+            int index = 0;
+            for (D info : indices.keySet()) {
+                writeInfo(out, info);
+                writeString(out, fingerprint == null ? null : fingerprint.apply(info));
+                out.writeBoolean(index++ < resolved.size());
+
+                Collection<Dependency<D>> children = declared.get(info);
+                out.writeInt(children == null ? -1 : children.size()); // -1 if it was never queried
+                if (children != null) {
+                    for (Dependency<D> child : children) {
+                        out.writeInt(indices.get(child.get()));
+                    }
+                }
+            }
+            out.writeInt(relationships.size());
+            for (DependencyRelationship<D> relationship : relationships) {
+                out.writeInt(indices.get(relationship.getDependent().get()));
+                out.writeInt(indices.get(relationship.getDependency().get()));
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Removes the cached entry for a root dependency, if any.
+     *
+     * @param root The root dependency.
+     * @throws IOException If the entry could not be deleted.
+     */
+    public void invalidate(@Nonnull Dependency<D> root) throws IOException {
+        Files.deleteIfExists(path(root.get()));
+    }
+
+    private Path path(Dependency.Info root) {
+        String name = root.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+        return directory.resolve(String.format("%s-%08x.sgdc", name, root.hashCode()));
+    }
+
+    // Corrupt, outdated or mismatched entries are treated as cache misses
+    @Nullable
+    private Entry read(Dependency.Info root) {
+        Path path = path(root);
+        if (!Files.isRegularFile(path))
+            return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+                return null;
+            if (!readInfo(in).equals(root))
+                return null;
+
+            Entry entry = new Entry();
+            int vertexCount = in.readInt();
+            for (int i = 0; i < vertexCount; i++) {
+                entry.infos.add(readInfo(in));
+                entry.fingerprints.add(readString(in));
+                entry.resolved.add(in.readBoolean());
+
+                int childCount = in.readInt();
+                int[] children = childCount < 0 ? null : new int[childCount];
+                for (int j = 0; j < childCount; j++) {
+                    children[j] = in.readInt();
+                    if (children[j] < 0 || children[j] >= vertexCount)
+                        return null;
+                }
+                entry.declared.add(children);
+            }
+            int edgeCount = in.readInt();
+            for (int i = 0; i < edgeCount; i++) {
+                int dependent = in.readInt(), dependency = in.readInt();
+                if (dependent < 0 || dependent >= vertexCount || dependency < 0 || dependency >= vertexCount)
+                    return null;
+                entry.edges.add(new int[]{dependent, dependency});
+            }
+            return entry;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeInfo(DataOutputStream out, Dependency.Info info) throws IOException {
+        writeString(out, info.getName());
+        writeString(out, info.getVersion().toString());
+        writeString(out, info.getDescription());
+    }
+
+    private static Dependency.Info readInfo(DataInputStream in) throws IOException {
+        String name = readString(in);
+        String version = readString(in);
+        String description = readString(in);
+        if (name == null || version == null)
+            throw new IOException("Malformed dependency metadata!");
+        return new Dependency.Info(name, SemanticVersion.of(version), description);
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private final class Entry {
+
+        private final List<Dependency.Info> infos = new ArrayList<>();
+        private final List<String> fingerprints = new ArrayList<>();
+        private final List<Boolean> resolved = new ArrayList<>(); // Whether each dependency is in the resolved graph
+        private final List<int[]> declared = new ArrayList<>(); // Indices of the declared direct dependencies, if known
+        private final List<int[]> edges = new ArrayList<>(); // (dependent, dependency) index pairs
+
+        private List<Dependency<D>> instantiate() {
+            List<Dependency<D>> dependencies = new ArrayList<>(infos.size());
+            for (Dependency.Info info : infos) {
+                dependencies.add(factory.apply(info));
+            }
+            return dependencies;
+        }
+    }
+}
@@ -2,9 +2,9 @@ package com.austinv11.graphs.extra.dependency;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
-import java.util.Objects;
+import java.util.Map;
 import java.util.StringJoiner;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This represents a "semantic version" of a dependency.
@@ -14,46 +14,114 @@ import java.util.regex.Pattern;
  */
 public class SemanticVersion implements Comparable<SemanticVersion> {
 
+    private static final int[] NO_OTHERS = new int[0];
+
+    private static final int PACKED_BITS = 21;
+    private static final int PACKED_LIMIT = 1 << PACKED_BITS;
+
+    private static final int MAX_INTERNED = 8192;
+    private static final Map<String, SemanticVersion> INTERNED_STRINGS = new ConcurrentHashMap<>();
+    private static final Map<SemanticVersion, SemanticVersion> INTERNED_VERSIONS = new ConcurrentHashMap<>();
+
     /**
      * Represents a non-existent version.
      */
-    public static final SemanticVersion NONE = new SemanticVersion("0.0.0");
-
-    private static final Pattern SANITIZE_PATTERN = Pattern.compile("[^\\d.]");
+    public static final SemanticVersion NONE = intern("0.0.0", new SemanticVersion("0.0.0"));
 
     private final int major, minor, patch;
     private final int[] others;
+    private final long packed; // major, minor and patch packed into one long if possible, else -1
 
+    /**
+     * Parses a version string. Components are separated by dots, any other non-digit characters are ignored and
+     * missing components are treated as 0.
+     *
+     * @param versionString The version string.
+     *
+     * @see #of(String)
+     */
     public SemanticVersion(String versionString) {
-        String sanitized = SANITIZE_PATTERN.matcher(versionString).replaceAll("");
-        String[] split = sanitized.split(".");
+        int major = 0, minor = 0, patch = 0;
+        int[] others = NO_OTHERS;
+        int component = 0, value = 0;
+        boolean empty = true;
+        int length = versionString.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? versionString.charAt(i) : '.';
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (value > (Integer.MAX_VALUE - digit) / 10)
+                    throw new NumberFormatException("Version component out of range: " + versionString);
+                value = value * 10 + digit;
+                empty = false;
+            } else if (c == '.') {
+                if (i == length && empty && component > 0)
+                    break; // Trailing dot
 
-        if (split.length > 0) {
-            major = Integer.parseInt(split[0]);
-        } else {
-            major = 0;
+                switch (component) {
+                    case 0:
+                        major = value;
+                        break;
+                    case 1:
+                        minor = value;
+                        break;
+                    case 2:
+                        patch = value;
+                        break;
+                    default:
+                        int index = component - 3;
+                        if (index >= others.length)
+                            others = Arrays.copyOf(others, Math.max(2, others.length * 2));
+                        others[index] = value;
+                        break;
+                }
+                component++;
+                value = 0;
+                empty = true;
+            }
         }
 
-        if (split.length > 1) {
-            minor = Integer.parseInt(split[1]);
-        } else {
-            minor = 0;
-        }
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.others = component > 3 && others.length != component - 3 ? Arrays.copyOf(others, component - 3) : others;
+        this.packed = this.others.length == 0 && major < PACKED_LIMIT && minor < PACKED_LIMIT && patch < PACKED_LIMIT
+                ? ((long) major << (2 * PACKED_BITS)) | ((long) minor << PACKED_BITS) | patch
+                : -1;
+    }
 
-        if (split.length > 2) {
-            patch = Integer.parseInt(split[2]);
-        } else {
-            patch = 0;
-        }
+    /**
+     * Gets the version represented by a version string. Equal versions are interned, so repeated calls share a
+     * single instance and skip parsing entirely.
+     *
+     * @param versionString The version string.
+     * @return The version.
+     *
+     * @see #SemanticVersion(String)
+     */
+    @Nonnull
+    public static SemanticVersion of(@Nonnull String versionString) {
+        SemanticVersion version = INTERNED_STRINGS.get(versionString);
+        if (version != null)
+            return version;
 
-        if (split.length > 3) {
-            others = new int[split.length-3];
-            for (int i = 0; i < split.length-3; i++) {
-                others[i] = Integer.parseInt(split[i+3]);
-            }
-        } else {
-            others = new int[0];
+        return intern(versionString, new SemanticVersion(versionString));
+    }
+
+    // Both maps are capped to avoid unbounded growth with arbitrary input, the strings separately since many spellings
+    // (such as "1.0" and "1.0.0") share a version
+    private static SemanticVersion intern(String versionString, SemanticVersion version) {
+        SemanticVersion canonical = INTERNED_VERSIONS.get(version);
+        if (canonical == null) {
+            if (INTERNED_VERSIONS.size() >= MAX_INTERNED)
+                return version;
+            canonical = INTERNED_VERSIONS.putIfAbsent(version, version);
+            if (canonical == null)
+                canonical = version;
         }
+        if (INTERNED_STRINGS.size() < MAX_INTERNED)
+            INTERNED_STRINGS.putIfAbsent(versionString, canonical);
+        return canonical;
     }
 
     /**
@@ -125,17 +193,20 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
     }
 
     /**
-     * Gets any additional version points if present.
+     * Gets any additional version points if present. Versions are shared, so this returns a copy.
      *
      * @return The additional version points or an empty array if none.
      */
     @Nonnull
     public int[] getOthers() {
-        return others;
+        return others.length == 0 ? others : others.clone();
     }
 
     @Override
     public int compareTo(@Nonnull SemanticVersion o) {
+        if (packed >= 0 && o.packed >= 0)
+            return Long.compare(packed, o.packed);
+
         int currResult = Integer.compare(major, o.major);
         if (currResult == 0) {
             currResult = Integer.compare(minor, o.minor);
@@ -163,6 +234,8 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
             return false;
         }
         SemanticVersion that = (SemanticVersion) o;
+        if (packed >= 0 || that.packed >= 0)
+            return packed == that.packed;
         return major == that.major &&
                 minor == that.minor &&
                 patch == that.patch &&
@@ -171,7 +244,7 @@ public class SemanticVersion implements Comparable<SemanticVersion> {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(major, minor, patch);
+        int result = 31 * (31 * (31 + major) + minor) + patch; // Same as Objects.hash(major, minor, patch)
         result = 31 * result + Arrays.hashCode(others);
         return result;
     }
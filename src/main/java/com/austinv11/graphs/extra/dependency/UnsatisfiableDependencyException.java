@@ -0,0 +1,15 @@
+package com.austinv11.graphs.extra.dependency;
+
+/**
+ * Thrown when no combination of dependency versions satisfies every version requirement.
+ *
+ * @see com.austinv11.graphs.extra.dependency.ConstraintSolver
+ */
+public class UnsatisfiableDependencyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnsatisfiableDependencyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,262 @@
+package com.austinv11.graphs.extra.dependency;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * This represents a contiguous range of {@link com.austinv11.graphs.extra.dependency.SemanticVersion}s, with each
+ * bound being either inclusive, exclusive or absent (unbounded).
+ *
+ * @see #parse(String)
+ */
+public class VersionRange {
+
+    private static final VersionRange ANY = new VersionRange(null, false, null, false);
+
+    private final @Nullable SemanticVersion lower, upper;
+    private final boolean lowerInclusive, upperInclusive;
+
+    public VersionRange(@Nullable SemanticVersion lower, boolean lowerInclusive,
+                        @Nullable SemanticVersion upper, boolean upperInclusive) {
+        this.lower = lower;
+        this.lowerInclusive = lower != null && lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upper != null && upperInclusive;
+    }
+
+    /**
+     * Gets the range containing every version.
+     *
+     * @return The unbounded range.
+     */
+    @Nonnull
+    public static VersionRange any() {
+        return ANY;
+    }
+
+    /**
+     * Gets the range containing a version and everything higher.
+     *
+     * @param version The minimum version.
+     * @return The range.
+     */
+    @Nonnull
+    public static VersionRange atLeast(@Nonnull SemanticVersion version) {
+        return version.isNone() ? ANY : new VersionRange(version, true, null, false);
+    }
+
+    /**
+     * Gets the range containing only versions matching the given one.
+     *
+     * @param version The version.
+     * @return The range.
+     */
+    @Nonnull
+    public static VersionRange exactly(@Nonnull SemanticVersion version) {
+        return new VersionRange(version, true, version, true);
+    }
+
+    /**
+     * Gets the range from an inclusive lower bound to an exclusive upper bound.
+     *
+     * @param lower The minimum version.
+     * @param upper The first version which is too high.
+     * @return The range.
+     */
+    @Nonnull
+    public static VersionRange between(@Nonnull SemanticVersion lower, @Nonnull SemanticVersion upper) {
+        return new VersionRange(lower, true, upper, false);
+    }
+
+    /**
+     * Parses a range expression. The expression is a whitespace separated list of constraints which must all hold:
+     * <ul>
+     *     <li>{@code *} matches any version.</li>
+     *     <li>{@code >=1.2}, {@code >1.2}, {@code <=1.2} and {@code <1.2} are bounds.</li>
+     *     <li>{@code 1.2} or {@code =1.2} matches exactly.</li>
+     *     <li>{@code ^1.2.3} allows changes which do not modify the left-most non-zero component
+     *     ({@code >=1.2.3 <2.0.0}).</li>
+     *     <li>{@code ~1.2.3} allows patch level changes ({@code >=1.2.3 <1.3.0}).</li>
+     * </ul>
+     *
+     * @param expression The range expression.
+     * @return The parsed range (which may be empty).
+     */
+    @Nonnull
+    public static VersionRange parse(@Nonnull String expression) {
+        VersionRange range = ANY;
+        for (String constraint : expression.trim().split("\\s+")) {
+            if (!constraint.isEmpty())
+                range = range.intersect(parseConstraint(constraint));
+        }
+        return range;
+    }
+
+    private static VersionRange parseConstraint(String constraint) {
+        if (constraint.equals("*"))
+            return ANY;
+        if (constraint.startsWith(">="))
+            return new VersionRange(SemanticVersion.of(constraint.substring(2)), true, null, false);
+        if (constraint.startsWith("<="))
+            return new VersionRange(null, false, SemanticVersion.of(constraint.substring(2)), true);
+        if (constraint.startsWith(">"))
+            return new VersionRange(SemanticVersion.of(constraint.substring(1)), false, null, false);
+        if (constraint.startsWith("<"))
+            return new VersionRange(null, false, SemanticVersion.of(constraint.substring(1)), false);
+        if (constraint.startsWith("="))
+            return exactly(SemanticVersion.of(constraint.substring(1)));
+
+        if (constraint.startsWith("^")) {
+            SemanticVersion version = SemanticVersion.of(constraint.substring(1));
+            SemanticVersion upper;
+            if (version.getMajor() != 0) {
+                upper = SemanticVersion.of((version.getMajor() + 1) + ".0.0");
+            } else if (version.getMinor() != 0) {
+                upper = SemanticVersion.of("0." + (version.getMinor() + 1) + ".0");
+            } else {
+                upper = SemanticVersion.of("0.0." + (version.getPatch() + 1));
+            }
+            return between(version, upper);
+        }
+        if (constraint.startsWith("~")) {
+            SemanticVersion version = SemanticVersion.of(constraint.substring(1));
+            return between(version, SemanticVersion.of(version.getMajor() + "." + (version.getMinor() + 1) + ".0"));
+        }
+
+        return exactly(SemanticVersion.of(constraint));
+    }
+
+    /**
+     * Gets the lower bound.
+     *
+     * @return The lower bound or null if unbounded.
+     */
+    @Nullable
+    public SemanticVersion getLower() {
+        return lower;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Gets the upper bound.
+     *
+     * @return The upper bound or null if unbounded.
+     */
+    @Nullable
+    public SemanticVersion getUpper() {
+        return upper;
+    }
+
+    public boolean isUpperInclusive() {
+        return upperInclusive;
+    }
+
+    /**
+     * Checks if a version falls within this range.
+     *
+     * @param version The version.
+     * @return True if the version is within the range, false if otherwise.
+     */
+    public boolean contains(@Nonnull SemanticVersion version) {
+        if (lower != null) {
+            int comparison = version.compareTo(lower);
+            if (comparison < 0 || (comparison == 0 && !lowerInclusive))
+                return false;
+        }
+        if (upper != null) {
+            int comparison = version.compareTo(upper);
+            if (comparison > 0 || (comparison == 0 && !upperInclusive))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if no version can fall within this range.
+     *
+     * @return True if the range is empty.
+     */
+    public boolean isEmpty() {
+        if (lower == null || upper == null)
+            return false;
+
+        int comparison = lower.compareTo(upper);
+        return comparison > 0 || (comparison == 0 && !(lowerInclusive && upperInclusive));
+    }
+
+    /**
+     * Gets the range of versions contained by both this range and another.
+     *
+     * @param other The other range.
+     * @return The intersection (which may be empty).
+     */
+    @Nonnull
+    public VersionRange intersect(@Nonnull VersionRange other) {
+        SemanticVersion newLower = lower;
+        boolean newLowerInclusive = lowerInclusive;
+        if (other.lower != null) {
+            int comparison = lower == null ? -1 : lower.compareTo(other.lower);
+            if (comparison < 0 || (comparison == 0 && !other.lowerInclusive)) {
+                newLower = other.lower;
+                newLowerInclusive = other.lowerInclusive;
+            }
+        }
+
+        SemanticVersion newUpper = upper;
+        boolean newUpperInclusive = upperInclusive;
+        if (other.upper != null) {
+            int comparison = upper == null ? 1 : upper.compareTo(other.upper);
+            if (comparison > 0 || (comparison == 0 && !other.upperInclusive)) {
+                newUpper = other.upper;
+                newUpperInclusive = other.upperInclusive;
+            }
+        }
+
+        if (newLower == lower && newLowerInclusive == lowerInclusive
+                && newUpper == upper && newUpperInclusive == upperInclusive)
+            return this;
+        return new VersionRange(newLower, newLowerInclusive, newUpper, newUpperInclusive);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VersionRange)) {
+            return false;
+        }
+        VersionRange that = (VersionRange) o;
+        return lowerInclusive == that.lowerInclusive &&
+                upperInclusive == that.upperInclusive &&
+                Objects.equals(lower, that.lower) &&
+                Objects.equals(upper, that.upper);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lower, upper, lowerInclusive, upperInclusive);
+    }
+
+    @Override
+    public String toString() {
+        if (lower == null && upper == null)
+            return "*";
+        if (lower != null && lowerInclusive && upperInclusive && lower.equals(upper))
+            return "=" + lower;
+
+        StringBuilder builder = new StringBuilder();
+        if (lower != null)
+            builder.append(lowerInclusive ? ">=" : ">").append(lower);
+        if (upper != null) {
+            if (builder.length() > 0)
+                builder.append(' ');
+            builder.append(upperInclusive ? "<=" : "<").append(upper);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.austinv11.graphs.generate;
+
+import javax.annotation.Nonnull;
+import java.util.SplittableRandom;
+
+/**
+ * This implements the Barabasi-Albert preferential attachment model, where vertices are added one at a time and each
+ * connects m edges to existing vertices chosen with probability proportional to their degree. This produces the
+ * power law degree distribution seen in many real networks. Edges point from the newer to the older vertex.
+ *
+ * The model is inherently sequential, so this uses the formulation of Sanders and Schulz: the edges are laid out as
+ * a list of endpoints where a target picks a uniformly random earlier endpoint, and each pick is derived from a hash
+ * of the seed and its position instead of a shared random. Any edge can then be resolved independently by following
+ * its picks backwards, which makes generation embarrassingly parallel. Loops are rejected by picking again, parallel
+ * edges are possible.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Barab%C3%A1si%E2%80%93Albert_model">Wikipedia page</a>
+ * @see <a href="https://arxiv.org/abs/1608.00206">Scalable Generation of Scale-free Graphs</a>
+ */
+public class BarabasiAlbertGenerator extends GraphGenerator {
+
+    private static final int MAX_ATTEMPTS = 64;
+
+    private final int edgesPerVertex;
+
+    /**
+     * @param vertexCount The number of vertices.
+     * @param edgesPerVertex The number of edges every vertex but the first adds (m).
+     */
+    public BarabasiAlbertGenerator(int vertexCount, int edgesPerVertex) {
+        super(vertexCount);
+        if (edgesPerVertex <= 0)
+            throw new IllegalArgumentException("Every vertex must add at least one edge");
+        this.edgesPerVertex = edgesPerVertex;
+    }
+
+    @Override
+    protected long slots() {
+        return vertexCount < 2 ? 0 : (long) edgesPerVertex * (vertexCount - 1);
+    }
+
+    @Override
+    protected void generate(long from, long to, @Nonnull SplittableRandom random, @Nonnull EdgeSink sink) {
+        for (long edge = from; edge < to; edge++) {
+            sink.edge(source(edge), target(edge));
+        }
+    }
+
+    // Endpoint positions 0 and 1 are a virtual seed edge on vertex 0, edge i is at positions 2i + 2 and 2i + 3
+
+    private int source(long edge) {
+        return (int) (1 + edge / edgesPerVertex);
+    }
+
+    private int target(long edge) {
+        int source = source(edge);
+        int target = 0;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long position = 2 * edge + 3;
+            target = resolve(Long.remainderUnsigned(hash(edge, attempt), position - 1));
+            if (target != source)
+                break;
+        }
+        return target;
+    }
+
+    private int resolve(long position) {
+        if (position < 2)
+            return 0;
+        if ((position & 1) == 0)
+            return source((position - 2) / 2);
+        return target((position - 3) / 2);
+    }
+
+    // The SplitMix64 finalizer over the seed, edge and attempt
+    private long hash(long edge, int attempt) {
+        long h = getSeed() + edge * 0x9E3779B97F4A7C15L + attempt * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
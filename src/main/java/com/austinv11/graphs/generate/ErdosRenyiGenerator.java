@@ -0,0 +1,40 @@
+package com.austinv11.graphs.generate;
+
+import javax.annotation.Nonnull;
+import java.util.SplittableRandom;
+
+/**
+ * This implements the Erdos-Renyi G(n, m) model, where each of the m edges connects two distinct vertices chosen
+ * uniformly at random. Edges are drawn independently so parallel edges are possible, but rare for sparse graphs.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Erd%C5%91s%E2%80%93R%C3%A9nyi_model">Wikipedia page</a>
+ */
+public class ErdosRenyiGenerator extends GraphGenerator {
+
+    private final long edgeCount;
+
+    /**
+     * @param vertexCount The number of vertices (n), at least 2 unless there are no edges.
+     * @param edgeCount The number of edges (m).
+     */
+    public ErdosRenyiGenerator(int vertexCount, long edgeCount) {
+        super(vertexCount);
+        if (edgeCount < 0 || (edgeCount > 0 && vertexCount < 2))
+            throw new IllegalArgumentException("Cannot place " + edgeCount + " edges on " + vertexCount + " vertices");
+        this.edgeCount = edgeCount;
+    }
+
+    @Override
+    protected long slots() {
+        return edgeCount;
+    }
+
+    @Override
+    protected void generate(long from, long to, @Nonnull SplittableRandom random, @Nonnull EdgeSink sink) {
+        for (long slot = from; slot < to; slot++) {
+            int first = random.nextInt(vertexCount);
+            int second = random.nextInt(vertexCount - 1);
+            sink.edge(first, second >= first ? second + 1 : second); // Skips over the first vertex to avoid loops
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.austinv11.graphs.generate;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import com.austinv11.graphs.io.EdgeFactory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * The base of the synthetic graph generators. A generator describes a random graph model over the vertices
+ * 0..n-1 and produces its edges in independent chunks, each with its own {@link java.util.SplittableRandom} split off
+ * a root seeded by {@link #setSeed(long)}. Chunks are generated in parallel and in waves (so only a bounded number of
+ * edges is held in memory) which are fed to {@link com.austinv11.graphs.Graph#addEdges(java.util.Collection)} in
+ * order, so the same seed always produces the same graph regardless of the pool or its scheduling.
+ *
+ * Note that generation is rarely the bottleneck, the backing graph is. For graphs with hundreds of millions of edges
+ * an {@link com.austinv11.graphs.impl.OffHeapGraph} is a better target than a
+ * {@link com.austinv11.graphs.impl.SimpleGraph}.
+ */
+public abstract class GraphGenerator {
+
+    /**
+     * Receives generated edges as pairs of vertex indices.
+     */
+    @FunctionalInterface
+    protected interface EdgeSink {
+
+        void edge(int first, int second);
+    }
+
+    protected final int vertexCount;
+
+    private long seed = 0;
+    private boolean directed = false;
+    private double minWeight = 1, maxWeight = 1;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int chunkSize = 1 << 16;
+
+    protected GraphGenerator(int vertexCount) {
+        if (vertexCount < 0)
+            throw new IllegalArgumentException("Negative vertex count");
+        this.vertexCount = vertexCount;
+    }
+
+    /**
+     * Sets the seed, generators with equal settings and seeds produce identical graphs.
+     *
+     * @param seed The seed (default is 0).
+     * @return Same generator instance for chaining.
+     */
+    public GraphGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets whether generated edges are directed.
+     *
+     * @param directed Whether edges are directed (default is false).
+     * @return Same generator instance for chaining.
+     */
+    public GraphGenerator setDirected(boolean directed) {
+        this.directed = directed;
+        return this;
+    }
+
+    /**
+     * Makes generated edges weighted, with weights drawn uniformly from a range.
+     *
+     * @param minWeight The minimum weight (inclusive).
+     * @param maxWeight The maximum weight (exclusive, unless equal to the minimum). The default range is [1, 1].
+     * @return Same generator instance for chaining.
+     */
+    public GraphGenerator setWeights(double minWeight, double maxWeight) {
+        if (maxWeight < minWeight)
+            throw new IllegalArgumentException("Empty weight range");
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        return this;
+    }
+
+    /**
+     * Sets the pool chunks are generated on.
+     *
+     * @param pool The pool (default is the common pool).
+     * @return Same generator instance for chaining.
+     */
+    public GraphGenerator setPool(@Nonnull ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Sets how many edges are generated per chunk.
+     *
+     * @param chunkSize The chunk size (default is 65536).
+     * @return Same generator instance for chaining.
+     */
+    public GraphGenerator setChunkSize(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    protected long getSeed() {
+        return seed;
+    }
+
+    protected boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Gets the number of edge slots, each generates at most one edge.
+     *
+     * @return The number of edge slots.
+     */
+    protected abstract long slots();
+
+    /**
+     * Generates the edges of a range of slots. This must only depend on the slots and the random passed.
+     *
+     * @param from The first slot (inclusive).
+     * @param to The last slot (exclusive).
+     * @param random The random for this range.
+     * @param sink The sink to pass edges to.
+     */
+    protected abstract void generate(long from, long to, @Nonnull SplittableRandom random, @Nonnull EdgeSink sink);
+
+    /**
+     * Generates a {@link com.austinv11.graphs.impl.SimpleGraph} holding the vertex indices as values.
+     *
+     * @return The generated graph.
+     */
+    @Nonnull
+    public SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> generate() {
+        return generate(SimpleGraph::new, SimpleVertex::new, EdgeFactory.simple());
+    }
+
+    /**
+     * Generates a graph.
+     *
+     * @param graphSupplier Supplies the (empty) graph to generate into.
+     * @param vertexFactory Creates the vertex for a vertex index.
+     * @param edgeFactory Creates edges.
+     * @return The generated graph.
+     */
+    @Nonnull
+    public <T, V extends Vertex<T>, E extends Edge<T, V>, G extends Graph<T, V, E>> G generate(
+            @Nonnull Supplier<G> graphSupplier, @Nonnull IntFunction<V> vertexFactory,
+            @Nonnull EdgeFactory<T, V, E> edgeFactory) {
+        G graph = graphSupplier.get();
+        List<V> vertices = vertices(vertexFactory);
+        for (int i = 0; i < vertices.size(); i++) {
+            graph.addVertex(vertices.get(i));
+            V stored = graph.findVertex(vertices.get(i).get()); // Graphs may hand out their own (cheaper) instances
+            if (stored != null)
+                vertices.set(i, stored);
+        }
+        generate(vertices, edgeFactory, graph::addEdges);
+        return graph;
+    }
+
+    /**
+     * Generates just the edges, in a list.
+     *
+     * @param vertices The vertices, by index.
+     * @param edgeFactory Creates edges.
+     * @return The generated edges.
+     */
+    @Nonnull
+    public <T, V extends Vertex<T>, E extends Edge<T, V>> List<E> generateEdges(@Nonnull List<V> vertices,
+                                                                               @Nonnull EdgeFactory<T, V, E>
+                                                                                       edgeFactory) {
+        List<E> edges = new ArrayList<>();
+        generate(vertices, edgeFactory, edges::addAll);
+        return edges;
+    }
+
+    /**
+     * Creates the vertices for every vertex index.
+     *
+     * @param vertexFactory Creates the vertex for a vertex index.
+     * @return The vertices, by index.
+     */
+    @Nonnull
+    public <V> List<V> vertices(@Nonnull IntFunction<V> vertexFactory) {
+        List<V> vertices = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            vertices.add(vertexFactory.apply(i));
+        }
+        return vertices;
+    }
+
+    private <T, V extends Vertex<T>, E extends Edge<T, V>> void generate(List<V> vertices,
+                                                                        EdgeFactory<T, V, E> edgeFactory,
+                                                                        Consumer<List<E>> consumer) {
+        if (vertices.size() != vertexCount)
+            throw new IllegalArgumentException("Expected " + vertexCount + " vertices");
+
+        long slots = slots();
+        int chunks = (int) ((slots + chunkSize - 1) / chunkSize);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            randoms[i] = root.split(); // Split sequentially so every chunk always gets the same stream
+        }
+
+        int wave = Math.max(1, pool.getParallelism() * 2);
+        for (int start = 0; start < chunks; start += wave) {
+            List<ForkJoinTask<List<E>>> tasks = new ArrayList<>();
+            for (int chunk = start; chunk < Math.min(chunks, start + wave); chunk++) {
+                long from = (long) chunk * chunkSize, to = Math.min(slots, from + chunkSize);
+                SplittableRandom random = randoms[chunk];
+                tasks.add(pool.submit(() -> chunk(from, to, random, vertices, edgeFactory)));
+            }
+            for (ForkJoinTask<List<E>> task : tasks) {
+                try {
+                    consumer.accept(task.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while generating", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException)
+                        throw (RuntimeException) e.getCause();
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    private <T, V extends Vertex<T>, E extends Edge<T, V>> List<E> chunk(long from, long to, SplittableRandom random,
+                                                                        List<V> vertices,
+                                                                        EdgeFactory<T, V, E> edgeFactory) {
+        List<E> edges = new ArrayList<>((int) (to - from));
+        boolean directed = isDirected();
+        generate(from, to, random, (first, second) -> {
+            double weight = minWeight == maxWeight ? minWeight
+                    : minWeight + random.nextDouble() * (maxWeight - minWeight);
+            edges.add(edgeFactory.create(vertices.get(first), vertices.get(second), weight, directed));
+        });
+        return edges;
+    }
+}
@@ -0,0 +1,45 @@
+package com.austinv11.graphs.generate;
+
+import javax.annotation.Nonnull;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a two dimensional grid (lattice) graph, where vertex {@code row * columns + column} is connected to its
+ * right and lower neighbours. Directed edges therefore point right and down, which makes the graph acyclic.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Lattice_graph">Wikipedia page</a>
+ */
+public class GridGenerator extends GraphGenerator {
+
+    private final int rows, columns;
+
+    public GridGenerator(int rows, int columns) {
+        super(checkSize(rows, columns));
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    private static int checkSize(int rows, int columns) {
+        if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid grid size " + rows + "x" + columns);
+        return rows * columns;
+    }
+
+    @Override
+    protected long slots() {
+        return 2L * rows * columns;
+    }
+
+    @Override
+    protected void generate(long from, long to, @Nonnull SplittableRandom random, @Nonnull EdgeSink sink) {
+        for (long slot = from; slot < to; slot++) {
+            int cell = (int) (slot >>> 1);
+            if ((slot & 1) == 0) {
+                if (cell % columns != columns - 1)
+                    sink.edge(cell, cell + 1);
+            } else if (cell / columns != rows - 1) {
+                sink.edge(cell, cell + columns);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.austinv11.graphs.generate;
+
+import javax.annotation.Nonnull;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a random directed acyclic graph. A random topological order of the vertices is drawn first, then each
+ * edge connects two distinct vertices chosen uniformly at random and points from the one earlier in that order to the
+ * later one. Edges are always directed, parallel edges are possible.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Directed_acyclic_graph">Wikipedia page</a>
+ */
+public class RandomDagGenerator extends GraphGenerator {
+
+    private final long edgeCount;
+    private int[] order;
+    private long orderSeed;
+
+    /**
+     * @param vertexCount The number of vertices, at least 2 unless there are no edges.
+     * @param edgeCount The number of edges.
+     */
+    public RandomDagGenerator(int vertexCount, long edgeCount) {
+        super(vertexCount);
+        if (edgeCount < 0 || (edgeCount > 0 && vertexCount < 2))
+            throw new IllegalArgumentException("Cannot place " + edgeCount + " edges on " + vertexCount + " vertices");
+        this.edgeCount = edgeCount;
+    }
+
+    @Override
+    protected boolean isDirected() {
+        return true;
+    }
+
+    // The topological order, a Fisher-Yates shuffle drawn from the seed
+    private synchronized int[] order() {
+        if (order == null || orderSeed != getSeed()) {
+            SplittableRandom random = new SplittableRandom(~getSeed());
+            int[] shuffled = new int[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                int j = random.nextInt(i + 1);
+                shuffled[i] = shuffled[j];
+                shuffled[j] = i;
+            }
+            order = shuffled;
+            orderSeed = getSeed();
+        }
+        return order;
+    }
+
+    @Override
+    protected long slots() {
+        return edgeCount;
+    }
+
+    @Override
+    protected void generate(long from, long to, @Nonnull SplittableRandom random, @Nonnull EdgeSink sink) {
+        int[] order = order();
+        for (long slot = from; slot < to; slot++) {
+            int first = random.nextInt(vertexCount);
+            int second = random.nextInt(vertexCount - 1);
+            if (second >= first)
+                second++;
+            sink.edge(order[Math.min(first, second)], order[Math.max(first, second)]);
+        }
+    }
+}
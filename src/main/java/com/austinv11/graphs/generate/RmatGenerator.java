@@ -0,0 +1,79 @@
+package com.austinv11.graphs.generate;
+
+import javax.annotation.Nonnull;
+import java.util.SplittableRandom;
+
+/**
+ * This implements the recursive matrix (R-MAT) model, which places every edge by recursively descending into one of
+ * the four quadrants of the adjacency matrix with probabilities a, b, c and d. Skewed probabilities produce the power
+ * law degrees and community structure of real networks, the defaults are the ones used by the Graph500 benchmark.
+ * The vertex count is always a power of two. Loops and parallel edges are possible.
+ *
+ * @see <a href="https://doi.org/10.1137/1.9781611972740.43">R-MAT: A Recursive Model for Graph Mining</a>
+ */
+public class RmatGenerator extends GraphGenerator {
+
+    private final int scale;
+    private final long edgeCount;
+    private double a = 0.57, b = 0.19, c = 0.19;
+
+    /**
+     * @param scale The base two logarithm of the vertex count, at most 30.
+     * @param edgeCount The number of edges.
+     */
+    public RmatGenerator(int scale, long edgeCount) {
+        super(checkScale(scale));
+        if (edgeCount < 0)
+            throw new IllegalArgumentException("Negative edge count");
+        this.scale = scale;
+        this.edgeCount = edgeCount;
+    }
+
+    private static int checkScale(int scale) {
+        if (scale < 0 || scale > 30)
+            throw new IllegalArgumentException("Scale must be between 0 and 30");
+        return 1 << scale;
+    }
+
+    /**
+     * Sets the quadrant probabilities, d is the remainder.
+     *
+     * @param a The probability of the top left quadrant (default is 0.57).
+     * @param b The probability of the top right quadrant (default is 0.19).
+     * @param c The probability of the bottom left quadrant (default is 0.19).
+     * @return Same generator instance for chaining.
+     */
+    public RmatGenerator setProbabilities(double a, double b, double c) {
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1)
+            throw new IllegalArgumentException("Invalid quadrant probabilities");
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        return this;
+    }
+
+    @Override
+    protected long slots() {
+        return edgeCount;
+    }
+
+    @Override
+    protected void generate(long from, long to, @Nonnull SplittableRandom random, @Nonnull EdgeSink sink) {
+        double ab = a + b, abc = a + b + c;
+        for (long slot = from; slot < to; slot++) {
+            int first = 0, second = 0;
+            for (int bit = scale - 1; bit >= 0; bit--) {
+                double p = random.nextDouble();
+                if (p >= abc) {
+                    first |= 1 << bit;
+                    second |= 1 << bit;
+                } else if (p >= ab) {
+                    first |= 1 << bit;
+                } else if (p >= a) {
+                    second |= 1 << bit;
+                }
+            }
+            sink.edge(first, second);
+        }
+    }
+}
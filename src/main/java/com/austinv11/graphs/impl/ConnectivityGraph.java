@@ -0,0 +1,189 @@
+package com.austinv11.graphs.impl;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.util.DisjointSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * This is a {@link com.austinv11.graphs.Graph} wrapper which maintains an index of the weakly connected components of
+ * a backing graph. Unlike {@link com.austinv11.graphs.Graph#areConnected(Vertex, Vertex)} (which only checks for a
+ * direct edge), {@link #isReachable(Vertex, Vertex)} answers whether any path exists between two vertices when edge
+ * direction is ignored.
+ *
+ * The index is a {@link com.austinv11.graphs.util.DisjointSet} which is kept up to date incrementally as vertices and
+ * edges are added, so queries are effectively O(1). Union-find cannot split sets, so removing a vertex or edge marks the
+ * index stale and it is lazily rebuilt in O(|E| + |V|) on the next query.
+ *
+ * Note that mutations applied directly to the backing graph bypass this wrapper, call {@link #invalidate()} if that
+ * happens.
+ */
+public class ConnectivityGraph<T, V extends Vertex<T>, E extends Edge<T,V>> extends DelegatingGraph<T, V, E> {
+
+    private final DisjointSet<V> components = new DisjointSet<>();
+    private boolean stale = true;
+
+    public ConnectivityGraph(@Nonnull Graph<T, V, E> backing) {
+        super(backing);
+    }
+
+    /**
+     * Checks if a path exists between two vertices, ignoring edge direction.
+     *
+     * @param vert1 The first vertex.
+     * @param vert2 The second vertex.
+     * @return True if both vertices are in the same weakly connected component, false if otherwise.
+     */
+    public synchronized boolean isReachable(@Nonnull V vert1, @Nonnull V vert2) {
+        ensureIndexed();
+        return vert1.equals(vert2) ? components.contains(vert1) : components.sameSet(vert1, vert2);
+    }
+
+    /**
+     * Checks if a path exists between two values, ignoring edge direction.
+     *
+     * @param obj1 The first value.
+     * @param obj2 The second value.
+     * @return True if both values are in the same weakly connected component, false if otherwise.
+     */
+    public boolean isReachable(@Nullable T obj1, @Nullable T obj2) {
+        V vert1 = findVertex(obj1);
+        V vert2 = findVertex(obj2);
+
+        if (vert1 == null || vert2 == null)
+            return false;
+
+        return isReachable(vert1, vert2);
+    }
+
+    /**
+     * Gets the weakly connected component containing a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The vertices in its component, or an empty set if the vertex is not in the graph.
+     */
+    @Nonnull
+    public synchronized Set<V> getComponent(@Nonnull V vertex) {
+        ensureIndexed();
+        return components.setOf(vertex);
+    }
+
+    /**
+     * Gets all the weakly connected components of the graph.
+     *
+     * @return The components.
+     */
+    @Nonnull
+    public synchronized Collection<Set<V>> components() {
+        ensureIndexed();
+        return components.sets();
+    }
+
+    /**
+     * Gets the number of weakly connected components in the graph.
+     *
+     * @return The component count.
+     */
+    public synchronized int getComponentCount() {
+        ensureIndexed();
+        return components.setCount();
+    }
+
+    /**
+     * Marks the index as stale, forcing it to be rebuilt on the next query.
+     */
+    public synchronized void invalidate() {
+        stale = true;
+    }
+
+    private void ensureIndexed() {
+        if (!stale)
+            return;
+
+        components.clear();
+        for (V v : backing.vertices()) {
+            components.add(v);
+        }
+        for (E e : backing.edges()) {
+            components.union(e.getFirstVertex(), e.getSecondVertex());
+        }
+        stale = false;
+    }
+
+    @Override
+    public synchronized void addVertex(@Nonnull V vertex) {
+        backing.addVertex(vertex);
+        if (!stale)
+            components.add(vertex);
+    }
+
+    @Override
+    public synchronized void removeVertex(@Nonnull V vertex) {
+        backing.removeVertex(vertex);
+        stale = true;
+    }
+
+    @Override
+    public synchronized void replaceVertex(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire) {
+        backing.replaceVertex(original, replacement, rewire);
+        stale = true;
+    }
+
+    @Override
+    public synchronized void addEdge(@Nonnull E edge) {
+        backing.addEdge(edge);
+        if (!stale)
+            components.union(edge.getFirstVertex(), edge.getSecondVertex());
+    }
+
+    @Override
+    public synchronized void addEdges(@Nonnull Collection<? extends E> edges) {
+        backing.addEdges(edges);
+        if (!stale) {
+            for (E edge : edges) {
+                components.union(edge.getFirstVertex(), edge.getSecondVertex());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void removeEdge(@Nonnull E edge) {
+        backing.removeEdge(edge);
+        stale = true;
+    }
+
+    @Override
+    public synchronized void clear() {
+        backing.clear();
+        components.clear();
+        stale = false;
+    }
+
+    @Override
+    @Nonnull
+    public ConnectivityGraph<T, V, E> copy() {
+        return new ConnectivityGraph<>(backing.copy());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConnectivityGraph)) {
+            return false;
+        }
+        ConnectivityGraph<?, ?, ?> that = (ConnectivityGraph<?, ?, ?>) o;
+        return Objects.equals(backing, that.backing);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(backing);
+    }
+}
@@ -0,0 +1,239 @@
+package com.austinv11.graphs.impl;
+
+import com.austinv11.graphs.*;
+import com.austinv11.graphs.event.GraphEvents;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A base for {@link com.austinv11.graphs.Graph} wrappers which forwards every operation to a backing graph.
+ * Subclasses only need to override the operations they wish to intercept.
+ */
+public abstract class DelegatingGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements Graph<T, V, E> {
+
+    protected final Graph<T, V, E> backing;
+
+    protected DelegatingGraph(@Nonnull Graph<T, V, E> backing) {
+        this.backing = backing;
+    }
+
+    /**
+     * Gets the graph this wrapper forwards to.
+     *
+     * @return The backing graph.
+     */
+    @Nonnull
+    public Graph<T, V, E> getBacking() {
+        return backing;
+    }
+
+    @Override
+    @Nonnull
+    public TraversalStrategy<T, V, E, Graph<T, V, E>> defaultTraversalStrategy() {
+        return backing.defaultTraversalStrategy();
+    }
+
+    @Override
+    @Nonnull
+    public SortStrategy<T, V, E, Graph<T, V, E>> defaultSortStrategy() {
+        return backing.defaultSortStrategy();
+    }
+
+    @Override
+    @Nonnull
+    public PathfindStrategy<T, V, E, Graph<T, V, E>> defaultPathfindStrategy() {
+        return backing.defaultPathfindStrategy();
+    }
+
+    @Override
+    @Nonnull
+    public Collection<V> vertices() {
+        return backing.vertices();
+    }
+
+    @Override
+    @Nonnull
+    public Collection<V> vertices(@Nonnull TraversalStrategy<T, V, E, Graph<T, V, E>> strategy) {
+        return backing.vertices(strategy);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<E> edges() {
+        return backing.edges();
+    }
+
+    @Override
+    @Nonnull
+    public Collection<E> edges(@Nonnull TraversalStrategy<T, V, E, Graph<T, V, E>> strategy) {
+        return backing.edges(strategy);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<T> values() {
+        return backing.values();
+    }
+
+    @Override
+    @Nonnull
+    public Collection<T> values(@Nonnull TraversalStrategy<T, V, E, Graph<T, V, E>> strategy) {
+        return backing.values(strategy);
+    }
+
+    @Override
+    @Nullable
+    public V findVertex(@Nullable T obj) {
+        return backing.findVertex(obj);
+    }
+
+    @Override
+    public boolean areConnected(@Nonnull V vert1, @Nonnull V vert2) {
+        return backing.areConnected(vert1, vert2);
+    }
+
+    @Override
+    public boolean areConnected(@Nullable T obj1, @Nullable T obj2) {
+        return backing.areConnected(obj1, obj2);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<E> getConnections(@Nonnull V vert1, @Nonnull V vert2) {
+        return backing.getConnections(vert1, vert2);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<E> getConnections(@Nonnull T obj1, @Nonnull T obj2) {
+        return backing.getConnections(obj1, obj2);
+    }
+
+    @Override
+    @Nonnull
+    public List<V> sortVertices(@Nonnull SortStrategy<T, V, E, Graph<T, V, E>> strategy) {
+        return backing.sortVertices(strategy);
+    }
+
+    @Override
+    @Nonnull
+    public List<V> sortVertices() {
+        return backing.sortVertices();
+    }
+
+    @Override
+    @Nonnull
+    public List<E> pathfind(@Nonnull V vert1, @Nonnull V vert2, @Nonnull PathfindStrategy<T, V, E, Graph<T, V, E>>
+            strategy) {
+        return backing.pathfind(vert1, vert2, strategy);
+    }
+
+    @Override
+    @Nonnull
+    public List<E> pathfind(@Nullable T obj1, @Nullable T obj2, @Nonnull PathfindStrategy<T, V, E, Graph<T, V, E>>
+            strategy) {
+        return backing.pathfind(obj1, obj2, strategy);
+    }
+
+    @Override
+    @Nonnull
+    public List<E> pathfind(@Nonnull V vert1, @Nonnull V vert2) {
+        return backing.pathfind(vert1, vert2);
+    }
+
+    @Override
+    @Nonnull
+    public List<E> pathfind(@Nullable T obj1, @Nullable T obj2) {
+        return backing.pathfind(obj1, obj2);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<E> getConnectedEdges(@Nonnull V vertex) {
+        return backing.getConnectedEdges(vertex);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<E> getOutwardEdges(@Nonnull V vertex) {
+        return backing.getOutwardEdges(vertex);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<E> getInwardEdges(@Nonnull V vertex) {
+        return backing.getInwardEdges(vertex);
+    }
+
+    @Override
+    public void addVertex(@Nonnull V vertex) {
+        backing.addVertex(vertex);
+    }
+
+    @Override
+    public void removeVertex(@Nonnull V vertex) {
+        backing.removeVertex(vertex);
+    }
+
+    @Override
+    public void replaceVertex(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire) {
+        backing.replaceVertex(original, replacement, rewire);
+    }
+
+    @Override
+    public void addEdge(@Nonnull E edge) {
+        backing.addEdge(edge);
+    }
+
+    @Override
+    public void addEdges(@Nonnull Collection<? extends E> edges) {
+        backing.addEdges(edges);
+    }
+
+    @Override
+    public void removeEdge(@Nonnull E edge) {
+        backing.removeEdge(edge);
+    }
+
+    @Override
+    public void setEdgeWeight(@Nonnull E edge, double weight) {
+        backing.setEdgeWeight(edge, weight);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return backing.getVertexCount();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return backing.getEdgeCount();
+    }
+
+    @Override
+    public void clear() {
+        backing.clear();
+    }
+
+    /**
+     * Gets the events of the backing graph, since every mutation of this graph is applied to it.
+     *
+     * @return The events of the backing graph.
+     */
+    @Override
+    @Nonnull
+    public GraphEvents<T, V, E> events() {
+        return backing.events();
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<T> iterator() {
+        return backing.iterator();
+    }
+}
@@ -2,21 +2,29 @@ package com.austinv11.graphs.impl;
 
 import com.austinv11.graphs.*;
 import com.austinv11.graphs.alg.ColoringCycleDetectionStrategy;
+import com.austinv11.graphs.alg.ReachabilityIndex;
+import com.austinv11.graphs.event.GraphEvents;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
+import com.austinv11.graphs.metrics.Timer;
 import com.austinv11.graphs.util.CycleException;
 import com.austinv11.graphs.util.InvalidGraphConfigurationException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Function;
 
 /**
  * This is a {@link com.austinv11.graphs.Graph} wrapper which enforces directed, acyclic properties on a
  * backing graph. This is enforced via a {@link com.austinv11.graphs.CycleDetectionStrategy} which, by default,
  * is the {@link com.austinv11.graphs.alg.ColoringCycleDetectionStrategy} implementation. This is useful to ensure
  * that certain algorithms work correctly like {@link com.austinv11.graphs.alg.TopologicalSortStrategy}.
+ *
+ * Cycle detection is O(|E| + |V|) per check, so adding many edges one by one is quadratic. To avoid this, mutations
+ * can be grouped with {@link #beginBatch()} and {@link #commit()}, which checks the whole batch for cycles once and
+ * rolls it back if one is found.
  */
 public class DirectedAcyclicGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements Graph<T, V, E> {
 
@@ -28,6 +36,13 @@ public class DirectedAcyclicGraph<T, V extends Vertex<T>, E extends Edge<T,V>> i
     private final CycleDetectionStrategy<T, V, E, Graph<T, V, E>> strategy;
 
     private boolean checkForCycles = DEFAULT_CHECK_CYCLES;
+    private volatile ReachabilityIndex<T, V, E> reachability = null;
+
+    private Deque<Runnable> journal = null; // Undo actions of the current batch, null outside of batches
+    private boolean batchAddsEdges = false;
+
+    private final Timer cycleCheckTimer = Metrics.get().timer(MetricNames.DAG_CYCLE_CHECK);
+    private final Counter cyclesRejected = Metrics.get().counter(MetricNames.DAG_CYCLES_REJECTED);
 
     public DirectedAcyclicGraph(Graph<T, V, E> backing) {
         this(backing, new ColoringCycleDetectionStrategy<>());
@@ -161,12 +176,23 @@ public class DirectedAcyclicGraph<T, V extends Vertex<T>, E extends Edge<T,V>> i
 
     @Override
     public void addVertex(@Nonnull V vertex) {
+        if (journal != null)
+            journalVertex(vertex);
         backing.addVertex(vertex);
+        invalidateReachability();
     }
 
     @Override
     public void removeVertex(@Nonnull V vertex) {
+        if (journal != null && backing.findVertex(vertex.get()) != null) {
+            Collection<E> edges = new ArrayList<>(backing.getConnectedEdges(vertex));
+            journal.push(() -> {
+                backing.addVertex(vertex);
+                backing.addEdges(edges);
+            });
+        }
         backing.removeVertex(vertex);
+        invalidateReachability();
     }
 
     @Override
@@ -174,11 +200,277 @@ public class DirectedAcyclicGraph<T, V extends Vertex<T>, E extends Edge<T,V>> i
         if (!edge.isDirected())
             throw new InvalidGraphConfigurationException("Edges must be directed!");
 
+        if (journal != null) {
+            journalEdge(edge);
+            backing.addEdge(edge);
+            invalidateReachability();
+            return;
+        }
+
         backing.addEdge(edge);
-        if (checkForCycles && strategy.findCycle(backing)) {
+        if (checkForCycles && hasCycle()) {
             backing.removeEdge(edge);
             throw new CycleException();
         }
+        invalidateReachability();
+    }
+
+    /**
+     * Adds a batch of edges, checking for cycles once for the whole batch rather than once per edge. If the batch
+     * would introduce a cycle, none of its edges are kept. Inside of a batch (see {@link #beginBatch()}) the edges
+     * are only checked on {@link #commit()}.
+     *
+     * @param edges The edges to add.
+     * @throws CycleException If the batch would introduce a cycle.
+     */
+    @Override
+    public void addEdges(@Nonnull Collection<? extends E> edges) throws CycleException {
+        for (E edge : edges) {
+            if (!edge.isDirected())
+                throw new InvalidGraphConfigurationException("Edges must be directed!");
+        }
+
+        if (journal != null) {
+            for (E edge : edges) {
+                journalEdge(edge);
+            }
+            backing.addEdges(edges);
+            invalidateReachability();
+            return;
+        }
+
+        beginBatch();
+        try {
+            addEdges(edges);
+        } catch (RuntimeException e) {
+            rollback();
+            throw e;
+        }
+        commit();
+    }
+
+    /**
+     * Replaces a vertex in place. If the replacement is not already in the graph, the rewired edges have exactly the
+     * same shape as the original ones so no cycle detection is required. Otherwise, the merged graph is checked for
+     * cycles once (or on {@link #commit()} inside of a batch) and the replacement is reverted if one is found.
+     *
+     * @param original The vertex to replace.
+     * @param replacement The vertex to replace it with.
+     * @param rewire A function which maps each edge connected to the original vertex to the equivalent edge
+     *               connected to the replacement.
+     * @throws CycleException If merging into an existing vertex would create a cycle.
+     */
+    @Override
+    public void replaceVertex(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire)
+            throws CycleException {
+        Collection<E> originalEdges = new ArrayList<>(backing.getConnectedEdges(original));
+        Map<E, E> rewired = new IdentityHashMap<>();
+        for (E edge : originalEdges) {
+            E newEdge = rewire.apply(edge);
+            if (!newEdge.isDirected())
+                throw new InvalidGraphConfigurationException("Edges must be directed!");
+            rewired.put(edge, newEdge);
+        }
+
+        boolean present = backing.vertices().contains(replacement);
+        boolean merging = !original.equals(replacement) && present;
+        Runnable undo = () -> {
+            for (E newEdge : rewired.values()) {
+                backing.removeEdge(newEdge);
+            }
+            if (!present)
+                backing.removeVertex(replacement);
+            backing.addVertex(original);
+            for (E edge : originalEdges) {
+                backing.addEdge(edge);
+            }
+        };
+        backing.replaceVertex(original, replacement, rewired::get);
+        if (journal != null) {
+            journal.push(undo);
+            batchAddsEdges |= merging;
+        } else if (merging && checkForCycles && hasCycle()) {
+            undo.run();
+            throw new CycleException();
+        }
+        invalidateReachability();
+    }
+
+    /**
+     * Enables a {@link com.austinv11.graphs.alg.ReachabilityIndex} for this graph using the default memory cap. The
+     * index is lazily rebuilt on the first {@link #isReachable(Vertex, Vertex)} call after each mutation.
+     *
+     * @see #enableReachabilityIndex(long)
+     */
+    public void enableReachabilityIndex() {
+        enableReachabilityIndex(ReachabilityIndex.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Enables a {@link com.austinv11.graphs.alg.ReachabilityIndex} for this graph. The index is lazily rebuilt on the
+     * first {@link #isReachable(Vertex, Vertex)} call after each mutation.
+     *
+     * @param maxBytes The maximum amount of memory the index should use.
+     */
+    public void enableReachabilityIndex(long maxBytes) {
+        reachability = new ReachabilityIndex<>(backing, maxBytes);
+    }
+
+    /**
+     * Disables and discards the reachability index, if any.
+     */
+    public void disableReachabilityIndex() {
+        reachability = null;
+    }
+
+    /**
+     * Checks if a directed path exists from one vertex to another. This uses the reachability index if enabled,
+     * otherwise it performs a depth first search.
+     *
+     * @param from The starting vertex.
+     * @param to The destination vertex.
+     * @return True if the destination is reachable from the starting vertex, false if otherwise.
+     *
+     * @see #enableReachabilityIndex(long)
+     */
+    public boolean isReachable(@Nonnull V from, @Nonnull V to) {
+        ReachabilityIndex<T, V, E> index = reachability;
+        if (index != null)
+            return index.isReachable(from, to);
+
+        Set<V> visited = new HashSet<>();
+        Deque<V> stack = new ArrayDeque<>();
+        stack.push(from);
+        visited.add(from);
+        while (!stack.isEmpty()) {
+            V curr = stack.pop();
+            if (curr.equals(to))
+                return true;
+            for (E e : backing.getOutwardEdges(curr)) {
+                V next = e.getOther(curr);
+                if (visited.add(next))
+                    stack.push(next);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a directed path exists from one value to another.
+     *
+     * @param from The starting value.
+     * @param to The destination value.
+     * @return True if the destination is reachable from the starting value, false if otherwise.
+     *
+     * @see #isReachable(Vertex, Vertex)
+     */
+    public boolean isReachable(@Nullable T from, @Nullable T to) {
+        V vert1 = findVertex(from);
+        V vert2 = findVertex(to);
+
+        if (vert1 == null || vert2 == null)
+            return false;
+
+        return isReachable(vert1, vert2);
+    }
+
+    /**
+     * Starts a batch. Until it is committed or rolled back, mutations are not checked for cycles (but journaled so
+     * they can be undone). Batches are not isolated, other users of this graph see its mutations immediately and
+     * this graph is not thread safe while a batch is open.
+     *
+     * @throws IllegalStateException If a batch is already open.
+     *
+     * @see #commit()
+     * @see #rollback()
+     */
+    public void beginBatch() {
+        if (journal != null)
+            throw new IllegalStateException("A batch is already open!");
+        journal = new ArrayDeque<>();
+        batchAddsEdges = false;
+    }
+
+    /**
+     * Closes the current batch, checking the graph for cycles once if any edges were added. If a cycle is found,
+     * every mutation of the batch is undone.
+     *
+     * @throws CycleException If the batch introduced a cycle.
+     * @throws IllegalStateException If no batch is open.
+     */
+    public void commit() throws CycleException {
+        Deque<Runnable> undo = closeBatch();
+        if (batchAddsEdges && checkForCycles && hasCycle()) {
+            undo(undo);
+            throw new CycleException();
+        }
+    }
+
+    /**
+     * Closes the current batch, undoing every mutation made during it.
+     *
+     * @throws IllegalStateException If no batch is open.
+     */
+    public void rollback() {
+        undo(closeBatch());
+    }
+
+    /**
+     * Gets whether a batch is open.
+     *
+     * @return True if a batch is open.
+     */
+    public boolean isInBatch() {
+        return journal != null;
+    }
+
+    private Deque<Runnable> closeBatch() {
+        Deque<Runnable> closed = journal;
+        if (closed == null)
+            throw new IllegalStateException("No batch is open!");
+        journal = null;
+        return closed;
+    }
+
+    private void undo(Deque<Runnable> undo) {
+        while (!undo.isEmpty()) {
+            undo.pop().run();
+        }
+        invalidateReachability();
+    }
+
+    // Journals the removal of a vertex which is about to be added, unless it is already present
+    private void journalVertex(V vertex) {
+        if (backing.findVertex(vertex.get()) == null)
+            journal.push(() -> backing.removeVertex(vertex));
+    }
+
+    // Journals the removal of an edge (and its endpoints) which is about to be added, unless it is already present
+    private void journalEdge(E edge) {
+        journalVertex(edge.getFirstVertex());
+        journalVertex(edge.getSecondVertex());
+        if (!backing.getConnectedEdges(edge.getFirstVertex()).contains(edge))
+            journal.push(() -> backing.removeEdge(edge));
+        batchAddsEdges = true;
+    }
+
+    private boolean hasCycle() {
+        long start = cycleCheckTimer.start();
+        boolean cycle;
+        try {
+            cycle = strategy.findCycle(backing);
+        } finally {
+            cycleCheckTimer.stop(start);
+        }
+        if (cycle)
+            cyclesRejected.increment();
+        return cycle;
+    }
+
+    private void invalidateReachability() {
+        ReachabilityIndex<T, V, E> index = reachability;
+        if (index != null)
+            index.invalidate();
     }
 
     /**
@@ -197,7 +489,35 @@ public class DirectedAcyclicGraph<T, V extends Vertex<T>, E extends Edge<T,V>> i
 
     @Override
     public void removeEdge(@Nonnull E edge) {
+        E stored = journal != null ? stored(edge) : null;
+        if (stored != null)
+            journal.push(() -> backing.addEdge(stored));
         backing.removeEdge(edge);
+        invalidateReachability();
+    }
+
+    /**
+     * Changes the weight of an edge of the backing graph. Weights cannot introduce cycles, so this is never checked.
+     *
+     * @param edge The edge, which must be in the graph.
+     * @param weight The new weight.
+     */
+    @Override
+    public void setEdgeWeight(@Nonnull E edge, double weight) {
+        E stored = journal != null ? stored(edge) : null;
+        backing.setEdgeWeight(edge, weight);
+        if (stored != null)
+            journal.push(() -> backing.setEdgeWeight(edge, stored.getWeight()));
+    }
+
+    // Finds the instance of an edge held by the backing graph, whose weight may differ from the one passed in
+    @Nullable
+    private E stored(@Nonnull E edge) {
+        for (E e : backing.getConnectedEdges(edge.getFirstVertex())) {
+            if (e.equals(edge))
+                return e;
+        }
+        return null;
     }
 
     @Override
@@ -212,7 +532,30 @@ public class DirectedAcyclicGraph<T, V extends Vertex<T>, E extends Edge<T,V>> i
 
     @Override
     public void clear() {
+        if (journal != null) {
+            Collection<V> vertices = new ArrayList<>(backing.vertices());
+            Collection<E> edges = new ArrayList<>(backing.edges());
+            journal.push(() -> {
+                for (V vertex : vertices) {
+                    backing.addVertex(vertex);
+                }
+                backing.addEdges(edges);
+            });
+        }
         backing.clear();
+        invalidateReachability();
+    }
+
+    /**
+     * Gets the events of the backing graph. Every mutation of this graph is applied to the backing graph, so rolled
+     * back mutations (due to cycles or {@link #rollback()}) show up as compensating events.
+     *
+     * @return The events of the backing graph.
+     */
+    @Override
+    @Nonnull
+    public GraphEvents<T, V, E> events() {
+        return backing.events();
     }
 
     @Override
@@ -0,0 +1,993 @@
+package com.austinv11.graphs.impl;
+
+import com.austinv11.graphs.*;
+import com.austinv11.graphs.alg.DijkstraPathfindStrategy;
+import com.austinv11.graphs.alg.NaturalSortStrategy;
+import com.austinv11.graphs.event.EventDispatcher;
+import com.austinv11.graphs.event.GraphEvent;
+import com.austinv11.graphs.event.GraphEvents;
+import com.austinv11.graphs.util.InvalidGraphConfigurationException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * A graph implementation which keeps its topology and edge weights off the heap, in direct
+ * {@link java.nio.ByteBuffer}s. Only the vertex values themselves live on the heap (in a single array), so very large
+ * graphs cost the garbage collector next to nothing to trace, unlike {@link com.austinv11.graphs.impl.SimpleGraph}
+ * which holds every edge as an object in two hash sets.
+ *
+ * Every vertex is a fixed size record pointing to the heads of two singly linked lists of edge records, one for the
+ * edges it is the first vertex of and one for the edges it is the second vertex of. Every edge is a fixed size record
+ * holding its vertices, weight, direction and the links of both lists. Vertices are looked up by value through an
+ * off-heap open addressing hash table and freed records are reused. Adding an edge is O(1), while removing one is
+ * O(degree) of its vertices.
+ *
+ * Vertices and edges handed out are flyweights created on access (subclasses of
+ * {@link com.austinv11.graphs.impl.SimpleVertex} and {@link com.austinv11.graphs.impl.SimpleEdge}), so this graph
+ * stores values rather than vertex and edge instances. Vertices compare equal to any
+ * {@link com.austinv11.graphs.impl.SimpleVertex} holding an equal value and edges compare equal if they refer to the
+ * same record of the same graph. Every edge record is stamped when it is allocated, so an edge which was removed
+ * never refers to a newer edge reusing its record. Edges which are not flyweights of this graph are matched by their
+ * vertices, weight and direction when removed. Collections of vertices, values and edges are live views.
+ */
+public class OffHeapGraph<T> implements Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> {
+
+    private static final int NONE = -1;
+
+    // Vertex record layout
+    private static final int VERTEX_SIZE = 12;
+    private static final int FIRST_OUT = 0; // Also links free records
+    private static final int FIRST_IN = 4;
+    private static final int VERTEX_FLAGS = 8;
+
+    // Edge record layout
+    private static final int EDGE_SIZE = 32;
+    private static final int FIRST = 0;
+    private static final int SECOND = 4;
+    private static final int NEXT_OUT = 8; // Also links free records
+    private static final int NEXT_IN = 12;
+    private static final int WEIGHT = 16;
+    private static final int EDGE_FLAGS = 24;
+    private static final int STAMP = 28;
+
+    private static final int LIVE = 1;
+    private static final int DIRECTED = 2;
+
+    private static final int TOMBSTONE = -1;
+
+    private final TraversalStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultTraversal;
+    private final SortStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultSort;
+    private final PathfindStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultPathfind;
+
+    private final ReadWriteLock lock;
+    private final EventDispatcher<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> events = new EventDispatcher<>();
+
+    private Records vertexRecords, edgeRecords, table;
+    private Object[] values;
+    private int vertexTop, edgeTop, freeVertex, freeEdge, vertexCount, edgeCount, tableUsed;
+    private int nextStamp; // Not reset when cleared, so edges of a cleared graph stay stale
+
+    public OffHeapGraph() {
+        this(false);
+    }
+
+    public OffHeapGraph(boolean concurrent) {
+        this(new DefaultTraversalStrategy<>(),
+                new NaturalSortStrategy<>(),
+                new DijkstraPathfindStrategy<>(),
+                concurrent);
+    }
+
+    public OffHeapGraph(@Nonnull TraversalStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+                                Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultTraversal,
+                        @Nonnull SortStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+                                Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultSort,
+                        @Nonnull PathfindStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+                                Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultPathfind,
+                        boolean concurrent) {
+        this.defaultTraversal = defaultTraversal;
+        this.defaultSort = defaultSort;
+        this.defaultPathfind = defaultPathfind;
+        this.lock = concurrent ? new ReentrantReadWriteLock() : null;
+        reset();
+    }
+
+    private void reset() {
+        vertexRecords = new Records(VERTEX_SIZE);
+        edgeRecords = new Records(EDGE_SIZE);
+        table = new Records(Integer.BYTES);
+        table.ensure(1 << Records.SEGMENT_BITS);
+        values = new Object[16];
+        vertexTop = edgeTop = vertexCount = edgeCount = tableUsed = 0;
+        freeVertex = freeEdge = NONE;
+    }
+
+    private void writeLock() {
+        if (lock != null)
+            lock.writeLock().lock();
+    }
+
+    private void writeUnlock() {
+        if (lock != null)
+            lock.writeLock().unlock();
+    }
+
+    private void readLock() {
+        if (lock != null)
+            lock.readLock().lock();
+    }
+
+    private void readUnlock() {
+        if (lock != null)
+            lock.readLock().unlock();
+    }
+
+    /**
+     * Gets the amount of off-heap memory currently reserved by this graph.
+     *
+     * @return The number of bytes.
+     */
+    public long getOffHeapBytes() {
+        readLock();
+        try {
+            return vertexRecords.bytes() + edgeRecords.bytes() + table.bytes();
+        } finally {
+            readUnlock();
+        }
+    }
+
+    // Vertex storage
+
+    @SuppressWarnings("unchecked")
+    private T valueOf(int vertex) {
+        return (T) values[vertex];
+    }
+
+    private boolean isLiveVertex(int vertex) {
+        return vertex >= 0 && vertex < vertexTop && (vertexRecords.getInt(vertex, VERTEX_FLAGS) & LIVE) != 0;
+    }
+
+    private SimpleVertex<T> vertex(int vertex) {
+        return new OffHeapVertex<>(this, vertex, valueOf(vertex));
+    }
+
+    private static int mix(@Nullable Object obj) {
+        int h = Objects.hashCode(obj) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOfValue(@Nullable Object obj) {
+        int mask = table.capacity() - 1;
+        for (int slot = mix(obj) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table.getInt(slot, 0);
+            if (entry == 0)
+                return NONE;
+            if (entry != TOMBSTONE && Objects.equals(values[entry - 1], obj))
+                return entry - 1;
+        }
+    }
+
+    private int indexOf(@Nonnull SimpleVertex<T> vertex) {
+        if (vertex instanceof OffHeapVertex && ((OffHeapVertex<T>) vertex).graph == this) {
+            int index = ((OffHeapVertex<T>) vertex).index;
+            if (isLiveVertex(index) && Objects.equals(values[index], vertex.get()))
+                return index;
+        }
+        return indexOfValue(vertex.get());
+    }
+
+    private void index(int vertex) {
+        if ((tableUsed + 1) * 2L > table.capacity())
+            rehash(vertexCount * 4L > table.capacity() ? table.capacity() * 2 : table.capacity());
+
+        int mask = table.capacity() - 1;
+        int slot = mix(values[vertex]) & mask;
+        while (true) {
+            int entry = table.getInt(slot, 0);
+            if (entry == 0) {
+                tableUsed++;
+                break;
+            }
+            if (entry == TOMBSTONE)
+                break;
+            slot = (slot + 1) & mask;
+        }
+        table.putInt(slot, 0, vertex + 1);
+    }
+
+    private void unindex(int vertex) {
+        int mask = table.capacity() - 1;
+        for (int slot = mix(values[vertex]) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table.getInt(slot, 0);
+            if (entry == 0)
+                return;
+            if (entry == vertex + 1) {
+                table.putInt(slot, 0, TOMBSTONE);
+                return;
+            }
+        }
+    }
+
+    private void rehash(int capacity) { // Also drops tombstones
+        Records old = table;
+        table = new Records(Integer.BYTES);
+        table.ensure(capacity);
+        tableUsed = 0;
+        for (int slot = 0; slot < old.capacity(); slot++) {
+            int entry = old.getInt(slot, 0);
+            if (entry > 0)
+                index(entry - 1);
+        }
+    }
+
+    private int addVertexRecord(@Nullable T obj) {
+        int existing = indexOfValue(obj);
+        if (existing != NONE)
+            return existing;
+
+        int vertex;
+        if (freeVertex != NONE) {
+            vertex = freeVertex;
+            freeVertex = vertexRecords.getInt(vertex, FIRST_OUT);
+        } else {
+            vertex = vertexTop++;
+            vertexRecords.ensure(vertexTop);
+            if (vertex == values.length)
+                values = Arrays.copyOf(values, values.length + (values.length >> 1));
+        }
+        values[vertex] = obj;
+        vertexRecords.putInt(vertex, FIRST_OUT, NONE);
+        vertexRecords.putInt(vertex, FIRST_IN, NONE);
+        vertexRecords.putInt(vertex, VERTEX_FLAGS, LIVE);
+        index(vertex);
+        vertexCount++;
+        if (events.isActive())
+            events.emit(GraphEvent.vertexAdded(vertex(vertex)));
+        return vertex;
+    }
+
+    private void removeVertexRecord(int vertex) {
+        // Edges are unlinked from both of their lists before they are emitted, so listeners reading the graph never
+        // walk into freed records. Loops are in both lists, so they are freed while walking the inward list
+        for (int edge = vertexRecords.getInt(vertex, FIRST_OUT); edge != NONE;
+             edge = vertexRecords.getInt(vertex, FIRST_OUT)) {
+            int second = edgeRecords.getInt(edge, SECOND);
+            unlink(edge, vertex, FIRST_OUT, NEXT_OUT);
+            if (second != vertex) {
+                unlink(edge, second, FIRST_IN, NEXT_IN);
+                emitRemoved(edge);
+                freeEdge(edge);
+            }
+        }
+        for (int edge = vertexRecords.getInt(vertex, FIRST_IN); edge != NONE;
+             edge = vertexRecords.getInt(vertex, FIRST_IN)) {
+            int first = edgeRecords.getInt(edge, FIRST);
+            unlink(edge, vertex, FIRST_IN, NEXT_IN);
+            if (first != vertex)
+                unlink(edge, first, FIRST_OUT, NEXT_OUT);
+            emitRemoved(edge);
+            freeEdge(edge);
+        }
+
+        if (events.isActive())
+            events.emit(GraphEvent.vertexRemoved(vertex(vertex)));
+        unindex(vertex);
+        values[vertex] = null;
+        vertexRecords.putInt(vertex, VERTEX_FLAGS, 0);
+        vertexRecords.putInt(vertex, FIRST_OUT, freeVertex);
+        freeVertex = vertex;
+        vertexCount--;
+    }
+
+    // Edge storage
+
+    private boolean isLiveEdge(int edge) {
+        return edge >= 0 && edge < edgeTop && (edgeRecords.getInt(edge, EDGE_FLAGS) & LIVE) != 0;
+    }
+
+    private boolean isDirected(int edge) {
+        return (edgeRecords.getInt(edge, EDGE_FLAGS) & DIRECTED) != 0;
+    }
+
+    private SimpleEdge<T, SimpleVertex<T>> edge(int edge, @Nullable SimpleVertex<T> known, int knownIndex) {
+        int first = edgeRecords.getInt(edge, FIRST);
+        int second = edgeRecords.getInt(edge, SECOND);
+        SimpleVertex<T> firstVertex = first == knownIndex ? known : vertex(first);
+        SimpleVertex<T> secondVertex = second == knownIndex ? known : second == first ? firstVertex : vertex(second);
+        return new OffHeapEdge<>(this, edge, edgeRecords.getInt(edge, STAMP), firstVertex, secondVertex,
+                edgeRecords.getDouble(edge, WEIGHT), isDirected(edge));
+    }
+
+    private int vertexRecordOf(@Nonnull SimpleVertex<T> vertex) { // Flyweights of this graph skip hashing
+        int index = indexOf(vertex);
+        return index != NONE ? index : addVertexRecord(vertex.get());
+    }
+
+    private void addEdgeRecord(@Nonnull SimpleEdge<T, SimpleVertex<T>> e) {
+        int first = vertexRecordOf(e.getFirstVertex());
+        int second = vertexRecordOf(e.getSecondVertex());
+
+        int edge;
+        if (freeEdge != NONE) {
+            edge = freeEdge;
+            freeEdge = edgeRecords.getInt(edge, NEXT_OUT);
+        } else {
+            edge = edgeTop++;
+            edgeRecords.ensure(edgeTop);
+        }
+        edgeRecords.putInt(edge, FIRST, first);
+        edgeRecords.putInt(edge, SECOND, second);
+        edgeRecords.putDouble(edge, WEIGHT, e.getWeight());
+        edgeRecords.putInt(edge, EDGE_FLAGS, LIVE | (e.isDirected() ? DIRECTED : 0));
+        edgeRecords.putInt(edge, STAMP, nextStamp++);
+        edgeRecords.putInt(edge, NEXT_OUT, vertexRecords.getInt(first, FIRST_OUT));
+        vertexRecords.putInt(first, FIRST_OUT, edge);
+        edgeRecords.putInt(edge, NEXT_IN, vertexRecords.getInt(second, FIRST_IN));
+        vertexRecords.putInt(second, FIRST_IN, edge);
+        edgeCount++;
+        if (events.isActive())
+            events.emit(GraphEvent.edgeAdded(edge(edge, null, NONE)));
+    }
+
+    // Finds the record of an edge, or NONE if it is not in this graph
+    private int recordOf(@Nonnull SimpleEdge<T, SimpleVertex<T>> e) {
+        int first = indexOf(e.getFirstVertex());
+        int second = indexOf(e.getSecondVertex());
+        if (first == NONE || second == NONE)
+            return NONE;
+
+        if (e instanceof OffHeapEdge && ((OffHeapEdge<T>) e).graph == this) { // Stale flyweights match nothing
+            OffHeapEdge<T> flyweight = (OffHeapEdge<T>) e;
+            return isLiveEdge(flyweight.index) && edgeRecords.getInt(flyweight.index, STAMP) == flyweight.stamp
+                    ? flyweight.index : NONE;
+        }
+
+        for (int edge = vertexRecords.getInt(first, FIRST_OUT); edge != NONE;
+             edge = edgeRecords.getInt(edge, NEXT_OUT)) {
+            if (edgeRecords.getInt(edge, SECOND) == second && isDirected(edge) == e.isDirected()
+                    && Double.compare(edgeRecords.getDouble(edge, WEIGHT), e.getWeight()) == 0)
+                return edge;
+        }
+        return NONE;
+    }
+
+    private void removeEdgeRecord(int edge) {
+        unlink(edge, edgeRecords.getInt(edge, FIRST), FIRST_OUT, NEXT_OUT);
+        unlink(edge, edgeRecords.getInt(edge, SECOND), FIRST_IN, NEXT_IN);
+        emitRemoved(edge);
+        freeEdge(edge);
+    }
+
+    private void emitRemoved(int edge) { // Must be called before the record is freed
+        if (events.isActive())
+            events.emit(GraphEvent.edgeRemoved(edge(edge, null, NONE)));
+    }
+
+    private void unlink(int edge, int vertex, int head, int link) {
+        int previous = NONE;
+        int current = vertexRecords.getInt(vertex, head);
+        while (current != edge) {
+            previous = current;
+            current = edgeRecords.getInt(current, link);
+        }
+
+        int next = edgeRecords.getInt(edge, link);
+        if (previous == NONE) {
+            vertexRecords.putInt(vertex, head, next);
+        } else {
+            edgeRecords.putInt(previous, link, next);
+        }
+    }
+
+    private void freeEdge(int edge) {
+        edgeRecords.putInt(edge, EDGE_FLAGS, 0);
+        edgeRecords.putInt(edge, NEXT_OUT, freeEdge);
+        freeEdge = edge;
+        edgeCount--;
+    }
+
+    // Collects the edges of a vertex, optionally filtered to one direction (undirected edges always match)
+    private List<SimpleEdge<T, SimpleVertex<T>>> edgesOf(@Nonnull SimpleVertex<T> vertex, boolean outward,
+                                                         boolean inward) {
+        readLock();
+        try {
+            int index = indexOf(vertex);
+            if (index == NONE)
+                return Collections.emptyList();
+
+            List<SimpleEdge<T, SimpleVertex<T>>> result = new ArrayList<>();
+            for (int edge = vertexRecords.getInt(index, FIRST_OUT); edge != NONE;
+                 edge = edgeRecords.getInt(edge, NEXT_OUT)) {
+                if (outward || !isDirected(edge) || edgeRecords.getInt(edge, SECOND) == index)
+                    result.add(edge(edge, vertex, index));
+            }
+            for (int edge = vertexRecords.getInt(index, FIRST_IN); edge != NONE;
+                 edge = edgeRecords.getInt(edge, NEXT_IN)) {
+                if (edgeRecords.getInt(edge, FIRST) == index)
+                    continue; // Loops were already collected from the outward list
+                if (inward || !isDirected(edge))
+                    result.add(edge(edge, vertex, index));
+            }
+            return result;
+        } finally {
+            readUnlock();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public TraversalStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultTraversalStrategy() {
+        return defaultTraversal;
+    }
+
+    @Override
+    @Nonnull
+    public SortStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultSortStrategy() {
+        return defaultSort;
+    }
+
+    @Override
+    @Nonnull
+    public PathfindStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultPathfindStrategy() {
+        return defaultPathfind;
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleVertex<T>> vertices(@Nonnull TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.traverseVertices(this);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> edges(@Nonnull TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.traverseEdges(this);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<T> values(@Nonnull TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.traverseValues(this);
+    }
+
+    @Override
+    @Nullable
+    public SimpleVertex<T> findVertex(@Nullable T obj) {
+        readLock();
+        try {
+            int index = indexOfValue(obj);
+            return index == NONE ? null : vertex(index);
+        } finally {
+            readUnlock();
+        }
+    }
+
+    @Override
+    public boolean areConnected(@Nonnull SimpleVertex<T> vert1, @Nonnull SimpleVertex<T> vert2) {
+        return !getConnections(vert1, vert2).isEmpty();
+    }
+
+    @Override
+    public boolean areConnected(@Nullable T obj1, @Nullable T obj2) {
+        SimpleVertex<T> vert1 = findVertex(obj1);
+        SimpleVertex<T> vert2 = findVertex(obj2);
+
+        if (vert1 == null || vert2 == null)
+            return false;
+
+        return areConnected(vert1, vert2);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getConnections(@Nonnull SimpleVertex<T> vert1,
+                                                                     @Nonnull SimpleVertex<T> vert2) {
+        readLock();
+        try {
+            int index1 = indexOf(vert1);
+            int index2 = indexOf(vert2);
+            if (index1 == NONE || index2 == NONE)
+                return Collections.emptyList();
+
+            List<SimpleEdge<T, SimpleVertex<T>>> connections = new ArrayList<>();
+            for (int edge = vertexRecords.getInt(index1, FIRST_OUT); edge != NONE;
+                 edge = edgeRecords.getInt(edge, NEXT_OUT)) {
+                if (edgeRecords.getInt(edge, SECOND) == index2)
+                    connections.add(edge(edge, vert1, index1));
+            }
+            if (index1 != index2) {
+                for (int edge = vertexRecords.getInt(index1, FIRST_IN); edge != NONE;
+                     edge = edgeRecords.getInt(edge, NEXT_IN)) {
+                    if (edgeRecords.getInt(edge, FIRST) == index2)
+                        connections.add(edge(edge, vert1, index1));
+                }
+            }
+            return connections;
+        } finally {
+            readUnlock();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getConnections(@Nonnull T obj1, @Nonnull T obj2) {
+        SimpleVertex<T> vert1 = findVertex(obj1);
+        SimpleVertex<T> vert2 = findVertex(obj2);
+
+        if (vert1 == null || vert2 == null)
+            return Collections.emptyList();
+
+        return getConnections(vert1, vert2);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleVertex<T>> sortVertices(@Nonnull SortStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.sort(this);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleEdge<T, SimpleVertex<T>>> pathfind(@Nonnull SimpleVertex<T> vert1,
+                                                         @Nonnull SimpleVertex<T> vert2,
+                                                         @Nonnull PathfindStrategy<T, SimpleVertex<T>,
+                                                                 SimpleEdge<T, SimpleVertex<T>>, Graph<T,
+                                                                 SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>>
+                                                                 strategy) {
+        return strategy.pathfind(vert1, vert2, this);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleEdge<T, SimpleVertex<T>>> pathfind(@Nullable T obj1, @Nullable T obj2,
+                                                         @Nonnull PathfindStrategy<T, SimpleVertex<T>,
+                                                                 SimpleEdge<T, SimpleVertex<T>>, Graph<T,
+                                                                 SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>>
+                                                                 strategy) {
+        SimpleVertex<T> vert1 = findVertex(obj1);
+        SimpleVertex<T> vert2 = findVertex(obj2);
+
+        if (vert1 == null || vert2 == null)
+            return Collections.emptyList();
+
+        return pathfind(vert1, vert2, strategy);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleEdge<T, SimpleVertex<T>>> pathfind(@Nullable T obj1, @Nullable T obj2) {
+        return pathfind(obj1, obj2, defaultPathfind);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getConnectedEdges(@Nonnull SimpleVertex<T> vertex) {
+        return edgesOf(vertex, true, true);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getOutwardEdges(@Nonnull SimpleVertex<T> vertex) {
+        return edgesOf(vertex, true, false);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getInwardEdges(@Nonnull SimpleVertex<T> vertex) {
+        return edgesOf(vertex, false, true);
+    }
+
+    @Override
+    public void addVertex(@Nonnull SimpleVertex<T> vertex) {
+        writeLock();
+        try {
+            addVertexRecord(vertex.get());
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    @Override
+    public void removeVertex(@Nonnull SimpleVertex<T> vertex) {
+        writeLock();
+        try {
+            int index = indexOf(vertex);
+            if (index != NONE)
+                removeVertexRecord(index);
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    @Override
+    public void replaceVertex(@Nonnull SimpleVertex<T> original, @Nonnull SimpleVertex<T> replacement,
+                              @Nonnull Function<SimpleEdge<T, SimpleVertex<T>>, SimpleEdge<T, SimpleVertex<T>>> rewire) {
+        writeLock();
+        try {
+            Collection<SimpleEdge<T, SimpleVertex<T>>> edges = getConnectedEdges(original);
+            int index = indexOf(original);
+            if (index != NONE)
+                removeVertexRecord(index);
+            addVertexRecord(replacement.get());
+            for (SimpleEdge<T, SimpleVertex<T>> edge : edges) {
+                addEdgeRecord(rewire.apply(edge));
+            }
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    @Override
+    public void addEdge(@Nonnull SimpleEdge<T, SimpleVertex<T>> edge) {
+        writeLock();
+        try {
+            addEdgeRecord(edge);
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    @Override
+    public void addEdges(@Nonnull Collection<? extends SimpleEdge<T, SimpleVertex<T>>> edges) {
+        writeLock();
+        try {
+            for (SimpleEdge<T, SimpleVertex<T>> edge : edges) {
+                addEdgeRecord(edge);
+            }
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    @Override
+    public void removeEdge(@Nonnull SimpleEdge<T, SimpleVertex<T>> edge) {
+        writeLock();
+        try {
+            int record = recordOf(edge);
+            if (record != NONE)
+                removeEdgeRecord(record);
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    /**
+     * Changes the weight of an edge in place by overwriting its record, so nothing is relinked or reallocated. The
+     * edge passed in and other instances of it handed out earlier keep the weight they had (they are views of the
+     * record as it was when they were created), but still refer to the edge.
+     *
+     * @param edge The edge, which must be in the graph.
+     * @param weight The new weight.
+     * @throws NoSuchElementException If the edge is not in the graph.
+     */
+    @Override
+    public void setEdgeWeight(@Nonnull SimpleEdge<T, SimpleVertex<T>> edge, double weight) {
+        writeLock();
+        try {
+            int record = recordOf(edge);
+            if (record == NONE)
+                throw new NoSuchElementException("The edge " + edge + " is not in this graph");
+
+            double old = edgeRecords.getDouble(record, WEIGHT);
+            if (Double.compare(old, weight) != 0) {
+                edgeRecords.putDouble(record, WEIGHT, weight);
+                if (events.isActive())
+                    events.emit(GraphEvent.weightChanged(edge(record, null, NONE), old));
+            }
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    @Override
+    public int getVertexCount() {
+        readLock();
+        try {
+            return vertexCount;
+        } finally {
+            readUnlock();
+        }
+    }
+
+    @Override
+    public int getEdgeCount() {
+        readLock();
+        try {
+            return edgeCount;
+        } finally {
+            readUnlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock();
+        try {
+            reset();
+            if (events.isActive())
+                events.emit(GraphEvent.cleared());
+        } finally {
+            writeUnlock();
+        }
+    }
+
+    /**
+     * Gets the events of this graph. Edges in events are flyweights like every other edge of this graph, so an edge
+     * removal event is equal to the corresponding edge addition event.
+     *
+     * @return The events of this graph.
+     */
+    @Override
+    @Nonnull
+    public GraphEvents<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> events() {
+        return events;
+    }
+
+    @Override
+    @Nonnull
+    public OffHeapGraph<T> copy() {
+        OffHeapGraph<T> copy = new OffHeapGraph<>(defaultTraversal, defaultSort, defaultPathfind, lock != null);
+        readLock();
+        try {
+            copy.vertexRecords = vertexRecords.copy();
+            copy.edgeRecords = edgeRecords.copy();
+            copy.table = table.copy();
+            copy.values = values.clone();
+            copy.vertexTop = vertexTop;
+            copy.edgeTop = edgeTop;
+            copy.freeVertex = freeVertex;
+            copy.freeEdge = freeEdge;
+            copy.vertexCount = vertexCount;
+            copy.edgeCount = edgeCount;
+            copy.tableUsed = tableUsed;
+            copy.nextStamp = nextStamp;
+        } finally {
+            readUnlock();
+        }
+        return copy;
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<T> iterator() {
+        return values().iterator();
+    }
+
+    /**
+     * Fixed size records stored in direct buffers, allocated in segments as needed so the storage never has to be
+     * copied as it grows.
+     */
+    private static final class Records {
+
+        private static final int SEGMENT_BITS = 16;
+        private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+
+        private final int recordSize;
+        private ByteBuffer[] segments = new ByteBuffer[0];
+
+        private Records(int recordSize) {
+            this.recordSize = recordSize;
+        }
+
+        private int capacity() {
+            return segments.length << SEGMENT_BITS;
+        }
+
+        private long bytes() {
+            return (long) capacity() * recordSize;
+        }
+
+        private void ensure(int records) {
+            if (records <= capacity())
+                return;
+
+            int count = (int) (((long) records + SEGMENT_MASK) >>> SEGMENT_BITS);
+            int previous = segments.length;
+            segments = Arrays.copyOf(segments, Math.max(count, previous + (previous >> 3)));
+            for (int i = previous; i < segments.length; i++) {
+                segments[i] = ByteBuffer.allocateDirect(recordSize << SEGMENT_BITS).order(ByteOrder.nativeOrder());
+            }
+        }
+
+        private int getInt(int record, int field) {
+            return segments[record >>> SEGMENT_BITS].getInt((record & SEGMENT_MASK) * recordSize + field);
+        }
+
+        private void putInt(int record, int field, int value) {
+            segments[record >>> SEGMENT_BITS].putInt((record & SEGMENT_MASK) * recordSize + field, value);
+        }
+
+        private double getDouble(int record, int field) {
+            return segments[record >>> SEGMENT_BITS].getDouble((record & SEGMENT_MASK) * recordSize + field);
+        }
+
+        private void putDouble(int record, int field, double value) {
+            segments[record >>> SEGMENT_BITS].putDouble((record & SEGMENT_MASK) * recordSize + field, value);
+        }
+
+        private Records copy() {
+            Records copy = new Records(recordSize);
+            copy.segments = new ByteBuffer[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                ByteBuffer source = segments[i].duplicate();
+                source.clear();
+                copy.segments[i] = ByteBuffer.allocateDirect(source.capacity()).order(ByteOrder.nativeOrder());
+                copy.segments[i].put(source).clear();
+            }
+            return copy;
+        }
+    }
+
+    private static final class OffHeapVertex<T> extends SimpleVertex<T> {
+
+        private final OffHeapGraph<T> graph;
+        private final int index;
+
+        private OffHeapVertex(OffHeapGraph<T> graph, int index, T obj) {
+            super(obj);
+            this.graph = graph;
+            this.index = index;
+        }
+    }
+
+    private static final class OffHeapEdge<T> extends SimpleEdge<T, SimpleVertex<T>> {
+
+        private final OffHeapGraph<T> graph;
+        private final int index;
+        private final int stamp;
+
+        private OffHeapEdge(OffHeapGraph<T> graph, int index, int stamp, SimpleVertex<T> first,
+                            SimpleVertex<T> second, double weight, boolean directed) {
+            super(first, second, weight, directed);
+            this.graph = graph;
+            this.index = index;
+            this.stamp = stamp;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof OffHeapEdge)) {
+                return false;
+            }
+            OffHeapEdge<?> that = (OffHeapEdge<?>) o;
+            return graph == that.graph && index == that.index && stamp == that.stamp;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(graph) + index) + stamp;
+        }
+    }
+
+    // Walks the records in storage order, creating flyweights lazily. Each step holds the read lock on its own, so
+    // iteration is weakly consistent with concurrent mutations.
+    private static final class DefaultTraversalStrategy<T> implements TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> {
+
+        private static <T> OffHeapGraph<T> assertOffHeapGraph(
+                Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> graph) {
+            if (!(graph instanceof OffHeapGraph)) {
+                throw new InvalidGraphConfigurationException();
+            }
+            return (OffHeapGraph<T>) graph;
+        }
+
+        private static <T, R> Collection<R> view(OffHeapGraph<T> g, boolean edges, Function<Integer, R> mapper) {
+            return new AbstractCollection<R>() {
+                @Override
+                @Nonnull
+                public Iterator<R> iterator() {
+                    return new Iterator<R>() {
+                        private int cursor = advance(0);
+
+                        private int advance(int from) {
+                            g.readLock();
+                            try {
+                                int top = edges ? g.edgeTop : g.vertexTop;
+                                while (from < top && !(edges ? g.isLiveEdge(from) : g.isLiveVertex(from))) {
+                                    from++;
+                                }
+                                return from;
+                            } finally {
+                                g.readUnlock();
+                            }
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return cursor < (edges ? g.edgeTop : g.vertexTop);
+                        }
+
+                        @Override
+                        public R next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            R next;
+                            g.readLock();
+                            try {
+                                next = mapper.apply(cursor);
+                            } finally {
+                                g.readUnlock();
+                            }
+                            cursor = advance(cursor + 1);
+                            return next;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return edges ? g.getEdgeCount() : g.getVertexCount();
+                }
+            };
+        }
+
+        @Override
+        @Nonnull
+        public Collection<SimpleVertex<T>> traverseVertices(@Nonnull Graph<T, SimpleVertex<T>,
+                SimpleEdge<T, SimpleVertex<T>>> graph) {
+            OffHeapGraph<T> g = assertOffHeapGraph(graph);
+            return new AbstractCollection<SimpleVertex<T>>() {
+                private final Collection<SimpleVertex<T>> view = view(g, false, g::vertex);
+
+                @Override
+                @Nonnull
+                public Iterator<SimpleVertex<T>> iterator() {
+                    return view.iterator();
+                }
+
+                @Override
+                public int size() {
+                    return view.size();
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof SimpleVertex))
+                        return false;
+                    g.readLock();
+                    try {
+                        return g.indexOfValue(((SimpleVertex<?>) o).get()) != NONE;
+                    } finally {
+                        g.readUnlock();
+                    }
+                }
+            };
+        }
+
+        @Override
+        @Nonnull
+        public Collection<SimpleEdge<T, SimpleVertex<T>>> traverseEdges(@Nonnull Graph<T, SimpleVertex<T>,
+                SimpleEdge<T, SimpleVertex<T>>> graph) {
+            OffHeapGraph<T> g = assertOffHeapGraph(graph);
+            return view(g, true, edge -> g.edge(edge, null, NONE));
+        }
+
+        @Override
+        @Nonnull
+        public Collection<T> traverseValues(@Nonnull Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> graph) {
+            OffHeapGraph<T> g = assertOffHeapGraph(graph);
+            return view(g, false, g::valueOf);
+        }
+    }
+}
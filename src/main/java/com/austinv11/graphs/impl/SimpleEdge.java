@@ -12,6 +12,9 @@ import java.util.List;
  * A basic implementation of an edge. It can be configured to be weighted, unweighted, directed,
  * undirected and any combination of these parameters.
  *
+ * Edges are immutable. The graphs of this package change a weight by swapping in a copy of the edge with the new
+ * weight (see {@link #withWeight(double)}), which is equal to the original so either can be used to refer to the edge.
+ *
  * @see #builder(com.austinv11.graphs.Vertex, com.austinv11.graphs.Vertex)
  */
 public class SimpleEdge<T, V extends Vertex<T>> implements Edge<T, V> {
@@ -19,12 +22,28 @@ public class SimpleEdge<T, V extends Vertex<T>> implements Edge<T, V> {
     private final double weight;
     private final V first, second;
     private final boolean directed;
+    private final SimpleEdge<T, V> origin; // The edge this was reweighted from, or itself
 
     public SimpleEdge(V first, V second, double weight, boolean directed) {
         this.first = first;
         this.second = second;
         this.weight = weight;
         this.directed = directed;
+        this.origin = this;
+    }
+
+    /**
+     * Creates a copy of an edge with a different weight, which is equal to the original.
+     *
+     * @param original The edge to copy.
+     * @param weight The weight of the copy.
+     */
+    protected SimpleEdge(SimpleEdge<T, V> original, double weight) {
+        this.first = original.first;
+        this.second = original.second;
+        this.weight = weight;
+        this.directed = original.directed;
+        this.origin = original.origin;
     }
 
     /**
@@ -43,6 +62,18 @@ public class SimpleEdge<T, V extends Vertex<T>> implements Edge<T, V> {
         return weight;
     }
 
+    /**
+     * Creates a copy of this edge with a different weight, which is equal to this edge. Subclasses must override this
+     * to return an instance of their own class if their weights are to be changed by a graph.
+     *
+     * @param weight The new weight.
+     * @return The reweighted copy.
+     */
+    @Nonnull
+    protected SimpleEdge<T, V> withWeight(double weight) {
+        return new SimpleEdge<>(this, weight);
+    }
+
     @Override
     @Nonnull
     public V getFirstVertex() {
@@ -84,6 +115,23 @@ public class SimpleEdge<T, V extends Vertex<T>> implements Edge<T, V> {
         return directed;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SimpleEdge)) {
+            return false;
+        }
+        SimpleEdge<?, ?> that = (SimpleEdge<?, ?>) o;
+        return origin == that.origin;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(origin);
+    }
+
     /**
      * An edge builder.
      */
@@ -3,7 +3,15 @@ package com.austinv11.graphs.impl;
 import com.austinv11.graphs.*;
 import com.austinv11.graphs.alg.DijkstraPathfindStrategy;
 import com.austinv11.graphs.alg.NaturalSortStrategy;
+import com.austinv11.graphs.event.EventDispatcher;
+import com.austinv11.graphs.event.GraphEvent;
+import com.austinv11.graphs.event.GraphEvents;
+import com.austinv11.graphs.metrics.Counter;
+import com.austinv11.graphs.metrics.MetricNames;
+import com.austinv11.graphs.metrics.Metrics;
+import com.austinv11.graphs.metrics.Timer;
 import com.austinv11.graphs.util.InvalidGraphConfigurationException;
+import com.austinv11.graphs.util.TransactionConflictException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -11,6 +19,8 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -18,6 +28,10 @@ import java.util.stream.Collectors;
  * A simple graph implementation backed by an adjacency matrix. This implementation is not recommended
  * for extremely large and complex graphs as it is memory inefficient in order to make its operations
  * more efficient in terms of cpu cycles.
+ *
+ * Every mutation increments the graph's {@link #getVersion()}, which {@link #beginTransaction()} uses for optimistic
+ * concurrency control. Readers which need a consistent view while the graph is concurrently modified (without
+ * holding any lock for the duration of a traversal) can use a {@link #snapshot()}.
  */
 public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements Graph<T, V, E> {
 
@@ -27,6 +41,21 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
 
     private final AdjacencyMatrix matrix;
 
+    private final Timer vertexAddTimer = Metrics.get().timer(MetricNames.VERTEX_ADD);
+    private final Timer vertexRemoveTimer = Metrics.get().timer(MetricNames.VERTEX_REMOVE);
+    private final Timer vertexReplaceTimer = Metrics.get().timer(MetricNames.VERTEX_REPLACE);
+    private final Timer edgeAddTimer = Metrics.get().timer(MetricNames.EDGE_ADD);
+    private final Counter edgesAdded = Metrics.get().counter(MetricNames.EDGES_ADDED);
+    private final Timer edgeRemoveTimer = Metrics.get().timer(MetricNames.EDGE_REMOVE);
+    private final Timer edgeReweightTimer = Metrics.get().timer(MetricNames.EDGE_REWEIGHT);
+    private final Timer clearTimer = Metrics.get().timer(MetricNames.CLEAR);
+    private final Timer pathfindTimer = Metrics.get().timer(MetricNames.PATHFIND);
+    private final Timer sortTimer = Metrics.get().timer(MetricNames.SORT);
+    private final Timer commitTimer = Metrics.get().timer(MetricNames.TRANSACTION_COMMIT);
+    private final Counter conflicts = Metrics.get().counter(MetricNames.TRANSACTION_CONFLICTS);
+
+    private volatile Snapshot<T, V, E> snapshot = null;
+
     public SimpleGraph() {
         this(false);
     }
@@ -157,7 +186,12 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
     @Override
     @Nonnull
     public List<V> sortVertices(@Nonnull SortStrategy<T, V, E, Graph<T, V, E>> strategy) {
-        return strategy.sort(this);
+        long start = sortTimer.start();
+        try {
+            return strategy.sort(this);
+        } finally {
+            sortTimer.stop(start);
+        }
     }
 
     @Override
@@ -169,7 +203,12 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
     @Override
     @Nonnull
     public List<E> pathfind(@Nonnull V vert1, @Nonnull V vert2, @Nonnull PathfindStrategy<T, V, E, Graph<T, V, E>> strategy) {
-        return strategy.pathfind(vert1, vert2, this);
+        long start = pathfindTimer.start();
+        try {
+            return strategy.pathfind(vert1, vert2, this);
+        } finally {
+            pathfindTimer.stop(start);
+        }
     }
 
     @Override
@@ -216,22 +255,86 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
 
     @Override
     public void addVertex(@Nonnull V vertex) {
-        matrix.add(vertex);
+        long start = vertexAddTimer.start();
+        try {
+            matrix.add(vertex);
+        } finally {
+            vertexAddTimer.stop(start);
+        }
     }
 
     @Override
     public void removeVertex(@Nonnull V vertex) {
-        matrix.delete(vertex);
+        long start = vertexRemoveTimer.start();
+        try {
+            matrix.delete(vertex);
+        } finally {
+            vertexRemoveTimer.stop(start);
+        }
+    }
+
+    @Override
+    public void replaceVertex(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire) {
+        long start = vertexReplaceTimer.start();
+        try {
+            matrix.replace(original, replacement, rewire);
+        } finally {
+            vertexReplaceTimer.stop(start);
+        }
     }
 
     @Override
     public void addEdge(@Nonnull E edge) {
-        matrix.add(edge);
+        long start = edgeAddTimer.start();
+        try {
+            matrix.add(edge);
+        } finally {
+            edgeAddTimer.stop(start);
+        }
+        edgesAdded.increment();
+    }
+
+    @Override
+    public void addEdges(@Nonnull Collection<? extends E> edges) {
+        long start = edgeAddTimer.start();
+        try {
+            matrix.addAll(edges);
+        } finally {
+            edgeAddTimer.stop(start);
+        }
+        edgesAdded.add(edges.size());
     }
 
     @Override
     public void removeEdge(@Nonnull E edge) {
-        matrix.delete(edge);
+        long start = edgeRemoveTimer.start();
+        try {
+            matrix.delete(edge);
+        } finally {
+            edgeRemoveTimer.stop(start);
+        }
+    }
+
+    /**
+     * Changes the weight of an edge under a single write lock acquisition. The stored edge is swapped for an equal copy
+     * with the new weight (see {@link com.austinv11.graphs.impl.SimpleEdge#withWeight(double)}), so copies and
+     * snapshots of this graph keep the weight they had. The stored edge is found among the edges of one of its
+     * vertices, so this is O(degree). Only the weights of {@link com.austinv11.graphs.impl.SimpleEdge}s can be changed.
+     *
+     * @param edge The edge, which must be in the graph.
+     * @param weight The new weight.
+     * @throws UnsupportedOperationException If the edge is not a {@link com.austinv11.graphs.impl.SimpleEdge}.
+     * @throws NoSuchElementException If the edge is not in the graph.
+     */
+    @Override
+    public void setEdgeWeight(@Nonnull E edge, double weight) {
+        long start = edgeReweightTimer.start();
+        try {
+            if (!matrix.reweight(edge, weight))
+                throw new NoSuchElementException("The edge " + edge + " is not in this graph");
+        } finally {
+            edgeReweightTimer.stop(start);
+        }
     }
 
     @Override
@@ -246,7 +349,12 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
 
     @Override
     public void clear() {
-        matrix.clear();
+        long start = clearTimer.start();
+        try {
+            matrix.clear();
+        } finally {
+            clearTimer.stop(start);
+        }
     }
 
     @Override
@@ -255,6 +363,59 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
         return new SimpleGraph<>(defaultTraversal, defaultSort, defaultPathfind, matrix.copy());
     }
 
+    /**
+     * Begins a transaction. Its commit fails with a
+     * {@link com.austinv11.graphs.util.TransactionConflictException} if any other mutation (including another
+     * transaction's commit) happened since it began.
+     *
+     * @return The new transaction.
+     */
+    @Override
+    @Nonnull
+    public Transaction<T, V, E> beginTransaction() {
+        return new SimpleTransaction();
+    }
+
+    /**
+     * Gets the events of this graph. Listeners are called while the graph is locked (in concurrent mode), in the
+     * order the mutations were applied. Events of a committed {@link com.austinv11.graphs.Transaction} are emitted
+     * together, while no other mutation can interleave.
+     *
+     * @return The events of this graph.
+     */
+    @Override
+    @Nonnull
+    public GraphEvents<T, V, E> events() {
+        return matrix.events;
+    }
+
+    /**
+     * Gets the current version of this graph, which is incremented by every mutation.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return matrix.version;
+    }
+
+    /**
+     * Gets a read only, consistent copy of this graph as of its current version. The copy is cached until the next
+     * mutation, so readers can call this freely.
+     *
+     * @return The snapshot, which throws {@link UnsupportedOperationException} when mutated.
+     */
+    @Nonnull
+    public Graph<T, V, E> snapshot() {
+        Snapshot<T, V, E> cached = snapshot;
+        if (cached != null && cached.version == matrix.version)
+            return cached;
+
+        AdjacencyMatrix copy = new AdjacencyMatrix(false, matrix);
+        cached = new Snapshot<>(new SimpleGraph<>(defaultTraversal, defaultSort, defaultPathfind, copy), copy.version);
+        snapshot = cached;
+        return cached;
+    }
+
     @Override
     @Nonnull
     public Iterator<T> iterator() {
@@ -279,9 +440,13 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
     private final class AdjacencyMatrix {
 
         private final ReadWriteLock lock;
+        private final Timer readWait = Metrics.get().timer(MetricNames.READ_LOCK_WAIT);
+        private final Timer writeWait = Metrics.get().timer(MetricNames.WRITE_LOCK_WAIT);
         private final Map<V, Set<E>> matrix;
         private final Map<T, V> vertexExchange;
         private final Supplier<Set<E>> setSupplier;
+        private volatile long version = 0; // Only incremented while holding the write lock
+        private final EventDispatcher<T, V, E> events = new EventDispatcher<>();
 
         AdjacencyMatrix(boolean concurrent) {
             if (concurrent) {
@@ -297,26 +462,28 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
             }
         }
 
-        public AdjacencyMatrix(boolean concurrent,
-                               Map<V, Set<E>> matrix,
-                               Map<T, V> vertexExchange,
-                               Supplier<Set<E>> setSupplier) {
-            if (concurrent) {
-                lock = new ReentrantReadWriteLock();
-                this.matrix = new ConcurrentHashMap<>(matrix);
-                this.vertexExchange = new ConcurrentHashMap<>(vertexExchange);
-            } else {
-                lock = null;
-                this.matrix = new HashMap<>(matrix);
-                this.vertexExchange = new HashMap<>(vertexExchange);
+        AdjacencyMatrix(boolean concurrent, AdjacencyMatrix from) {
+            this(concurrent);
+            from.readLock();
+            try {
+                from.matrix.forEach((v, edges) -> {
+                    Set<E> copy = setSupplier.get();
+                    copy.addAll(edges);
+                    matrix.put(v, copy);
+                });
+                vertexExchange.putAll(from.vertexExchange);
+                version = from.version;
+            } finally {
+                from.readUnlock();
             }
-
-            this.setSupplier = setSupplier;
         }
 
         private void writeLock() {
-            if (lock != null)
+            if (lock != null && !lock.writeLock().tryLock()) { // Only contended acquisitions are timed
+                long start = writeWait.start();
                 lock.writeLock().lock();
+                writeWait.stop(start);
+            }
         }
 
         private void writeUnlock() {
@@ -325,8 +492,11 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
         }
 
         private void readLock() {
-            if (lock != null)
+            if (lock != null && !lock.readLock().tryLock()) {
+                long start = readWait.start();
                 lock.readLock().lock();
+                readWait.stop(start);
+            }
         }
 
         private void readUnlock() {
@@ -384,46 +554,193 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
 
         void add(@Nonnull V v) {
             writeLock();
-            matrix.putIfAbsent(v, setSupplier.get());
-            vertexExchange.put(v.get(), v);
+            put(v);
+            version++;
             writeUnlock();
         }
 
         void add(@Nonnull E e) {
             writeLock();
-            matrix.putIfAbsent(e.getFirstVertex(), setSupplier.get());
-            vertexExchange.putIfAbsent(e.getFirstVertex().get(), e.getFirstVertex());
-            matrix.putIfAbsent(e.getSecondVertex(), setSupplier.get());
-            vertexExchange.putIfAbsent(e.getSecondVertex().get(), e.getSecondVertex());
-            matrix.get(e.getFirstVertex()).add(e);
-            matrix.get(e.getSecondVertex()).add(e);
+            link(e);
+            version++;
             writeUnlock();
         }
 
+        void addAll(@Nonnull Collection<? extends E> edges) {
+            writeLock();
+            try {
+                for (E e : edges) {
+                    link(e);
+                }
+                version++;
+            } finally {
+                writeUnlock();
+            }
+        }
+
+        // Applies the operations of a transaction atomically, unless the matrix has been modified since it began or a
+        // reweighted edge is missing
+        void apply(long expectedVersion, @Nonnull List<Consumer<AdjacencyMatrix>> operations,
+                   @Nonnull Collection<E> required, @Nullable E missing) {
+            writeLock();
+            try {
+                if (version != expectedVersion)
+                    throw new TransactionConflictException(expectedVersion, version);
+                for (Iterator<E> edges = required.iterator(); missing == null && edges.hasNext(); ) {
+                    E e = edges.next();
+                    Set<E> connected = matrix.get(e.getFirstVertex());
+                    if (connected == null || !connected.contains(e))
+                        missing = e;
+                }
+                if (missing != null)
+                    throw new NoSuchElementException("The edge " + missing + " is not in this graph");
+                if (operations.isEmpty())
+                    return;
+
+                for (Consumer<AdjacencyMatrix> operation : operations) {
+                    operation.accept(this);
+                }
+                version++;
+            } finally {
+                writeUnlock();
+            }
+        }
+
+        private void put(@Nonnull V v) {
+            if (matrix.putIfAbsent(v, setSupplier.get()) == null && events.isActive())
+                events.emit(GraphEvent.vertexAdded(v));
+            vertexExchange.put(v.get(), v);
+        }
+
+        private void link(@Nonnull E e) {
+            boolean added = attach(e.getFirstVertex(), e) | attach(e.getSecondVertex(), e);
+            if (added && events.isActive())
+                events.emit(GraphEvent.edgeAdded(e));
+        }
+
+        private boolean attach(@Nonnull V v, @Nonnull E e) {
+            Set<E> edges = matrix.get(v);
+            if (edges == null) {
+                edges = setSupplier.get();
+                matrix.put(v, edges);
+                if (events.isActive())
+                    events.emit(GraphEvent.vertexAdded(v));
+            }
+            vertexExchange.putIfAbsent(v.get(), v);
+            return edges.add(e);
+        }
+
         void delete(@Nonnull V v) {
             writeLock();
-            Collection<E> edges = matrix.remove(v);
+            unlink(v);
+            version++;
+            writeUnlock();
+        }
+
+        // Returns the edges which were connected to the vertex, or null if it was not present
+        @Nullable
+        private Set<E> unlink(@Nonnull V v) {
+            Set<E> edges = matrix.remove(v);
             if (edges != null) {
                 edges.forEach(e -> {
-                    V other = e.getFirstVertex().equals(v) ? e.getSecondVertex() : e.getFirstVertex();
-                    matrix.get(other).removeIf(edge -> edge.contains(other));
+                    Set<E> otherEdges = matrix.get(e.getOther(v));
+                    if (otherEdges != null)
+                        otherEdges.remove(e);
+                    if (events.isActive())
+                        events.emit(GraphEvent.edgeRemoved(e));
                 });
+                if (events.isActive())
+                    events.emit(GraphEvent.vertexRemoved(v));
+            }
+            vertexExchange.remove(v.get(), v);
+            return edges;
+        }
+
+        void replace(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire) {
+            writeLock();
+            try {
+                version++;
+                Set<E> edges = unlink(original);
+                put(replacement);
+                if (edges == null)
+                    return;
+
+                for (E e : edges) {
+                    link(rewire.apply(e));
+                }
+            } finally {
+                writeUnlock();
             }
-            vertexExchange.remove(v);
-            writeUnlock();
         }
 
         void delete(@Nonnull E e) {
             writeLock();
-            matrix.get(e.getFirstVertex()).remove(e);
-            matrix.get(e.getSecondVertex()).remove(e);
+            unlink(e);
+            version++;
             writeUnlock();
         }
 
+        boolean reweight(@Nonnull E e, double weight) {
+            writeLock();
+            try {
+                if (!reassign(e, weight))
+                    return false;
+                version++;
+                return true;
+            } finally {
+                writeUnlock();
+            }
+        }
+
+        // Swaps the stored edge for a reweighted copy, leaving the instance shared with copies untouched. Returns
+        // false if the edge is not present
+        private boolean reassign(@Nonnull E e, double weight) {
+            Set<E> first = matrix.get(e.getFirstVertex()), second = matrix.get(e.getSecondVertex());
+            if (first == null || second == null || !first.contains(e))
+                return false;
+
+            E current = null;
+            for (E candidate : first.size() <= second.size() ? first : second) {
+                if (candidate.equals(e)) {
+                    current = candidate;
+                    break;
+                }
+            }
+            double old = current.getWeight();
+            if (Double.compare(old, weight) == 0)
+                return true;
+
+            E replacement = reweighted(current, weight);
+            first.remove(current);
+            first.add(replacement);
+            if (second != first) {
+                second.remove(current);
+                second.add(replacement);
+            }
+            if (events.isActive())
+                events.emit(GraphEvent.weightChanged(replacement, old));
+            return true;
+        }
+
+        private void unlink(@Nonnull E e) {
+            boolean removed = false;
+            Set<E> edges = matrix.get(e.getFirstVertex());
+            if (edges != null)
+                removed = edges.remove(e);
+            edges = matrix.get(e.getSecondVertex());
+            if (edges != null)
+                removed |= edges.remove(e);
+            if (removed && events.isActive())
+                events.emit(GraphEvent.edgeRemoved(e));
+        }
+
         void clear() {
             writeLock();
             matrix.clear();
             vertexExchange.clear();
+            version++;
+            if (events.isActive())
+                events.emit(GraphEvent.cleared());
             writeUnlock();
         }
 
@@ -451,7 +768,176 @@ public class SimpleGraph<T, V extends Vertex<T>, E extends Edge<T,V>> implements
 
         @Nonnull
         AdjacencyMatrix copy() {
-            return new AdjacencyMatrix(lock != null, matrix, vertexExchange, setSupplier);
+            return new AdjacencyMatrix(lock != null, this);
+        }
+    }
+
+    private final class SimpleTransaction implements Transaction<T, V, E> {
+
+        private final long version = matrix.version;
+        private final List<Consumer<AdjacencyMatrix>> operations = new ArrayList<>();
+        // Tracks which edges the operations so far added or removed, so reweights can be checked before committing
+        private final Map<E, Boolean> present = new HashMap<>();
+        private final Set<V> removedVertices = new HashSet<>();
+        private final List<E> required = new ArrayList<>(); // Reweighted edges which must already be in the graph
+        private @Nullable E missing = null; // The first reweighted edge which the operations before it removed
+        private boolean open = true;
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void addVertex(@Nonnull V vertex) {
+            checkOpen();
+            operations.add(m -> m.put(vertex));
+        }
+
+        @Override
+        public void removeVertex(@Nonnull V vertex) {
+            checkOpen();
+            operations.add(m -> m.unlink(vertex));
+            present.replaceAll((edge, wasPresent) -> wasPresent && !edge.contains(vertex));
+            removedVertices.add(vertex);
+        }
+
+        @Override
+        public void addEdge(@Nonnull E edge) {
+            checkOpen();
+            operations.add(m -> m.link(edge));
+            present.put(edge, true);
+        }
+
+        @Override
+        public void removeEdge(@Nonnull E edge) {
+            checkOpen();
+            operations.add(m -> m.unlink(edge));
+            present.put(edge, false);
+        }
+
+        @Override
+        public void setEdgeWeight(@Nonnull E edge, double weight) {
+            checkOpen();
+            reweighted(edge, weight); // Fail now rather than half way through the commit
+            operations.add(m -> m.reassign(edge, weight));
+
+            Boolean added = present.get(edge);
+            if (added == null && !removedVertices.contains(edge.getFirstVertex())
+                    && !removedVertices.contains(edge.getSecondVertex())) {
+                required.add(edge);
+            } else if ((added == null || !added) && missing == null) {
+                missing = edge;
+            }
+        }
+
+        @Override
+        public void commit() throws TransactionConflictException {
+            checkOpen();
+            open = false;
+            long start = commitTimer.start();
+            try {
+                matrix.apply(version, operations, required, missing);
+            } catch (TransactionConflictException e) {
+                conflicts.increment();
+                throw e;
+            } finally {
+                commitTimer.stop(start);
+            }
+        }
+
+        @Override
+        public void rollback() {
+            open = false;
+            operations.clear();
+            present.clear();
+            removedVertices.clear();
+            required.clear();
+        }
+
+        private void checkOpen() {
+            if (!open)
+                throw new IllegalStateException("Transaction is no longer open!");
+        }
+    }
+
+    @SuppressWarnings("unchecked") // The copy has the class and vertices of the edge, so it is an E too
+    private static <E extends Edge<?, ?>> E reweighted(@Nonnull E edge, double weight) {
+        if (!(edge instanceof SimpleEdge))
+            throw new UnsupportedOperationException("Only the weights of SimpleEdges can be changed, not "
+                    + edge.getClass().getSimpleName());
+        SimpleEdge<?, ?> copy = ((SimpleEdge<?, ?>) edge).withWeight(weight);
+        if (copy.getClass() != edge.getClass())
+            throw new UnsupportedOperationException(edge.getClass().getSimpleName()
+                    + " does not override SimpleEdge.withWeight(double)");
+        return (E) copy;
+    }
+
+    /**
+     * A read only view of a copy of a graph.
+     */
+    private static final class Snapshot<T, V extends Vertex<T>, E extends Edge<T, V>> extends DelegatingGraph<T, V, E> {
+
+        private final long version;
+
+        Snapshot(@Nonnull SimpleGraph<T, V, E> copy, long version) {
+            super(copy);
+            this.version = version;
+        }
+
+        @Override
+        public void addVertex(@Nonnull V vertex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void removeVertex(@Nonnull V vertex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void replaceVertex(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addEdge(@Nonnull E edge) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addEdges(@Nonnull Collection<? extends E> edges) {
+            throw readOnly();
+        }
+
+        @Override
+        public void removeEdge(@Nonnull E edge) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEdgeWeight(@Nonnull E edge, double weight) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear() {
+            throw readOnly();
+        }
+
+        @Override
+        @Nonnull
+        public Graph<T, V, E> copy() {
+            return backing.copy(); // Copies are writable
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Snapshots are read only");
         }
     }
 
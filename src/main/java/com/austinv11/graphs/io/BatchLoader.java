@@ -0,0 +1,76 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Buffers imported edges and feeds them to {@link com.austinv11.graphs.Graph#addEdges(java.util.Collection)} in
+ * fixed size batches, so only one batch is ever held in memory.
+ */
+final class BatchLoader<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    private final Graph<T, V, E> graph;
+    private final Function<T, V> vertexFactory;
+    private final EdgeFactory<T, V, E> edgeFactory;
+    private final int batchSize;
+
+    private final List<E> batch;
+    private final Map<T, V> pending = new HashMap<>(); // Vertices only referenced by the unflushed batch
+    private long edgeCount = 0;
+
+    BatchLoader(Graph<T, V, E> graph, Function<T, V> vertexFactory, EdgeFactory<T, V, E> edgeFactory,
+                int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive");
+
+        this.graph = graph;
+        this.vertexFactory = vertexFactory;
+        this.edgeFactory = edgeFactory;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    private V vertex(T value) {
+        V vertex = pending.get(value);
+        if (vertex == null) {
+            vertex = graph.findVertex(value);
+            if (vertex == null) {
+                vertex = vertexFactory.apply(value);
+                pending.put(value, vertex);
+            }
+        }
+        return vertex;
+    }
+
+    void vertexOnly(T value) {
+        if (pending.containsKey(value) || graph.findVertex(value) != null)
+            return;
+
+        graph.addVertex(vertexFactory.apply(value));
+    }
+
+    void edge(T first, T second, double weight, boolean directed) {
+        batch.add(edgeFactory.create(vertex(first), vertex(second), weight, directed));
+        edgeCount++;
+        if (batch.size() >= batchSize)
+            flush();
+    }
+
+    void flush() {
+        if (!batch.isEmpty())
+            graph.addEdges(batch);
+        batch.clear();
+        pending.clear();
+    }
+
+    long getEdgeCount() {
+        return edgeCount;
+    }
+}
@@ -0,0 +1,240 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static com.austinv11.graphs.io.GraphFormat.*;
+
+/**
+ * Writes a {@link com.austinv11.graphs.Graph} to a compact binary file, which can be loaded instantly with
+ * {@link com.austinv11.graphs.io.MappedGraph#open(Path, ValueCodec)}. The file holds a vertex table of encoded values,
+ * the edges in compressed sparse row (CSR) form along with their weights and directedness and an index of edges by
+ * their second vertex.
+ *
+ * The graph is streamed through a {@link java.nio.channels.FileChannel} in a single pass over its vertices, so only
+ * a few primitive arrays (O(|V| + |E|) ints) are held in memory while writing. Null vertex values are not supported.
+ */
+public class BinaryGraphWriter<T> {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ValueCodec<T> codec;
+
+    public BinaryGraphWriter(@Nonnull ValueCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Writes a graph to a file, replacing the file if it already exists. The file is forced to the storage device
+     * before this returns.
+     *
+     * @param graph The graph to write.
+     * @param path The file to write to.
+     * @throws IOException If the file could not be written.
+     */
+    public <V extends Vertex<T>, E extends Edge<T, V>> void write(@Nonnull Graph<T, V, E> graph,
+                                                                  @Nonnull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(graph, channel);
+            channel.force(true);
+        }
+    }
+
+    private <V extends Vertex<T>, E extends Edge<T, V>> void write(Graph<T, V, E> graph,
+                                                                   FileChannel channel) throws IOException {
+        ChannelOutput out = new ChannelOutput(channel, HEADER_SIZE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(0, MAGIC).putInt(4, VERSION);
+
+        // Vertex payloads
+        List<V> byIndex = new ArrayList<>(graph.vertices());
+        int n = byIndex.size();
+        Map<V, Integer> indices = new HashMap<>(n * 4 / 3 + 1);
+        for (int i = 0; i < n; i++) {
+            indices.put(byIndex.get(i), i);
+        }
+        header.putInt(VERTEX_COUNT_AT, n);
+
+        long[] payloadOffsets = new long[n + 1];
+        int[] hashes = new int[n];
+        long payloadsStart = out.position();
+        header.putLong(PAYLOADS_AT, payloadsStart);
+        for (int i = 0; i < n; i++) {
+            T value = byIndex.get(i).get();
+            if (value == null)
+                throw new IllegalArgumentException("Vertices holding null cannot be written");
+
+            byte[] encoded = codec.encode(value);
+            hashes[i] = hash(ByteBuffer.wrap(encoded));
+            out.put(encoded);
+            payloadOffsets[i + 1] = out.position() - payloadsStart;
+        }
+        out.align();
+
+        header.putLong(PAYLOAD_INDEX_AT, out.position());
+        for (long offset : payloadOffsets) {
+            out.putLong(offset);
+        }
+
+        // Hash table for lookups by value
+        int capacity = hashCapacity(n);
+        int[] table = new int[capacity];
+        for (int i = 0; i < n; i++) {
+            int slot = hashes[i] & (capacity - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = i + 1;
+        }
+        header.putLong(HASH_TABLE_AT, out.position()).putInt(HASH_CAPACITY_AT, capacity);
+        for (int slot : table) {
+            out.putInt(slot);
+        }
+        out.align();
+
+        // Edges grouped by first vertex, streamed vertex by vertex
+        int[] outOffsets = new int[n + 1];
+        int[] inDegrees = new int[n];
+        int[] seconds = new int[Math.max(16, n)];
+        int m = 0;
+        header.putLong(EDGES_AT, out.position());
+        for (int i = 0; i < n; i++) {
+            V vertex = byIndex.get(i);
+            for (E edge : graph.getConnectedEdges(vertex)) {
+                if (!edge.getFirstVertex().equals(vertex))
+                    continue; // Written from its first vertex instead
+
+                Integer second = indices.get(edge.getSecondVertex());
+                if (second == null)
+                    throw new IllegalArgumentException("Edge references a vertex which is not in the graph");
+
+                out.putInt(second);
+                out.putInt(edge.isDirected() ? DIRECTED_FLAG : 0);
+                out.putDouble(edge.getWeight());
+                if (m == seconds.length)
+                    seconds = Arrays.copyOf(seconds, seconds.length * 2);
+                seconds[m++] = second;
+                inDegrees[second]++;
+            }
+            outOffsets[i + 1] = m;
+        }
+        header.putLong(EDGE_COUNT_AT, m);
+
+        header.putLong(OUT_OFFSETS_AT, out.position());
+        for (int offset : outOffsets) {
+            out.putInt(offset);
+        }
+        out.align();
+
+        // Edges grouped by second vertex
+        int[] inOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            inOffsets[i + 1] = inOffsets[i] + inDegrees[i];
+        }
+        header.putLong(IN_OFFSETS_AT, out.position());
+        for (int offset : inOffsets) {
+            out.putInt(offset);
+        }
+        out.align();
+
+        int[] inEdges = new int[2 * m];
+        int[] cursor = Arrays.copyOf(inOffsets, n);
+        for (int i = 0; i < n; i++) {
+            for (int edge = outOffsets[i]; edge < outOffsets[i + 1]; edge++) {
+                int at = cursor[seconds[edge]]++;
+                inEdges[2 * at] = edge;
+                inEdges[2 * at + 1] = i;
+            }
+        }
+        header.putLong(IN_EDGES_AT, out.position());
+        for (int value : inEdges) {
+            out.putInt(value);
+        }
+        out.align();
+
+        header.putLong(LENGTH_AT, out.position());
+        out.flush();
+
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static final class ChannelOutput {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long position;
+
+        private ChannelOutput(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        private long position() {
+            return position;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes)
+                flush();
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        private void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+            position += Long.BYTES;
+        }
+
+        private void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        private void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+            position += bytes.length;
+        }
+
+        private void align() throws IOException {
+            while ((position & 7) != 0) {
+                ensure(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            long at = position - buffer.remaining();
+            while (buffer.hasRemaining()) {
+                at += channel.write(buffer, at);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,805 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.impl.DelegatingGraph;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * This is a {@link com.austinv11.graphs.Graph} wrapper which makes a (typically in-memory) backing graph durable.
+ * Every mutation is applied to the backing graph and then appended to a write-ahead log, and the graph is periodically
+ * checkpointed to a binary snapshot (see {@link com.austinv11.graphs.io.BinaryGraphWriter}) after which the log is
+ * discarded. When opened, the latest snapshot is loaded and the tail of the log is replayed on top of it.
+ *
+ * Log records are framed with their length and a CRC32 checksum, so a record torn by a crash is detected and discarded
+ * during recovery. How long a mutation waits for its record to reach the storage device is configurable, see
+ * {@link Durability}. Mutations are serialized (so the log order always matches the order mutations were applied in)
+ * while reads go straight to the backing graph. Vertices holding null are not supported.
+ *
+ * Note that mutations applied directly to the backing graph bypass the log.
+ *
+ * @see #builder(Path, Graph, ValueCodec, Function, EdgeFactory)
+ * @see <a href="https://en.wikipedia.org/wiki/Write-ahead_logging">Wikipedia page</a>
+ */
+public class DurableGraph<T, V extends Vertex<T>, E extends Edge<T, V>> extends DelegatingGraph<T, V, E>
+        implements Closeable {
+
+    /**
+     * The trade-off between mutation latency and how much may be lost on a crash.
+     */
+    public enum Durability {
+        /**
+         * Every mutation returns only once it is on the storage device. Concurrent mutations which are waiting on the
+         * same sync are committed together.
+         */
+        SYNC,
+        /**
+         * Every mutation returns only once it is on the storage device, but syncs are batched by the commit interval.
+         * This trades latency for much higher throughput under concurrent writers.
+         */
+        GROUP,
+        /**
+         * Mutations return immediately and are synced in the background every commit interval, so up to one interval
+         * of mutations may be lost on a crash.
+         */
+        ASYNC
+    }
+
+    private static final int LOG_MAGIC = 0x5347574C; // "SGWL"
+    private static final int LOG_VERSION = 1;
+    private static final int LOG_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 1 << 26;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte CLEAR = 5;
+    private static final byte SET_WEIGHT = 6;
+
+    private static final Pattern LOG_NAME = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.sgbf");
+
+    private final Path directory;
+    private final ValueCodec<T> codec;
+    private final Function<T, V> vertexFactory;
+    private final EdgeFactory<T, V, E> edgeFactory;
+    private final Durability durability;
+    private final long maxBatchBytes;
+    private final long checkpointBytes;
+
+    private final Object mutationLock = new Object(); // Serializes mutations, so log order matches apply order
+    private final Object flushLock = new Object(); // Serializes writes to the log file
+    private final Object bufferLock = new Object(); // Guards the buffered records and log positions
+
+    private final ScheduledExecutorService scheduler;
+
+    private FileChannel log;
+    private long generation;
+    private ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+    private long appended, durable; // Log positions
+    private volatile IOException failure;
+    private IOException writeFailure; // Guarded by the flush lock, cleared once the records are written
+    private volatile boolean closed = false;
+
+    private DurableGraph(Builder<T, V, E> builder) throws IOException {
+        super(builder.backing);
+        this.directory = builder.directory;
+        this.codec = builder.codec;
+        this.vertexFactory = builder.vertexFactory;
+        this.edgeFactory = builder.edgeFactory;
+        this.durability = builder.durability;
+        this.maxBatchBytes = builder.maxBatchBytes;
+        this.checkpointBytes = builder.checkpointBytes;
+
+        Files.createDirectories(directory);
+        recover();
+
+        if (durability != Durability.SYNC || checkpointBytes > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "DurableGraph-" + directory.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = Math.max(1, builder.commitInterval.toNanos());
+            scheduler.scheduleWithFixedDelay(this::background, interval, interval, TimeUnit.NANOSECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Creates a builder which opens (recovering if needed) a durable graph.
+     *
+     * @param directory The directory holding the log and snapshots.
+     * @param backing The (empty) graph to recover into and wrap.
+     * @param codec The codec for vertex values.
+     * @param vertexFactory Recreates vertices from their values.
+     * @param edgeFactory Recreates edges.
+     * @return The builder instance.
+     */
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> Builder<T, V, E> builder(
+            @Nonnull Path directory, @Nonnull Graph<T, V, E> backing, @Nonnull ValueCodec<T> codec,
+            @Nonnull Function<T, V> vertexFactory, @Nonnull EdgeFactory<T, V, E> edgeFactory) {
+        return new Builder<>(directory, backing, codec, vertexFactory, edgeFactory);
+    }
+
+    // Recovery
+
+    private void recover() throws IOException {
+        long snapshotGeneration = -1;
+        TreeMap<Long, Path> logs = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Matcher snapshot = SNAPSHOT_NAME.matcher(name);
+                Matcher wal = LOG_NAME.matcher(name);
+                if (snapshot.matches()) {
+                    snapshotGeneration = Math.max(snapshotGeneration, Long.parseLong(snapshot.group(1)));
+                } else if (wal.matches()) {
+                    logs.put(Long.parseLong(wal.group(1)), file);
+                }
+            }
+        }
+
+        if (snapshotGeneration >= 0)
+            loadSnapshot(snapshotPath(snapshotGeneration));
+
+        generation = Math.max(snapshotGeneration, 0);
+        for (Map.Entry<Long, Path> entry : logs.entrySet()) {
+            if (entry.getKey() < snapshotGeneration) {
+                Files.deleteIfExists(entry.getValue()); // Already covered by the snapshot
+                continue;
+            }
+            replay(entry.getValue(), entry.getKey().equals(logs.lastKey()));
+            generation = entry.getKey();
+        }
+        deleteSnapshotsBefore(snapshotGeneration);
+
+        log = openLog(logPath(generation));
+        appended = durable = log.size();
+    }
+
+    private void loadSnapshot(Path snapshot) throws IOException {
+        MappedGraph<T> mapped = MappedGraph.open(snapshot, codec);
+        for (T value : mapped.values()) {
+            backing.addVertex(vertexFactory.apply(value));
+        }
+
+        List<E> batch = new ArrayList<>();
+        for (Edge<T, ?> edge : mapped.edges()) {
+            batch.add(edgeFactory.create(backing.findVertex(edge.getFirst()), backing.findVertex(edge.getSecond()),
+                    edge.getWeight(), edge.isDirected()));
+            if (batch.size() >= EdgeListReader.DEFAULT_BATCH_SIZE) {
+                backing.addEdges(batch);
+                batch.clear();
+            }
+        }
+        backing.addEdges(batch);
+    }
+
+    private void replay(Path file, boolean last) throws IOException {
+        long good = LOG_HEADER_SIZE;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (Files.size(file) < LOG_HEADER_SIZE || in.readInt() != LOG_MAGIC || in.readInt() != LOG_VERSION)
+                throw new IOException("Not a write-ahead log: " + file);
+
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_SIZE)
+                    break;
+
+                byte[] record = new byte[length];
+                int checksum;
+                try {
+                    checksum = in.readInt();
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != checksum)
+                    break;
+
+                apply(ByteBuffer.wrap(record));
+                good += 8 + length;
+            }
+        }
+
+        if (good < Files.size(file)) {
+            if (!last)
+                throw new IOException("Corrupt write-ahead log: " + file);
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(good); // Discard the torn tail
+                channel.force(true);
+            }
+        }
+    }
+
+    private void apply(ByteBuffer record) {
+        byte type = record.get();
+        switch (type) {
+            case ADD_VERTEX:
+                backing.addVertex(vertexFactory.apply(readValue(record)));
+                break;
+            case REMOVE_VERTEX: {
+                V vertex = backing.findVertex(readValue(record));
+                if (vertex != null)
+                    backing.removeVertex(vertex);
+                break;
+            }
+            case ADD_EDGE: {
+                V first = vertexFor(readValue(record));
+                V second = vertexFor(readValue(record));
+                backing.addEdge(edgeFactory.create(first, second, record.getDouble(), record.get() != 0));
+                break;
+            }
+            case REMOVE_EDGE: {
+                E edge = find(record);
+                if (edge != null)
+                    backing.removeEdge(edge);
+                break;
+            }
+            case SET_WEIGHT: {
+                E edge = find(record);
+                double weight = record.getDouble();
+                if (edge != null)
+                    backing.setEdgeWeight(edge, weight);
+                break;
+            }
+            case CLEAR:
+                backing.clear();
+                break;
+            default:
+                throw new IllegalStateException("Unknown log record type " + type);
+        }
+    }
+
+    // Reads an edge record's fields and finds the matching edge of the backing graph
+    @Nullable
+    private E find(ByteBuffer record) {
+        V first = backing.findVertex(readValue(record));
+        V second = backing.findVertex(readValue(record));
+        double weight = record.getDouble();
+        boolean directed = record.get() != 0;
+        if (first == null || second == null)
+            return null;
+        for (E edge : backing.getConnections(first, second)) {
+            if (edge.getFirstVertex().equals(first) && edge.getSecondVertex().equals(second)
+                    && edge.getWeight() == weight && edge.isDirected() == directed)
+                return edge;
+        }
+        return null;
+    }
+
+    private V vertexFor(T value) {
+        V vertex = backing.findVertex(value);
+        return vertex != null ? vertex : vertexFactory.apply(value);
+    }
+
+    private T readValue(ByteBuffer record) {
+        int length = record.getInt();
+        ByteBuffer value = record.slice();
+        value.limit(length);
+        record.position(record.position() + length);
+        return codec.decode(value);
+    }
+
+    // Logging
+
+    private FileChannel openLog(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE).putInt(LOG_MAGIC).putInt(LOG_VERSION);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+            syncDirectory();
+        }
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private Path logPath(long generation) {
+        return directory.resolve("wal-" + generation + ".log");
+    }
+
+    private Path snapshotPath(long generation) {
+        return directory.resolve("snapshot-" + generation + ".sgbf");
+    }
+
+    private byte[] record(byte type, Object... fields) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            for (Object field : fields) {
+                if (field instanceof Double) {
+                    out.writeDouble((Double) field);
+                } else if (field instanceof Boolean) {
+                    out.writeByte((Boolean) field ? 1 : 0);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    T value = (T) field;
+                    if (value == null)
+                        throw new IllegalArgumentException("Vertices holding null cannot be logged");
+                    byte[] encoded = codec.encode(value);
+                    out.writeInt(encoded.length);
+                    out.write(encoded);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] edgeRecord(byte type, E edge) {
+        return record(type, edge.getFirst(), edge.getSecond(), edge.getWeight(), edge.isDirected());
+    }
+
+    // Must be called while holding the mutation lock, returns the log position to wait for
+    private long append(byte[]... records) {
+        CRC32 crc = new CRC32();
+        synchronized (bufferLock) {
+            for (byte[] record : records) {
+                crc.reset();
+                crc.update(record, 0, record.length);
+                writeInt(buffered, record.length);
+                writeInt(buffered, (int) crc.getValue());
+                buffered.write(record, 0, record.length);
+                appended += 8 + record.length;
+            }
+            return appended;
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private void commit(long position) {
+        switch (durability) {
+            case SYNC:
+                flush(position);
+                break;
+            case GROUP:
+                if (pendingBytes() >= maxBatchBytes) {
+                    flush(position);
+                    break;
+                }
+                synchronized (bufferLock) {
+                    boolean interrupted = false;
+                    while (durable < position && failure == null && !closed) {
+                        try {
+                            bufferLock.wait();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted)
+                        Thread.currentThread().interrupt();
+                }
+                break;
+            case ASYNC:
+                if (pendingBytes() >= maxBatchBytes)
+                    flush(position);
+                break;
+        }
+        checkFailure();
+    }
+
+    private long pendingBytes() {
+        synchronized (bufferLock) {
+            return appended - durable;
+        }
+    }
+
+    // Writes and syncs everything appended so far, unless the given position is already durable. If that fails, the
+    // records are kept and the next flush writes them again over whatever part of them reached the log
+    private void flush(long position) {
+        synchronized (flushLock) {
+            byte[] bytes;
+            long from, upTo;
+            synchronized (bufferLock) {
+                if (durable >= position)
+                    return; // Committed by another thread in the meantime
+                bytes = buffered.toByteArray();
+                buffered = new ByteArrayOutputStream();
+                from = durable;
+                upTo = appended;
+            }
+
+            IOException error = null;
+            try {
+                if (!log.isOpen()) // Closed by an interrupt during a previous write
+                    log = openLog(logPath(generation));
+                if (log.position() != from) { // A previous write failed part way through
+                    log.truncate(from);
+                    log.position(from);
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    log.write(buffer);
+                }
+                log.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            synchronized (bufferLock) {
+                if (error == null) {
+                    durable = upTo;
+                    if (failure == writeFailure) // Rather than an unrelated failure, such as of a checkpoint
+                        failure = null;
+                    writeFailure = null;
+                } else {
+                    ByteArrayOutputStream restored = new ByteArrayOutputStream(bytes.length + buffered.size());
+                    restored.write(bytes, 0, bytes.length);
+                    restored.write(buffered.toByteArray(), 0, buffered.size()); // Appended in the meantime
+                    buffered = restored;
+                    failure = writeFailure = error;
+                }
+                bufferLock.notifyAll();
+            }
+        }
+    }
+
+    private void checkFailure() {
+        IOException e = failure;
+        if (e != null)
+            throw new UncheckedIOException("Write-ahead log failed", e);
+        if (closed)
+            throw new IllegalStateException("This graph has been closed");
+    }
+
+    private void background() {
+        try {
+            flush(Long.MAX_VALUE);
+            if (checkpointBytes > 0 && durable - LOG_HEADER_SIZE >= checkpointBytes)
+                checkpoint();
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive, failures are surfaced on the next mutation
+        }
+    }
+
+    /**
+     * Forces every mutation so far to the storage device, regardless of the durability mode.
+     */
+    public void sync() {
+        flush(Long.MAX_VALUE);
+        checkFailure();
+    }
+
+    /**
+     * Writes a snapshot of the graph and discards the write-ahead log. Mutations are blocked while the snapshot is
+     * written.
+     *
+     * @throws IOException If the snapshot could not be written.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (mutationLock) {
+            checkFailure();
+            flush(Long.MAX_VALUE);
+            checkFailure();
+
+            long next = generation + 1;
+            Path temp = directory.resolve("snapshot-" + next + ".tmp");
+            new BinaryGraphWriter<>(codec).write(backing, temp);
+            Files.move(temp, snapshotPath(next), StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+
+            synchronized (flushLock) {
+                FileChannel previous = log;
+                log = openLog(logPath(next));
+                synchronized (bufferLock) {
+                    appended = durable = log.size();
+                }
+                previous.close();
+                generation = next; // Under the flush lock, since a flush may need to reopen the log
+            }
+            Files.deleteIfExists(logPath(next - 1));
+            deleteSnapshotsBefore(next);
+        }
+    }
+
+    private void deleteSnapshotsBefore(long generation) throws IOException {
+        for (long g = generation - 1; g >= 0 && Files.deleteIfExists(snapshotPath(g)); g--) {
+            // Older snapshots were deleted by previous checkpoints
+        }
+    }
+
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform
+        }
+    }
+
+    /**
+     * Syncs the log and closes it. Further mutations will fail.
+     *
+     * @throws IOException If the log could not be synced.
+     */
+    @Override
+    public void close() throws IOException {
+        boolean interrupted = false;
+        if (scheduler != null) { // Outside the mutation lock, since a background checkpoint needs it
+            scheduler.shutdown(); // Interrupting a background flush would close the log under it
+            while (!scheduler.isTerminated()) {
+                try {
+                    scheduler.awaitTermination(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        try {
+            synchronized (mutationLock) {
+                if (closed)
+                    return;
+
+                flush(Long.MAX_VALUE);
+                synchronized (bufferLock) {
+                    closed = true;
+                    bufferLock.notifyAll();
+                }
+                log.close();
+                if (failure != null)
+                    throw failure;
+            }
+        } finally {
+            if (interrupted) // Only now, so the final flush is not interrupted
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    // Mutations
+
+    @Override
+    public void addVertex(@Nonnull V vertex) {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            byte[] record = record(ADD_VERTEX, vertex.get());
+            backing.addVertex(vertex);
+            position = append(record);
+        }
+        commit(position);
+    }
+
+    @Override
+    public void removeVertex(@Nonnull V vertex) {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            byte[] record = record(REMOVE_VERTEX, vertex.get());
+            backing.removeVertex(vertex);
+            position = append(record);
+        }
+        commit(position);
+    }
+
+    @Override
+    public void replaceVertex(@Nonnull V original, @Nonnull V replacement, @Nonnull Function<E, E> rewire) {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            Map<E, E> rewired = new IdentityHashMap<>();
+            for (E edge : backing.getConnectedEdges(original)) {
+                rewired.put(edge, rewire.apply(edge));
+            }
+
+            List<byte[]> records = new ArrayList<>();
+            records.add(record(REMOVE_VERTEX, original.get()));
+            records.add(record(ADD_VERTEX, replacement.get()));
+            for (E edge : rewired.values()) {
+                records.add(edgeRecord(ADD_EDGE, edge));
+            }
+
+            backing.replaceVertex(original, replacement, edge -> {
+                E mapped = rewired.get(edge);
+                return mapped != null ? mapped : rewire.apply(edge);
+            });
+            position = append(records.toArray(new byte[0][]));
+        }
+        commit(position);
+    }
+
+    @Override
+    public void addEdge(@Nonnull E edge) {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            byte[] record = edgeRecord(ADD_EDGE, edge);
+            backing.addEdge(edge);
+            position = append(record);
+        }
+        commit(position);
+    }
+
+    @Override
+    public void addEdges(@Nonnull Collection<? extends E> edges) {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            byte[][] records = new byte[edges.size()][];
+            int i = 0;
+            for (E edge : edges) {
+                records[i++] = edgeRecord(ADD_EDGE, edge);
+            }
+            backing.addEdges(edges);
+            position = append(records);
+        }
+        commit(position);
+    }
+
+    @Override
+    public void removeEdge(@Nonnull E edge) {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            byte[] record = edgeRecord(REMOVE_EDGE, edge);
+            backing.removeEdge(edge);
+            position = append(record);
+        }
+        commit(position);
+    }
+
+    /**
+     * Changes the weight of an edge of the backing graph, logged as a single record.
+     *
+     * @param edge The edge, which must be in the graph.
+     * @param weight The new weight.
+     */
+    @Override
+    public void setEdgeWeight(@Nonnull E edge, double weight) {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            byte[] record = record(SET_WEIGHT, edge.getFirst(), edge.getSecond(), edge.getWeight(), edge.isDirected(),
+                    weight);
+            backing.setEdgeWeight(edge, weight);
+            position = append(record);
+        }
+        commit(position);
+    }
+
+    @Override
+    public void clear() {
+        long position;
+        synchronized (mutationLock) {
+            checkFailure();
+            backing.clear();
+            position = append(record(CLEAR));
+        }
+        commit(position);
+    }
+
+    /**
+     * Copies the current contents into a new, non-durable graph.
+     *
+     * @return A copy of the backing graph.
+     */
+    @Override
+    @Nonnull
+    public Graph<T, V, E> copy() {
+        synchronized (mutationLock) {
+            return backing.copy();
+        }
+    }
+
+    /**
+     * A durable graph builder.
+     */
+    public static class Builder<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+        private final Path directory;
+        private final Graph<T, V, E> backing;
+        private final ValueCodec<T> codec;
+        private final Function<T, V> vertexFactory;
+        private final EdgeFactory<T, V, E> edgeFactory;
+        private Durability durability = Durability.GROUP;
+        private Duration commitInterval = Duration.ofMillis(5);
+        private long maxBatchBytes = 1 << 20;
+        private long checkpointBytes = 64L << 20;
+
+        public Builder(@Nonnull Path directory, @Nonnull Graph<T, V, E> backing, @Nonnull ValueCodec<T> codec,
+                       @Nonnull Function<T, V> vertexFactory, @Nonnull EdgeFactory<T, V, E> edgeFactory) {
+            this.directory = directory;
+            this.backing = backing;
+            this.codec = codec;
+            this.vertexFactory = vertexFactory;
+            this.edgeFactory = edgeFactory;
+        }
+
+        /**
+         * Sets the durability mode.
+         *
+         * @param durability The durability mode (default is {@link Durability#GROUP}).
+         * @return Same builder instance for chaining.
+         */
+        public Builder<T, V, E> setDurability(@Nonnull Durability durability) {
+            this.durability = durability;
+            return this;
+        }
+
+        /**
+         * Sets how often buffered log records are synced in the {@link Durability#GROUP} and
+         * {@link Durability#ASYNC} modes, which is also how often the checkpoint threshold is checked.
+         *
+         * @param commitInterval The interval (default is 5ms).
+         * @return Same builder instance for chaining.
+         */
+        public Builder<T, V, E> setCommitInterval(@Nonnull Duration commitInterval) {
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        /**
+         * Sets how many bytes may be buffered before a mutation syncs the log itself rather than waiting for the
+         * commit interval.
+         *
+         * @param maxBatchBytes The maximum batch size (default is 1 MiB).
+         * @return Same builder instance for chaining.
+         */
+        public Builder<T, V, E> setMaxBatchBytes(long maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
+        /**
+         * Sets how large the log may grow before a checkpoint is taken automatically.
+         *
+         * @param checkpointBytes The threshold, or 0 to only checkpoint explicitly (default is 64 MiB).
+         * @return Same builder instance for chaining.
+         */
+        public Builder<T, V, E> setCheckpointBytes(long checkpointBytes) {
+            this.checkpointBytes = checkpointBytes;
+            return this;
+        }
+
+        /**
+         * Opens the graph, loading the latest snapshot and replaying the log into the backing graph.
+         *
+         * @return The durable graph.
+         * @throws IOException If recovery failed.
+         */
+        public DurableGraph<T, V, E> open() throws IOException {
+            return new DurableGraph<>(this);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Vertex;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleVertex;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This represents a way to create edges for a graph, used when importing graphs.
+ *
+ * @param <T> The object type held in vertices.
+ * @param <V> The vertex type.
+ * @param <E> The edge type.
+ */
+@FunctionalInterface
+public interface EdgeFactory<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    /**
+     * Creates an edge.
+     *
+     * @param first The first vertex.
+     * @param second The second vertex.
+     * @param weight The weight.
+     * @param directed Whether the edge is directed.
+     * @return The edge.
+     */
+    @Nonnull
+    E create(@Nonnull V first, @Nonnull V second, double weight, boolean directed);
+
+    /**
+     * Gets a factory producing {@link com.austinv11.graphs.impl.SimpleEdge}s.
+     *
+     * @return The factory.
+     */
+    @Nonnull
+    static <T> EdgeFactory<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> simple() {
+        return SimpleEdge::new;
+    }
+}
@@ -0,0 +1,99 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a plain text edge list into a {@link com.austinv11.graphs.Graph}. Each line holds a first vertex, a second
+ * vertex and an optional weight (0 if absent), separated by tabs or, if the line has no tabs, by whitespace. A line with
+ * a single value declares an isolated vertex, and blank lines or lines starting with {@code #} or {@code %} are
+ * ignored.
+ *
+ * The file is read line by line and edges are added through {@link com.austinv11.graphs.Graph#addEdges(java.util.Collection)}
+ * in batches, so the file is never held in memory as a whole.
+ *
+ * @see com.austinv11.graphs.io.EdgeListWriter
+ */
+public class EdgeListReader<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    /**
+     * The default number of edges added per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Pattern TAB = Pattern.compile("\t");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Function<String, T> parser;
+    private final Function<T, V> vertexFactory;
+    private final EdgeFactory<T, V, E> edgeFactory;
+    private final boolean directed;
+    private final int batchSize;
+
+    public EdgeListReader(@Nonnull Function<String, T> parser, @Nonnull Function<T, V> vertexFactory,
+                          @Nonnull EdgeFactory<T, V, E> edgeFactory, boolean directed) {
+        this(parser, vertexFactory, edgeFactory, directed, DEFAULT_BATCH_SIZE);
+    }
+
+    public EdgeListReader(@Nonnull Function<String, T> parser, @Nonnull Function<T, V> vertexFactory,
+                          @Nonnull EdgeFactory<T, V, E> edgeFactory, boolean directed, int batchSize) {
+        this.parser = parser;
+        this.vertexFactory = vertexFactory;
+        this.edgeFactory = edgeFactory;
+        this.directed = directed;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads an edge list into a graph.
+     *
+     * @param path The file to read.
+     * @param graph The graph to add the vertices and edges to.
+     * @return The number of edges read.
+     * @throws IOException If the file could not be read or is malformed.
+     */
+    public long read(@Nonnull Path path, @Nonnull Graph<T, V, E> graph) throws IOException {
+        BatchLoader<T, V, E> loader = new BatchLoader<>(graph, vertexFactory, edgeFactory, batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path),
+                StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.charAt(0) == '#' || trimmed.charAt(0) == '%')
+                    continue;
+
+                String[] fields = (trimmed.indexOf('\t') >= 0 ? TAB : WHITESPACE).split(trimmed);
+                if (fields.length == 1) {
+                    loader.vertexOnly(parser.apply(fields[0]));
+                    continue;
+                }
+
+                double weight = 0;
+                if (fields.length > 2) {
+                    try {
+                        weight = Double.parseDouble(fields[2]);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Malformed weight on line " + lineNumber + ": " + fields[2], e);
+                    }
+                }
+                loader.edge(parser.apply(fields[0]), parser.apply(fields[1]), weight, directed);
+            }
+        }
+        loader.flush();
+        return loader.getEdgeCount();
+    }
+}
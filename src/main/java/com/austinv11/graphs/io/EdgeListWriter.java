@@ -0,0 +1,82 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Streams a {@link com.austinv11.graphs.Graph} to a tab separated edge list, as read by
+ * {@link com.austinv11.graphs.io.EdgeListReader}. Isolated vertices are written as single value lines. Edge direction
+ * is not recorded, it is up to the reader to decide whether edges are directed.
+ *
+ * Edges are written vertex by vertex straight from {@link com.austinv11.graphs.Graph#getConnectedEdges(Vertex)},
+ * each edge being written when its first vertex is visited, so the edge set is never copied.
+ */
+public class EdgeListWriter<T> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Function<? super T, String> formatter;
+
+    public EdgeListWriter() {
+        this(String::valueOf);
+    }
+
+    /**
+     * @param formatter Converts vertex values to text, the result must not contain tabs or line breaks.
+     */
+    public EdgeListWriter(@Nonnull Function<? super T, String> formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * Writes a graph to a file, replacing the file if it already exists.
+     *
+     * @param graph The graph to write.
+     * @param path The file to write to.
+     * @return The number of edges written.
+     * @throws IOException If the file could not be written.
+     */
+    public <V extends Vertex<T>, E extends Edge<T, V>> long write(@Nonnull Graph<T, V, E> graph,
+                                                                  @Nonnull Path path) throws IOException {
+        long count = 0;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path),
+                StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            for (V vertex : graph.vertices()) {
+                Collection<E> edges = graph.getConnectedEdges(vertex);
+                if (edges.isEmpty()) {
+                    writer.write(formatter.apply(vertex.get()));
+                    writer.newLine();
+                    continue;
+                }
+
+                String first = null;
+                for (E edge : edges) {
+                    if (!edge.getFirstVertex().equals(vertex))
+                        continue; // Written from its first vertex instead
+
+                    if (first == null)
+                        first = formatter.apply(vertex.get());
+                    writer.write(first);
+                    writer.write('\t');
+                    writer.write(formatter.apply(edge.getSecond()));
+                    writer.write('\t');
+                    writer.write(Double.toString(edge.getWeight()));
+                    writer.newLine();
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
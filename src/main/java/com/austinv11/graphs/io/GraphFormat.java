@@ -0,0 +1,139 @@
+package com.austinv11.graphs.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Constants and helpers shared by {@link com.austinv11.graphs.io.BinaryGraphWriter} and
+ * {@link com.austinv11.graphs.io.MappedGraph}.
+ *
+ * All values are big-endian and every section starts on an 8 byte boundary. The layout is:
+ * <pre>
+ * header         (HEADER_SIZE bytes, see the *_AT constants)
+ * payloads       (encoded vertex values, back to back)
+ * payload index  (long[vertexCount + 1], offsets of each payload relative to the payload section)
+ * hash table     (int[hashCapacity], open addressing over payload hashes, holding vertex index + 1 or 0 if empty)
+ * out offsets    (int[vertexCount + 1], edges are grouped by their first vertex)
+ * edges          (per edge: int second vertex, int flags, double weight)
+ * in offsets     (int[vertexCount + 1])
+ * in edges       (per edge: int edge index, int first vertex, grouped by their second vertex)
+ * </pre>
+ */
+final class GraphFormat {
+
+    static final int MAGIC = 0x53474246; // "SGBF"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 96;
+    static final int VERTEX_COUNT_AT = 8;
+    static final int EDGE_COUNT_AT = 16;
+    static final int PAYLOAD_INDEX_AT = 24;
+    static final int PAYLOADS_AT = 32;
+    static final int HASH_TABLE_AT = 40;
+    static final int HASH_CAPACITY_AT = 48;
+    static final int OUT_OFFSETS_AT = 56;
+    static final int EDGES_AT = 64;
+    static final int IN_OFFSETS_AT = 72;
+    static final int IN_EDGES_AT = 80;
+    static final int LENGTH_AT = 88;
+
+    static final int EDGE_RECORD_SIZE = 16;
+    static final int DIRECTED_FLAG = 1;
+
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private GraphFormat() {}
+
+    // FNV-1a followed by a murmur finalizer, so it is stable across JVMs unlike Object#hashCode()
+    static int hash(ByteBuffer bytes) {
+        int h = 0x811C9DC5;
+        for (int i = bytes.position(); i < bytes.limit(); i++) {
+            h = (h ^ (bytes.get(i) & 0xFF)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    static int hashCapacity(int vertexCount) {
+        int capacity = 2;
+        while (capacity < vertexCount * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * A read-only mapping of a whole file, split into 1 GiB segments so files larger than 2 GiB can be mapped.
+     * Since sections are aligned and segments are a multiple of 8 bytes, primitives never straddle two segments.
+     */
+    static final class MappedFile {
+
+        private final ByteBuffer[] segments;
+        private final long length;
+
+        private MappedFile(ByteBuffer[] segments, long length) {
+            this.segments = segments;
+            this.length = length;
+        }
+
+        static MappedFile map(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long length = channel.size();
+                int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS);
+                ByteBuffer[] segments = new ByteBuffer[Math.max(count, 1)];
+                for (int i = 0; i < count; i++) {
+                    long start = (long) i << SEGMENT_BITS;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                            Math.min(SEGMENT_MASK + 1, length - start));
+                }
+                if (count == 0)
+                    segments[0] = ByteBuffer.allocate(0);
+                return new MappedFile(segments, length);
+            }
+        }
+
+        long length() {
+            return length;
+        }
+
+        int getInt(long position) {
+            return segments[(int) (position >>> SEGMENT_BITS)].getInt((int) (position & SEGMENT_MASK));
+        }
+
+        long getLong(long position) {
+            return segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+        }
+
+        double getDouble(long position) {
+            return segments[(int) (position >>> SEGMENT_BITS)].getDouble((int) (position & SEGMENT_MASK));
+        }
+
+        // Gets a view of a byte range, only copying if the range straddles two segments
+        ByteBuffer slice(long position, int length) {
+            int segment = (int) (position >>> SEGMENT_BITS);
+            int offset = (int) (position & SEGMENT_MASK);
+            if (offset + (long) length <= segments[segment].capacity()) {
+                ByteBuffer view = segments[segment].duplicate();
+                view.limit(offset + length);
+                view.position(offset);
+                return view;
+            }
+
+            ByteBuffer copy = ByteBuffer.allocate(length);
+            for (int i = 0; i < length; i++) {
+                long at = position + i;
+                copy.put(segments[(int) (at >>> SEGMENT_BITS)].get((int) (at & SEGMENT_MASK)));
+            }
+            copy.flip();
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * Streams a GraphML document into a {@link com.austinv11.graphs.Graph} using a StAX (pull) parser, so the document is
+ * never built into a DOM. Node ids are converted to vertex values, edge weights are read from the edge {@code data}
+ * whose key is declared with {@code attr.name="weight"} (falling back to the key's default, then 0) and edge direction
+ * follows the edge's {@code directed} attribute or the graph's {@code edgedefault}. Hyperedges and ports are ignored.
+ *
+ * Edges are added through {@link com.austinv11.graphs.Graph#addEdges(java.util.Collection)} in batches.
+ *
+ * @see <a href="http://graphml.graphdrawing.org/">GraphML website</a>
+ * @see com.austinv11.graphs.io.GraphMLWriter
+ */
+public class GraphMLReader<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Function<String, T> parser;
+    private final Function<T, V> vertexFactory;
+    private final EdgeFactory<T, V, E> edgeFactory;
+    private final int batchSize;
+
+    public GraphMLReader(@Nonnull Function<String, T> parser, @Nonnull Function<T, V> vertexFactory,
+                         @Nonnull EdgeFactory<T, V, E> edgeFactory) {
+        this(parser, vertexFactory, edgeFactory, EdgeListReader.DEFAULT_BATCH_SIZE);
+    }
+
+    public GraphMLReader(@Nonnull Function<String, T> parser, @Nonnull Function<T, V> vertexFactory,
+                         @Nonnull EdgeFactory<T, V, E> edgeFactory, int batchSize) {
+        this.parser = parser;
+        this.vertexFactory = vertexFactory;
+        this.edgeFactory = edgeFactory;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads a GraphML document into a graph.
+     *
+     * @param path The file to read.
+     * @param graph The graph to add the vertices and edges to.
+     * @return The number of edges read.
+     * @throws IOException If the file could not be read or is malformed.
+     */
+    public long read(@Nonnull Path path, @Nonnull Graph<T, V, E> graph) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        BatchLoader<T, V, E> loader = new BatchLoader<>(graph, vertexFactory, edgeFactory, batchSize);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                parse(reader, loader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed GraphML document", e);
+        }
+        loader.flush();
+        return loader.getEdgeCount();
+    }
+
+    private void parse(XMLStreamReader reader, BatchLoader<T, V, E> loader) throws XMLStreamException, IOException {
+        String weightKey = null;
+        double defaultWeight = 0;
+        boolean inWeightKey = false;
+        boolean directedDefault = false;
+
+        String source = null, target = null;
+        boolean directed = false;
+        double weight = 0;
+        boolean inEdge = false;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "key":
+                        String domain = reader.getAttributeValue(null, "for");
+                        if ("weight".equals(reader.getAttributeValue(null, "attr.name"))
+                                && (domain == null || "edge".equals(domain) || "all".equals(domain))) {
+                            weightKey = reader.getAttributeValue(null, "id");
+                            inWeightKey = true;
+                        }
+                        break;
+                    case "default":
+                        if (inWeightKey)
+                            defaultWeight = parseWeight(reader.getElementText(), reader);
+                        break;
+                    case "graph":
+                        directedDefault = "directed".equals(reader.getAttributeValue(null, "edgedefault"));
+                        break;
+                    case "node":
+                        loader.vertexOnly(parser.apply(required(reader, "id")));
+                        break;
+                    case "edge":
+                        source = required(reader, "source");
+                        target = required(reader, "target");
+                        String directedAttribute = reader.getAttributeValue(null, "directed");
+                        directed = directedAttribute == null ? directedDefault : Boolean.parseBoolean(directedAttribute);
+                        weight = defaultWeight;
+                        inEdge = true;
+                        break;
+                    case "data":
+                        if (inEdge && weightKey != null && weightKey.equals(reader.getAttributeValue(null, "key")))
+                            weight = parseWeight(reader.getElementText(), reader);
+                        break;
+                    default:
+                        break;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "key":
+                        inWeightKey = false;
+                        break;
+                    case "edge":
+                        loader.edge(parser.apply(source), parser.apply(target), weight, directed);
+                        inEdge = false;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    private static String required(XMLStreamReader reader, String attribute) throws IOException {
+        String value = reader.getAttributeValue(null, attribute);
+        if (value == null)
+            throw new IOException("Missing " + attribute + " attribute at line " + reader.getLocation().getLineNumber());
+        return value;
+    }
+
+    private static double parseWeight(String text, XMLStreamReader reader) throws IOException {
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed weight at line " + reader.getLocation().getLineNumber() + ": " + text, e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * Streams a {@link com.austinv11.graphs.Graph} to a GraphML document through a StAX writer, as read by
+ * {@link com.austinv11.graphs.io.GraphMLReader}. Vertex values are written as node ids and edge weights as
+ * {@code data} declared with {@code attr.name="weight"}. Directed edges are marked with {@code directed="true"}.
+ *
+ * Edges are written vertex by vertex straight from {@link com.austinv11.graphs.Graph#getConnectedEdges(Vertex)},
+ * each edge being written when its first vertex is visited, so the edge set is never copied.
+ *
+ * @see <a href="http://graphml.graphdrawing.org/">GraphML website</a>
+ */
+public class GraphMLWriter<T> {
+
+    private static final String NAMESPACE = "http://graphml.graphdrawing.org/xmlns";
+    private static final String WEIGHT_KEY = "weight";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Function<? super T, String> formatter;
+
+    public GraphMLWriter() {
+        this(String::valueOf);
+    }
+
+    /**
+     * @param formatter Converts vertex values to node ids, which must be unique.
+     */
+    public GraphMLWriter(@Nonnull Function<? super T, String> formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * Writes a graph to a file, replacing the file if it already exists.
+     *
+     * @param graph The graph to write.
+     * @param path The file to write to.
+     * @return The number of edges written.
+     * @throws IOException If the file could not be written.
+     */
+    public <V extends Vertex<T>, E extends Edge<T, V>> long write(@Nonnull Graph<T, V, E> graph,
+                                                                  @Nonnull Path path) throws IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path),
+                StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+            try {
+                return write(graph, writer);
+            } finally {
+                writer.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to write GraphML document", e);
+        }
+    }
+
+    private <V extends Vertex<T>, E extends Edge<T, V>> long write(Graph<T, V, E> graph,
+                                                                   XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("graphml");
+        writer.writeDefaultNamespace(NAMESPACE);
+
+        writer.writeStartElement("key");
+        writer.writeAttribute("id", WEIGHT_KEY);
+        writer.writeAttribute("for", "edge");
+        writer.writeAttribute("attr.name", "weight");
+        writer.writeAttribute("attr.type", "double");
+        writer.writeEndElement();
+
+        writer.writeStartElement("graph");
+        writer.writeAttribute("edgedefault", "undirected");
+
+        for (V vertex : graph.vertices()) {
+            writer.writeEmptyElement("node");
+            writer.writeAttribute("id", formatter.apply(vertex.get()));
+        }
+
+        long count = 0;
+        for (V vertex : graph.vertices()) {
+            String source = null;
+            for (E edge : graph.getConnectedEdges(vertex)) {
+                if (!edge.getFirstVertex().equals(vertex))
+                    continue; // Written from its first vertex instead
+
+                if (source == null)
+                    source = formatter.apply(vertex.get());
+                writer.writeStartElement("edge");
+                writer.writeAttribute("source", source);
+                writer.writeAttribute("target", formatter.apply(edge.getSecond()));
+                if (edge.isDirected())
+                    writer.writeAttribute("directed", "true");
+                if (edge.getWeight() != 0) {
+                    writer.writeStartElement("data");
+                    writer.writeAttribute("key", WEIGHT_KEY);
+                    writer.writeCharacters(Double.toString(edge.getWeight()));
+                    writer.writeEndElement();
+                }
+                writer.writeEndElement();
+                count++;
+            }
+        }
+
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        return count;
+    }
+}
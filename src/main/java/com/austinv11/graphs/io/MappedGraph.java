@@ -0,0 +1,554 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.*;
+import com.austinv11.graphs.alg.DijkstraPathfindStrategy;
+import com.austinv11.graphs.alg.NaturalSortStrategy;
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import com.austinv11.graphs.util.InvalidGraphConfigurationException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.austinv11.graphs.io.GraphFormat.*;
+
+/**
+ * A read-only {@link com.austinv11.graphs.Graph} backed by a memory-mapped file written by
+ * {@link com.austinv11.graphs.io.BinaryGraphWriter}. Opening a graph only maps the file, nothing is deserialized up
+ * front, so even very large graphs are usable immediately and the operating system pages in only what is accessed.
+ *
+ * Vertices and edges are lightweight flyweights (subclasses of {@link com.austinv11.graphs.impl.SimpleVertex} and
+ * {@link com.austinv11.graphs.impl.SimpleEdge}) which are created on access, and vertex values are decoded on access.
+ * Vertices compare equal to any {@link com.austinv11.graphs.impl.SimpleVertex} holding an equal value, while edges
+ * compare equal if they refer to the same edge of the same graph. Looking a vertex up by value hashes its encoded form
+ * against an on-disk hash table.
+ *
+ * All mutating operations throw an {@link java.lang.UnsupportedOperationException}, use {@link #copy()} to load the
+ * graph onto the heap as a mutable {@link com.austinv11.graphs.impl.SimpleGraph}. This implementation is thread safe.
+ */
+public class MappedGraph<T> implements Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> {
+
+    private final TraversalStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultTraversal = new DefaultTraversalStrategy<>();
+    private final SortStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultSort = new NaturalSortStrategy<>();
+    private final PathfindStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultPathfind = new DijkstraPathfindStrategy<>();
+
+    private final MappedFile file;
+    private final ValueCodec<T> codec;
+    private final int vertexCount, edgeCount, hashCapacity;
+    private final long payloadIndex, payloads, hashTable, outOffsets, edges, inOffsets, inEdges;
+
+    private MappedGraph(MappedFile file, ValueCodec<T> codec) throws IOException {
+        this.file = file;
+        this.codec = codec;
+
+        if (file.length() < HEADER_SIZE || file.getInt(0) != MAGIC)
+            throw new IOException("Not a graph file");
+        if (file.getInt(4) != VERSION)
+            throw new IOException("Unsupported graph file version " + file.getInt(4));
+        if (file.getLong(LENGTH_AT) != file.length())
+            throw new IOException("Truncated graph file");
+
+        vertexCount = file.getInt(VERTEX_COUNT_AT);
+        edgeCount = (int) file.getLong(EDGE_COUNT_AT);
+        payloadIndex = file.getLong(PAYLOAD_INDEX_AT);
+        payloads = file.getLong(PAYLOADS_AT);
+        hashTable = file.getLong(HASH_TABLE_AT);
+        hashCapacity = file.getInt(HASH_CAPACITY_AT);
+        outOffsets = file.getLong(OUT_OFFSETS_AT);
+        edges = file.getLong(EDGES_AT);
+        inOffsets = file.getLong(IN_OFFSETS_AT);
+        inEdges = file.getLong(IN_EDGES_AT);
+    }
+
+    /**
+     * Maps a graph file.
+     *
+     * @param path The file, as written by {@link com.austinv11.graphs.io.BinaryGraphWriter}.
+     * @param codec The codec the file was written with.
+     * @return The mapped graph.
+     * @throws IOException If the file could not be mapped or is not a valid graph file.
+     */
+    @Nonnull
+    public static <T> MappedGraph<T> open(@Nonnull Path path, @Nonnull ValueCodec<T> codec) throws IOException {
+        return new MappedGraph<>(MappedFile.map(path), codec);
+    }
+
+    private T decode(int index) {
+        long start = file.getLong(payloadIndex + 8L * index);
+        long end = file.getLong(payloadIndex + 8L * (index + 1));
+        return codec.decode(file.slice(payloads + start, (int) (end - start)));
+    }
+
+    private SimpleVertex<T> vertex(int index) {
+        return new MappedVertex<>(this, index, decode(index));
+    }
+
+    private int outOffset(int index) {
+        return file.getInt(outOffsets + 4L * index);
+    }
+
+    private int inOffset(int index) {
+        return file.getInt(inOffsets + 4L * index);
+    }
+
+    private int secondOf(int edge) {
+        return file.getInt(edges + (long) EDGE_RECORD_SIZE * edge);
+    }
+
+    private boolean isDirected(int edge) {
+        return (file.getInt(edges + (long) EDGE_RECORD_SIZE * edge + 4) & DIRECTED_FLAG) != 0;
+    }
+
+    private int firstOf(int edge) { // Binary search for the row holding the edge
+        int low = 0, high = vertexCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (outOffset(mid) <= edge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private SimpleEdge<T, SimpleVertex<T>> edge(int edge, SimpleVertex<T> first, SimpleVertex<T> second) {
+        long record = edges + (long) EDGE_RECORD_SIZE * edge;
+        return new MappedEdge<>(this, edge, first, second, file.getDouble(record + 8),
+                (file.getInt(record + 4) & DIRECTED_FLAG) != 0);
+    }
+
+    private SimpleEdge<T, SimpleVertex<T>> edge(int edge, int first, SimpleVertex<T> known, int knownIndex) {
+        int second = secondOf(edge);
+        SimpleVertex<T> firstVertex = first == knownIndex ? known : vertex(first);
+        SimpleVertex<T> secondVertex = second == knownIndex ? known : vertex(second);
+        return edge(edge, firstVertex, secondVertex);
+    }
+
+    private int indexOf(@Nonnull SimpleVertex<T> vertex) {
+        if (vertex instanceof MappedVertex && ((MappedVertex<T>) vertex).graph == this)
+            return ((MappedVertex<T>) vertex).index;
+        return indexOfValue(vertex.get());
+    }
+
+    private int indexOfValue(@Nullable T obj) {
+        if (obj == null || vertexCount == 0)
+            return -1;
+
+        ByteBuffer encoded = ByteBuffer.wrap(codec.encode(obj));
+        int slot = hash(encoded) & (hashCapacity - 1);
+        while (true) {
+            int entry = file.getInt(hashTable + 4L * slot);
+            if (entry == 0)
+                return -1;
+
+            int index = entry - 1;
+            long start = file.getLong(payloadIndex + 8L * index);
+            long end = file.getLong(payloadIndex + 8L * (index + 1));
+            if (end - start == encoded.remaining() && file.slice(payloads + start, encoded.remaining()).equals(encoded))
+                return index;
+
+            slot = (slot + 1) & (hashCapacity - 1);
+        }
+    }
+
+    // Collects the edges of a vertex, optionally filtered to one direction (undirected edges always match)
+    private List<SimpleEdge<T, SimpleVertex<T>>> edgesOf(SimpleVertex<T> vertex, boolean outward, boolean inward) {
+        int index = indexOf(vertex);
+        if (index < 0)
+            return Collections.emptyList();
+
+        List<SimpleEdge<T, SimpleVertex<T>>> result = new ArrayList<>();
+        for (int edge = outOffset(index), end = outOffset(index + 1); edge < end; edge++) {
+            if (outward || !isDirected(edge) || secondOf(edge) == index)
+                result.add(edge(edge, index, vertex, index));
+        }
+        for (int i = inOffset(index), end = inOffset(index + 1); i < end; i++) {
+            int edge = file.getInt(inEdges + 8L * i);
+            int first = file.getInt(inEdges + 8L * i + 4);
+            if (first == index)
+                continue; // Loops were already collected from the first vertex
+            if (inward || !isDirected(edge))
+                result.add(edge(edge, first, vertex, index));
+        }
+        return result;
+    }
+
+    @Override
+    @Nonnull
+    public TraversalStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultTraversalStrategy() {
+        return defaultTraversal;
+    }
+
+    @Override
+    @Nonnull
+    public SortStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultSortStrategy() {
+        return defaultSort;
+    }
+
+    @Override
+    @Nonnull
+    public PathfindStrategy<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>,
+            Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> defaultPathfindStrategy() {
+        return defaultPathfind;
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleVertex<T>> vertices(@Nonnull TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.traverseVertices(this);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> edges(@Nonnull TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.traverseEdges(this);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<T> values(@Nonnull TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.traverseValues(this);
+    }
+
+    @Override
+    @Nullable
+    public SimpleVertex<T> findVertex(@Nullable T obj) {
+        int index = indexOfValue(obj);
+        return index < 0 ? null : new MappedVertex<>(this, index, obj);
+    }
+
+    @Override
+    public boolean areConnected(@Nonnull SimpleVertex<T> vert1, @Nonnull SimpleVertex<T> vert2) {
+        return !getConnections(vert1, vert2).isEmpty();
+    }
+
+    @Override
+    public boolean areConnected(@Nullable T obj1, @Nullable T obj2) {
+        SimpleVertex<T> vert1 = findVertex(obj1);
+        SimpleVertex<T> vert2 = findVertex(obj2);
+
+        if (vert1 == null || vert2 == null)
+            return false;
+
+        return areConnected(vert1, vert2);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getConnections(@Nonnull SimpleVertex<T> vert1,
+                                                                     @Nonnull SimpleVertex<T> vert2) {
+        int index2 = indexOf(vert2);
+        if (index2 < 0)
+            return Collections.emptyList();
+
+        List<SimpleEdge<T, SimpleVertex<T>>> connections = new ArrayList<>();
+        for (SimpleEdge<T, SimpleVertex<T>> edge : edgesOf(vert1, true, true)) {
+            if (edge.contains(vert2))
+                connections.add(edge);
+        }
+        return connections;
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getConnections(@Nonnull T obj1, @Nonnull T obj2) {
+        SimpleVertex<T> vert1 = findVertex(obj1);
+        SimpleVertex<T> vert2 = findVertex(obj2);
+
+        if (vert1 == null || vert2 == null)
+            return Collections.emptyList();
+
+        return getConnections(vert1, vert2);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleVertex<T>> sortVertices(@Nonnull SortStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> strategy) {
+        return strategy.sort(this);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleEdge<T, SimpleVertex<T>>> pathfind(@Nonnull SimpleVertex<T> vert1,
+                                                         @Nonnull SimpleVertex<T> vert2,
+                                                         @Nonnull PathfindStrategy<T, SimpleVertex<T>,
+                                                                 SimpleEdge<T, SimpleVertex<T>>, Graph<T,
+                                                                 SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>>
+                                                                 strategy) {
+        return strategy.pathfind(vert1, vert2, this);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleEdge<T, SimpleVertex<T>>> pathfind(@Nullable T obj1, @Nullable T obj2,
+                                                         @Nonnull PathfindStrategy<T, SimpleVertex<T>,
+                                                                 SimpleEdge<T, SimpleVertex<T>>, Graph<T,
+                                                                 SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>>
+                                                                 strategy) {
+        SimpleVertex<T> vert1 = findVertex(obj1);
+        SimpleVertex<T> vert2 = findVertex(obj2);
+
+        if (vert1 == null || vert2 == null)
+            return Collections.emptyList();
+
+        return pathfind(vert1, vert2, strategy);
+    }
+
+    @Override
+    @Nonnull
+    public List<SimpleEdge<T, SimpleVertex<T>>> pathfind(@Nullable T obj1, @Nullable T obj2) {
+        return pathfind(obj1, obj2, defaultPathfind);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getConnectedEdges(@Nonnull SimpleVertex<T> vertex) {
+        return edgesOf(vertex, true, true);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getOutwardEdges(@Nonnull SimpleVertex<T> vertex) {
+        return edgesOf(vertex, true, false);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<SimpleEdge<T, SimpleVertex<T>>> getInwardEdges(@Nonnull SimpleVertex<T> vertex) {
+        return edgesOf(vertex, false, true);
+    }
+
+    @Override
+    public void addVertex(@Nonnull SimpleVertex<T> vertex) {
+        throw new UnsupportedOperationException("Mapped graphs are read-only");
+    }
+
+    @Override
+    public void removeVertex(@Nonnull SimpleVertex<T> vertex) {
+        throw new UnsupportedOperationException("Mapped graphs are read-only");
+    }
+
+    @Override
+    public void addEdge(@Nonnull SimpleEdge<T, SimpleVertex<T>> edge) {
+        throw new UnsupportedOperationException("Mapped graphs are read-only");
+    }
+
+    @Override
+    public void removeEdge(@Nonnull SimpleEdge<T, SimpleVertex<T>> edge) {
+        throw new UnsupportedOperationException("Mapped graphs are read-only");
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Mapped graphs are read-only");
+    }
+
+    /**
+     * Loads this graph onto the heap.
+     *
+     * @return A mutable copy of this graph.
+     */
+    @Override
+    @Nonnull
+    public SimpleGraph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> copy() {
+        SimpleGraph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> copy = new SimpleGraph<>();
+        List<SimpleVertex<T>> vertices = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            SimpleVertex<T> vertex = new SimpleVertex<>(decode(i));
+            vertices.add(vertex);
+            copy.addVertex(vertex);
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            for (int edge = outOffset(i), end = outOffset(i + 1); edge < end; edge++) {
+                long record = edges + (long) EDGE_RECORD_SIZE * edge;
+                copy.addEdge(new SimpleEdge<>(vertices.get(i), vertices.get(file.getInt(record)),
+                        file.getDouble(record + 8), (file.getInt(record + 4) & DIRECTED_FLAG) != 0));
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<T> iterator() {
+        return values().iterator();
+    }
+
+    private static final class MappedVertex<T> extends SimpleVertex<T> {
+
+        private final MappedGraph<T> graph;
+        private final int index;
+
+        private MappedVertex(MappedGraph<T> graph, int index, T obj) {
+            super(obj);
+            this.graph = graph;
+            this.index = index;
+        }
+    }
+
+    private static final class MappedEdge<T> extends SimpleEdge<T, SimpleVertex<T>> {
+
+        private final MappedGraph<T> graph;
+        private final int index;
+
+        private MappedEdge(MappedGraph<T> graph, int index, SimpleVertex<T> first, SimpleVertex<T> second,
+                           double weight, boolean directed) {
+            super(first, second, weight, directed);
+            this.graph = graph;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MappedEdge)) {
+                return false;
+            }
+            MappedEdge<?> that = (MappedEdge<?>) o;
+            return graph == that.graph && index == that.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(graph) + index;
+        }
+    }
+
+    // Walks the file in index order, creating flyweights lazily
+    private static final class DefaultTraversalStrategy<T> implements TraversalStrategy<T, SimpleVertex<T>,
+            SimpleEdge<T, SimpleVertex<T>>, Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>>> {
+
+        private static <T> MappedGraph<T> assertMappedGraph(
+                Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> graph) {
+            if (!(graph instanceof MappedGraph)) {
+                throw new InvalidGraphConfigurationException();
+            }
+            return (MappedGraph<T>) graph;
+        }
+
+        @Override
+        @Nonnull
+        public Collection<SimpleVertex<T>> traverseVertices(@Nonnull Graph<T, SimpleVertex<T>,
+                SimpleEdge<T, SimpleVertex<T>>> graph) {
+            MappedGraph<T> g = assertMappedGraph(graph);
+            return new AbstractList<SimpleVertex<T>>() {
+                @Override
+                public SimpleVertex<T> get(int index) {
+                    if (index < 0 || index >= g.vertexCount)
+                        throw new IndexOutOfBoundsException(Integer.toString(index));
+                    return g.vertex(index);
+                }
+
+                @Override
+                public int size() {
+                    return g.vertexCount;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked") // Values are only compared once encoded, a foreign value fails the codec
+                public boolean contains(Object o) {
+                    try {
+                        return o instanceof SimpleVertex && g.indexOf((SimpleVertex<T>) o) >= 0;
+                    } catch (ClassCastException e) {
+                        return false;
+                    }
+                }
+            };
+        }
+
+        @Override
+        @Nonnull
+        public Collection<SimpleEdge<T, SimpleVertex<T>>> traverseEdges(@Nonnull Graph<T, SimpleVertex<T>,
+                SimpleEdge<T, SimpleVertex<T>>> graph) {
+            MappedGraph<T> g = assertMappedGraph(graph);
+            return new AbstractList<SimpleEdge<T, SimpleVertex<T>>>() {
+                @Override
+                public SimpleEdge<T, SimpleVertex<T>> get(int index) {
+                    if (index < 0 || index >= g.edgeCount)
+                        throw new IndexOutOfBoundsException(Integer.toString(index));
+                    int first = g.firstOf(index);
+                    SimpleVertex<T> firstVertex = g.vertex(first);
+                    return g.edge(index, first, firstVertex, first);
+                }
+
+                @Override
+                public int size() {
+                    return g.edgeCount;
+                }
+
+                @Override
+                @Nonnull
+                public Iterator<SimpleEdge<T, SimpleVertex<T>>> iterator() {
+                    return new Iterator<SimpleEdge<T, SimpleVertex<T>>>() {
+                        private int edge = 0, first = -1, rowEnd = 0;
+                        private SimpleVertex<T> firstVertex;
+
+                        @Override
+                        public boolean hasNext() {
+                            return edge < g.edgeCount;
+                        }
+
+                        @Override
+                        public SimpleEdge<T, SimpleVertex<T>> next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            if (edge >= rowEnd) {
+                                do {
+                                    rowEnd = g.outOffset(++first + 1);
+                                } while (edge >= rowEnd);
+                                firstVertex = g.vertex(first);
+                            }
+                            return g.edge(edge++, first, firstVertex, first);
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        @Nonnull
+        public Collection<T> traverseValues(@Nonnull Graph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> graph) {
+            MappedGraph<T> g = assertMappedGraph(graph);
+            return new AbstractList<T>() {
+                @Override
+                public T get(int index) {
+                    if (index < 0 || index >= g.vertexCount)
+                        throw new IndexOutOfBoundsException(Integer.toString(index));
+                    return g.decode(index);
+                }
+
+                @Override
+                public int size() {
+                    return g.vertexCount;
+                }
+            };
+        }
+    }
+}
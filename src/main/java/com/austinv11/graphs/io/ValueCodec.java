@@ -0,0 +1,142 @@
+package com.austinv11.graphs.io;
+
+import javax.annotation.Nonnull;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This represents a binary encoding for the values held by vertices, used when persisting graphs.
+ *
+ * Encodings must be deterministic (equal values always encode to the same bytes), since vertices are looked up by
+ * comparing encoded bytes.
+ *
+ * @param <T> The value type.
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * Encodes a value.
+     *
+     * @param value The value.
+     * @return The encoded bytes.
+     */
+    @Nonnull
+    byte[] encode(@Nonnull T value);
+
+    /**
+     * Decodes a value. The encoded bytes span from the buffer's position to its limit.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded value.
+     */
+    @Nonnull
+    T decode(@Nonnull ByteBuffer buffer);
+
+    /**
+     * Gets a codec which encodes strings as UTF-8.
+     *
+     * @return The codec.
+     */
+    @Nonnull
+    static ValueCodec<String> strings() {
+        return new ValueCodec<String>() {
+            @Override
+            @Nonnull
+            public byte[] encode(@Nonnull String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            @Nonnull
+            public String decode(@Nonnull ByteBuffer buffer) {
+                if (buffer.hasArray())
+                    return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(),
+                            StandardCharsets.UTF_8);
+                return StandardCharsets.UTF_8.decode(buffer).toString();
+            }
+        };
+    }
+
+    /**
+     * Gets a codec which encodes integers as 4 big-endian bytes.
+     *
+     * @return The codec.
+     */
+    @Nonnull
+    static ValueCodec<Integer> integers() {
+        return new ValueCodec<Integer>() {
+            @Override
+            @Nonnull
+            public byte[] encode(@Nonnull Integer value) {
+                return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+            }
+
+            @Override
+            @Nonnull
+            public Integer decode(@Nonnull ByteBuffer buffer) {
+                return buffer.getInt(buffer.position());
+            }
+        };
+    }
+
+    /**
+     * Gets a codec which encodes longs as 8 big-endian bytes.
+     *
+     * @return The codec.
+     */
+    @Nonnull
+    static ValueCodec<Long> longs() {
+        return new ValueCodec<Long>() {
+            @Override
+            @Nonnull
+            public byte[] encode(@Nonnull Long value) {
+                return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+            }
+
+            @Override
+            @Nonnull
+            public Long decode(@Nonnull ByteBuffer buffer) {
+                return buffer.getLong(buffer.position());
+            }
+        };
+    }
+
+    /**
+     * Gets a codec which uses java serialization. This is the least compact option, and is only deterministic for
+     * types whose serialized form is.
+     *
+     * @return The codec.
+     */
+    @Nonnull
+    static <T extends Serializable> ValueCodec<T> serializable() {
+        return new ValueCodec<T>() {
+            @Override
+            @Nonnull
+            public byte[] encode(@Nonnull T value) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            @Nonnull
+            @SuppressWarnings("unchecked")
+            public T decode(@Nonnull ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.duplicate().get(bytes);
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return (T) in.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.austinv11.graphs.metrics;
+
+/**
+ * A monotonically increasing count, for example of vertices settled by a search.
+ */
+public interface Counter {
+
+    /**
+     * Adds one to the count.
+     */
+    void increment();
+
+    /**
+     * Adds to the count.
+     *
+     * @param amount The amount to add.
+     */
+    void add(long amount);
+}
@@ -0,0 +1,46 @@
+package com.austinv11.graphs.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The instrumentation SPI, this hands out the {@link com.austinv11.graphs.metrics.Counter}s and
+ * {@link com.austinv11.graphs.metrics.Timer}s instrumented code reports to. Implementations adapt these to a metrics
+ * library, see {@link com.austinv11.graphs.metrics.SimpleMetricsRegistry} for a simple in-process one.
+ *
+ * Instrumented classes look up their counters and timers once, when they are created, so implementations may be
+ * slow to look up but must be cheap to update (and thread safe). The names used are listed in
+ * {@link com.austinv11.graphs.metrics.MetricNames}.
+ *
+ * @see com.austinv11.graphs.metrics.Metrics
+ */
+public interface GraphMetrics {
+
+    /**
+     * Gets a counter, the same name must always return the same (or an equivalent) counter.
+     *
+     * @param name The counter's name.
+     * @return The counter.
+     */
+    @Nonnull
+    Counter counter(@Nonnull String name);
+
+    /**
+     * Gets a timer, the same name must always return the same (or an equivalent) timer.
+     *
+     * @param name The timer's name.
+     * @return The timer.
+     */
+    @Nonnull
+    Timer timer(@Nonnull String name);
+
+    /**
+     * Gets the metrics implementation which discards everything, this is the default. Its counters and timers do
+     * nothing (not even read the clock) so the JIT compiles instrumented code down to the uninstrumented code.
+     *
+     * @return The no-op implementation.
+     */
+    @Nonnull
+    static GraphMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,151 @@
+package com.austinv11.graphs.metrics;
+
+/**
+ * The names of the metrics reported by this library's instrumented classes.
+ */
+public final class MetricNames {
+
+    /**
+     * Timer of {@link com.austinv11.graphs.Graph#addVertex(com.austinv11.graphs.Vertex)} calls.
+     */
+    public static final String VERTEX_ADD = "graph.vertex.add";
+    /**
+     * Timer of {@link com.austinv11.graphs.Graph#removeVertex(com.austinv11.graphs.Vertex)} calls.
+     */
+    public static final String VERTEX_REMOVE = "graph.vertex.remove";
+    /**
+     * Timer of {@link com.austinv11.graphs.Graph#replaceVertex(com.austinv11.graphs.Vertex,
+     * com.austinv11.graphs.Vertex, java.util.function.Function)} calls.
+     */
+    public static final String VERTEX_REPLACE = "graph.vertex.replace";
+    /**
+     * Timer of {@link com.austinv11.graphs.Graph#addEdge(com.austinv11.graphs.Edge)} and
+     * {@link com.austinv11.graphs.Graph#addEdges(java.util.Collection)} calls.
+     */
+    public static final String EDGE_ADD = "graph.edge.add";
+    /**
+     * Counter of edges added, batches count every edge.
+     */
+    public static final String EDGES_ADDED = "graph.edges.added";
+    /**
+     * Timer of {@link com.austinv11.graphs.Graph#removeEdge(com.austinv11.graphs.Edge)} calls.
+     */
+    public static final String EDGE_REMOVE = "graph.edge.remove";
+    /**
+     * Timer of {@link com.austinv11.graphs.Graph#setEdgeWeight(com.austinv11.graphs.Edge, double)} calls.
+     */
+    public static final String EDGE_REWEIGHT = "graph.edge.reweight";
+    /**
+     * Timer of {@link com.austinv11.graphs.Graph#clear()} calls.
+     */
+    public static final String CLEAR = "graph.clear";
+    /**
+     * Timer of the time spent waiting for a contended read lock (uncontended acquisitions are not recorded).
+     */
+    public static final String READ_LOCK_WAIT = "graph.lock.read.wait";
+    /**
+     * Timer of the time spent waiting for a contended write lock (uncontended acquisitions are not recorded).
+     */
+    public static final String WRITE_LOCK_WAIT = "graph.lock.write.wait";
+    /**
+     * Timer of pathfinding calls.
+     */
+    public static final String PATHFIND = "graph.pathfind";
+    /**
+     * Timer of vertex sorting calls.
+     */
+    public static final String SORT = "graph.sort";
+    /**
+     * Timer of successful {@link com.austinv11.graphs.Transaction#commit()} calls.
+     */
+    public static final String TRANSACTION_COMMIT = "graph.transaction.commit";
+    /**
+     * Counter of {@link com.austinv11.graphs.Transaction#commit()} calls which failed due to a conflict.
+     */
+    public static final String TRANSACTION_CONFLICTS = "graph.transaction.conflicts";
+    /**
+     * Counter of the {@link com.austinv11.graphs.event.GraphEvent}s dropped because a subscriber's buffer was full.
+     */
+    public static final String EVENTS_DROPPED = "graph.events.dropped";
+
+    /**
+     * Timer of the cycle checks done by a {@link com.austinv11.graphs.impl.DirectedAcyclicGraph}.
+     */
+    public static final String DAG_CYCLE_CHECK = "dag.cycle_check";
+    /**
+     * Counter of mutations rejected by a {@link com.austinv11.graphs.impl.DirectedAcyclicGraph} because they would
+     * have introduced a cycle.
+     */
+    public static final String DAG_CYCLES_REJECTED = "dag.cycles_rejected";
+
+    /**
+     * Counter of the vertices settled (removed from the queue) by
+     * {@link com.austinv11.graphs.alg.DijkstraPathfindStrategy}.
+     */
+    public static final String DIJKSTRA_SETTLED = "pathfind.dijkstra.settled";
+    /**
+     * Counter of the edges relaxed (which lowered a tentative distance) by
+     * {@link com.austinv11.graphs.alg.DijkstraPathfindStrategy}.
+     */
+    public static final String DIJKSTRA_RELAXED = "pathfind.dijkstra.relaxed";
+    /**
+     * Counter of the queue operations (offers, removals and polls) done by
+     * {@link com.austinv11.graphs.alg.DijkstraPathfindStrategy}.
+     */
+    public static final String DIJKSTRA_HEAP_OPERATIONS = "pathfind.dijkstra.heap_operations";
+    /**
+     * Counter of {@link com.austinv11.graphs.alg.CachingPathfindStrategy} lookups answered from the cache.
+     */
+    public static final String PATH_CACHE_HITS = "pathfind.cache.hits";
+    /**
+     * Counter of {@link com.austinv11.graphs.alg.CachingPathfindStrategy} lookups which had to search.
+     */
+    public static final String PATH_CACHE_MISSES = "pathfind.cache.misses";
+    /**
+     * Counter of {@link com.austinv11.graphs.alg.CachingPathfindStrategy} entries invalidated by mutations.
+     */
+    public static final String PATH_CACHE_INVALIDATIONS = "pathfind.cache.invalidations";
+    /**
+     * Counter of {@link com.austinv11.graphs.alg.CachingPathfindStrategy} entries evicted to make room.
+     */
+    public static final String PATH_CACHE_EVICTIONS = "pathfind.cache.evictions";
+    /**
+     * Timer of the incremental updates done by a {@link com.austinv11.graphs.alg.DynamicShortestPathTree}.
+     */
+    public static final String DYNAMIC_SSSP_UPDATE = "pathfind.dynamic.update";
+    /**
+     * Counter of the vertices settled again by {@link com.austinv11.graphs.alg.DynamicShortestPathTree} updates.
+     */
+    public static final String DYNAMIC_SSSP_AFFECTED = "pathfind.dynamic.affected";
+    /**
+     * Counter of the spur path searches done by {@link com.austinv11.graphs.alg.YenKShortestPathsStrategy}.
+     */
+    public static final String YEN_SPUR_SEARCHES = "pathfind.yen.spur_searches";
+    /**
+     * Counter of the vertices settled by {@link com.austinv11.graphs.alg.YenKShortestPathsStrategy} searches.
+     */
+    public static final String YEN_SETTLED = "pathfind.yen.settled";
+    /**
+     * Counter of the labels settled by {@link com.austinv11.graphs.alg.ResourceConstrainedPathfindStrategy}.
+     */
+    public static final String CONSTRAINED_LABELS = "pathfind.constrained.labels";
+    /**
+     * Counter of the labels dropped by {@link com.austinv11.graphs.alg.ResourceConstrainedPathfindStrategy} because
+     * they were dominated or could not lead to a better path within the budget.
+     */
+    public static final String CONSTRAINED_PRUNED = "pathfind.constrained.pruned";
+    /**
+     * Counter of the vertices visited by {@link com.austinv11.graphs.alg.BreadthFirstSearch}.
+     */
+    public static final String BFS_VISITED = "pathfind.bfs.visited";
+    /**
+     * Counter of the vertices emitted by {@link com.austinv11.graphs.alg.TopologicalSortStrategy}.
+     */
+    public static final String TOPOLOGICAL_VERTICES = "sort.topological.vertices";
+    /**
+     * Counter of the edges scanned by {@link com.austinv11.graphs.alg.TopologicalSortStrategy}.
+     */
+    public static final String TOPOLOGICAL_EDGES = "sort.topological.edges";
+
+    private MetricNames() {}
+}
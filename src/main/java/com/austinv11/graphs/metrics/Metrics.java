@@ -0,0 +1,53 @@
+package com.austinv11.graphs.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Holds the {@link com.austinv11.graphs.metrics.GraphMetrics} instrumented classes report to. Unless one is
+ * {@link #set(GraphMetrics)} explicitly, the first provider registered with {@link java.util.ServiceLoader} (in
+ * {@code META-INF/services/com.austinv11.graphs.metrics.GraphMetrics}) is used, falling back to
+ * {@link GraphMetrics#noop()}.
+ *
+ * Instrumented graphs and strategies resolve their counters and timers when they are created, so the metrics
+ * implementation should be set before creating them. Objects created earlier keep reporting to the previous one.
+ */
+public final class Metrics {
+
+    private static volatile GraphMetrics metrics = null;
+
+    private Metrics() {}
+
+    /**
+     * Gets the current metrics implementation.
+     *
+     * @return The metrics implementation.
+     */
+    @Nonnull
+    public static GraphMetrics get() {
+        GraphMetrics current = metrics;
+        if (current == null) {
+            synchronized (Metrics.class) {
+                current = metrics;
+                if (current == null)
+                    metrics = current = load();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Sets the metrics implementation used by objects created from now on.
+     *
+     * @param metrics The metrics implementation, {@link GraphMetrics#noop()} disables instrumentation.
+     */
+    public static void set(@Nonnull GraphMetrics metrics) {
+        Metrics.metrics = metrics;
+    }
+
+    private static GraphMetrics load() {
+        Iterator<GraphMetrics> providers = ServiceLoader.load(GraphMetrics.class).iterator();
+        return providers.hasNext() ? providers.next() : GraphMetrics.noop();
+    }
+}
@@ -0,0 +1,42 @@
+package com.austinv11.graphs.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The default metrics implementation, which discards everything.
+ */
+final class NoopMetrics implements GraphMetrics, Counter, Timer {
+
+    static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    private NoopMetrics() {}
+
+    @Nonnull
+    @Override
+    public Counter counter(@Nonnull String name) {
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public Timer timer(@Nonnull String name) {
+        return this;
+    }
+
+    @Override
+    public void increment() {}
+
+    @Override
+    public void add(long amount) {}
+
+    @Override
+    public long start() {
+        return 0;
+    }
+
+    @Override
+    public void stop(long start) {}
+
+    @Override
+    public void record(long nanos) {}
+}
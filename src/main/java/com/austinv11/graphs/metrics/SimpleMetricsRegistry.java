@@ -0,0 +1,185 @@
+package com.austinv11.graphs.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A simple in-process {@link com.austinv11.graphs.metrics.GraphMetrics} implementation which keeps every counter and
+ * timer in memory. Updates are striped (with {@link java.util.concurrent.atomic.LongAdder}s) so they stay cheap
+ * under contention. This can be installed with {@link Metrics#set(GraphMetrics)} and periodically read or dumped
+ * with {@link #report()}.
+ */
+public class SimpleMetricsRegistry implements GraphMetrics {
+
+    private final Map<String, SimpleCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, SimpleTimer> timers = new ConcurrentHashMap<>();
+
+    @Nonnull
+    @Override
+    public SimpleCounter counter(@Nonnull String name) {
+        return counters.computeIfAbsent(name, n -> new SimpleCounter());
+    }
+
+    @Nonnull
+    @Override
+    public SimpleTimer timer(@Nonnull String name) {
+        return timers.computeIfAbsent(name, n -> new SimpleTimer());
+    }
+
+    /**
+     * Gets every counter created so far.
+     *
+     * @return The counters, by name.
+     */
+    @Nonnull
+    public Map<String, SimpleCounter> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Gets every timer created so far.
+     *
+     * @return The timers, by name.
+     */
+    @Nonnull
+    public Map<String, SimpleTimer> getTimers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    /**
+     * Resets every counter and timer to zero. Updates made concurrently may or may not be kept.
+     */
+    public void reset() {
+        counters.values().forEach(SimpleCounter::reset);
+        timers.values().forEach(SimpleTimer::reset);
+    }
+
+    /**
+     * Formats every counter and timer, one per line and sorted by name.
+     *
+     * @return The report.
+     */
+    @Nonnull
+    public String report() {
+        StringBuilder builder = new StringBuilder();
+        new TreeMap<>(counters).forEach((name, counter) -> builder.append(name).append(' ').append(counter)
+                .append('\n'));
+        new TreeMap<>(timers).forEach((name, timer) -> builder.append(name).append(' ').append(timer).append('\n'));
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+
+    public static final class SimpleCounter implements Counter {
+
+        private final LongAdder count = new LongAdder();
+
+        private SimpleCounter() {}
+
+        @Override
+        public void increment() {
+            count.increment();
+        }
+
+        @Override
+        public void add(long amount) {
+            count.add(amount);
+        }
+
+        public long get() {
+            return count.sum();
+        }
+
+        private void reset() {
+            count.reset();
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + get();
+        }
+    }
+
+    public static final class SimpleTimer implements Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private SimpleTimer() {}
+
+        @Override
+        public long start() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void stop(long start) {
+            record(System.nanoTime() - start);
+        }
+
+        @Override
+        public void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        /**
+         * Gets the number of recorded durations.
+         *
+         * @return The count.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the sum of the recorded durations.
+         *
+         * @return The total, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return total.sum();
+        }
+
+        /**
+         * Gets the longest recorded duration.
+         *
+         * @return The maximum, in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return max.get();
+        }
+
+        /**
+         * Gets the mean recorded duration.
+         *
+         * @return The mean, in nanoseconds (or 0 if nothing was recorded).
+         */
+        public double getMeanNanos() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) getTotalNanos() / count;
+        }
+
+        private void reset() {
+            count.reset();
+            total.reset();
+            max.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.0fns max=%dns total=%dns", getCount(), getMeanNanos(),
+                    getMaxNanos(), getTotalNanos());
+        }
+    }
+}
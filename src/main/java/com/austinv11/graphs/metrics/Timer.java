@@ -0,0 +1,37 @@
+package com.austinv11.graphs.metrics;
+
+/**
+ * Records the durations of an operation. Instrumented code uses it as follows:
+ * <pre>{@code
+ * long start = timer.start();
+ * try {
+ *     ... // The timed operation
+ * } finally {
+ *     timer.stop(start);
+ * }
+ * }</pre>
+ * So a no-op timer never has to read the clock, and operations which throw are recorded too.
+ */
+public interface Timer {
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return The stamp to pass to {@link #stop(long)}.
+     */
+    long start();
+
+    /**
+     * Stops timing an operation and records its duration.
+     *
+     * @param start The stamp returned by {@link #start()}.
+     */
+    void stop(long start);
+
+    /**
+     * Records a duration measured elsewhere.
+     *
+     * @param nanos The duration, in nanoseconds.
+     */
+    void record(long nanos);
+}
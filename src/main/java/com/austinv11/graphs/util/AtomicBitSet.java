@@ -0,0 +1,133 @@
+package com.austinv11.graphs.util;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size bitset which can be safely updated by multiple threads without locking.
+ */
+public class AtomicBitSet {
+
+    private final AtomicLongArray words;
+    private final int size;
+
+    public AtomicBitSet(int size) {
+        this.size = size;
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    /**
+     * Gets the number of bits in this set.
+     *
+     * @return The size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of 64-bit words backing this set.
+     *
+     * @return The word count.
+     */
+    public int wordCount() {
+        return words.length();
+    }
+
+    /**
+     * Gets a word of this set.
+     *
+     * @param wordIndex The word index.
+     * @return The bits of the word.
+     */
+    public long word(int wordIndex) {
+        return words.get(wordIndex);
+    }
+
+    /**
+     * Checks if a bit is set.
+     *
+     * @param index The bit index.
+     * @return True if set, false if otherwise.
+     */
+    public boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Atomically sets a bit.
+     *
+     * @param index The bit index.
+     * @return True if this call set the bit, false if it was already set.
+     */
+    public boolean set(int index) {
+        int wordIndex = index >>> 6;
+        long mask = 1L << index;
+        long old;
+        do {
+            old = words.get(wordIndex);
+            if ((old & mask) != 0)
+                return false;
+        } while (!words.compareAndSet(wordIndex, old, old | mask));
+        return true;
+    }
+
+    /**
+     * Atomically clears a bit.
+     *
+     * @param index The bit index.
+     * @return True if this call cleared the bit, false if it was already clear.
+     */
+    public boolean clear(int index) {
+        int wordIndex = index >>> 6;
+        long mask = 1L << index;
+        long old;
+        do {
+            old = words.get(wordIndex);
+            if ((old & mask) == 0)
+                return false;
+        } while (!words.compareAndSet(wordIndex, old, old & ~mask));
+        return true;
+    }
+
+    /**
+     * Clears every bit. This is not atomic with respect to concurrent updates.
+     */
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0);
+        }
+    }
+
+    /**
+     * Counts the set bits.
+     *
+     * @return The number of set bits.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Collects the indices of all set bits in ascending order.
+     *
+     * @return The set indices.
+     */
+    @Nonnull
+    public int[] toArray() {
+        int[] indices = new int[cardinality()];
+        int j = 0;
+        for (int i = 0; i < words.length() && j < indices.length; i++) {
+            long word = words.get(i);
+            while (word != 0 && j < indices.length) {
+                indices[j++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,77 @@
+package com.austinv11.graphs.util;
+
+import javax.annotation.Nonnull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link java.util.concurrent.Executor} which limits how many tasks may run concurrently on a delegate executor.
+ * Excess tasks are queued (without blocking the caller or any delegate thread) and started as running tasks finish.
+ *
+ * If the delegate rejects a task, the thread which tried to start it runs it instead, so queued tasks are never lost
+ * and this executor never throws {@link RejectedExecutionException}. Exceptions thrown by such
+ * tasks go to the uncaught exception handler of the thread, as they would on a thread of a pool.
+ */
+public class BoundedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger active = new AtomicInteger(0);
+
+    public BoundedExecutor(@Nonnull Executor delegate, int maxConcurrency) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("At least one task must be allowed to run!");
+
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        queue.add(command);
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int running = active.get();
+            if (running >= maxConcurrency)
+                return;
+            if (!active.compareAndSet(running, running + 1))
+                continue;
+
+            Runnable next = queue.poll();
+            if (next == null) {
+                active.decrementAndGet();
+                continue;
+            }
+
+            try {
+                delegate.execute(() -> {
+                    try {
+                        next.run();
+                    } finally {
+                        active.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                runInline(next); // In this loop rather than through the wrapper, so this never recurses
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    private static void runInline(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+    }
+}
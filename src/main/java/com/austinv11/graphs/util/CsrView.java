@@ -0,0 +1,247 @@
+package com.austinv11.graphs.util;
+
+import com.austinv11.graphs.Edge;
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Vertex;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * A frozen, compressed sparse row (CSR) snapshot of a {@link com.austinv11.graphs.Graph}'s topology. Vertices are
+ * assigned dense indices from 0 to {@link #size()} - 1 and adjacency is stored in primitive arrays, which makes it
+ * suitable for algorithms which repeatedly scan the whole graph.
+ *
+ * The outward and inward adjacency follow {@link com.austinv11.graphs.Graph#getOutwardEdges(Vertex)} and
+ * {@link com.austinv11.graphs.Graph#getInwardEdges(Vertex)} respectively, so undirected edges appear in both directions.
+ * The view does not track later mutations of the graph it was created from.
+ */
+public class CsrView<T, V extends Vertex<T>, E extends Edge<T, V>> {
+
+    private final List<V> vertices;
+    private final Map<V, Integer> indices;
+    private final int[] outOffsets, outTargets;
+    private final double[] outWeights;
+    private final int[] inOffsets, inSources;
+    private final double[] inWeights;
+
+    private CsrView(List<V> vertices, Map<V, Integer> indices,
+                    int[] outOffsets, int[] outTargets, double[] outWeights,
+                    int[] inOffsets, int[] inSources, double[] inWeights) {
+        this.vertices = vertices;
+        this.indices = indices;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outWeights = outWeights;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inWeights = inWeights;
+    }
+
+    /**
+     * Creates a snapshot of a graph.
+     *
+     * @param graph The graph.
+     * @return The frozen view.
+     */
+    @Nonnull
+    public static <T, V extends Vertex<T>, E extends Edge<T, V>> CsrView<T, V, E> of(@Nonnull Graph<T, V, E> graph) {
+        List<V> vertices = new ArrayList<>(graph.vertices());
+        int n = vertices.size();
+        Map<V, Integer> indices = new HashMap<>(n * 4 / 3 + 1);
+        for (int i = 0; i < n; i++) {
+            indices.put(vertices.get(i), i);
+        }
+
+        int[] outOffsets = new int[n + 1];
+        int[] inOffsets = new int[n + 1];
+        List<Collection<E>> outEdges = new ArrayList<>(n);
+        List<Collection<E>> inEdges = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            V vertex = vertices.get(i);
+            Collection<E> out = graph.getOutwardEdges(vertex);
+            Collection<E> in = graph.getInwardEdges(vertex);
+            outEdges.add(out);
+            inEdges.add(in);
+            outOffsets[i + 1] = outOffsets[i] + out.size();
+            inOffsets[i + 1] = inOffsets[i] + in.size();
+        }
+
+        int[] outTargets = new int[outOffsets[n]];
+        double[] outWeights = new double[outOffsets[n]];
+        int[] inSources = new int[inOffsets[n]];
+        double[] inWeights = new double[inOffsets[n]];
+        for (int i = 0; i < n; i++) {
+            V vertex = vertices.get(i);
+            int j = outOffsets[i];
+            for (E e : outEdges.get(i)) {
+                Integer other = indices.get(e.getOther(vertex));
+                if (other != null) {
+                    outTargets[j] = other;
+                    outWeights[j++] = e.getWeight();
+                }
+            }
+            fillRemainder(outTargets, j, outOffsets[i + 1], i);
+            j = inOffsets[i];
+            for (E e : inEdges.get(i)) {
+                Integer other = indices.get(e.getOther(vertex));
+                if (other != null) {
+                    inSources[j] = other;
+                    inWeights[j++] = e.getWeight();
+                }
+            }
+            fillRemainder(inSources, j, inOffsets[i + 1], i);
+        }
+
+        return new CsrView<>(Collections.unmodifiableList(vertices), indices,
+                outOffsets, outTargets, outWeights, inOffsets, inSources, inWeights);
+    }
+
+    // Edges pointing outside of the vertex set (should not happen with well-formed graphs) degrade to self-loops
+    private static void fillRemainder(int[] array, int from, int to, int self) {
+        for (int i = from; i < to; i++) {
+            array[i] = self;
+        }
+    }
+
+    /**
+     * Gets the number of vertices.
+     *
+     * @return The vertex count.
+     */
+    public int size() {
+        return vertices.size();
+    }
+
+    /**
+     * Gets the vertex at an index.
+     *
+     * @param index The index.
+     * @return The vertex.
+     */
+    @Nonnull
+    public V vertex(int index) {
+        return vertices.get(index);
+    }
+
+    /**
+     * Gets the index of a vertex.
+     *
+     * @param vertex The vertex.
+     * @return The index, or -1 if the vertex was not present in the graph.
+     */
+    public int indexOf(@Nullable V vertex) {
+        Integer index = indices.get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the vertices, ordered by index.
+     *
+     * @return The vertices.
+     */
+    @Nonnull
+    public List<V> vertices() {
+        return vertices;
+    }
+
+    /**
+     * Gets the number of outward adjacencies of a vertex.
+     *
+     * @param index The vertex index.
+     * @return The out degree.
+     */
+    public int outDegree(int index) {
+        return outOffsets[index + 1] - outOffsets[index];
+    }
+
+    /**
+     * Gets the number of inward adjacencies of a vertex.
+     *
+     * @param index The vertex index.
+     * @return The in degree.
+     */
+    public int inDegree(int index) {
+        return inOffsets[index + 1] - inOffsets[index];
+    }
+
+    /**
+     * Gets the outward row offsets. The outward neighbors of vertex {@code i} are stored in
+     * {@link #outTargets()} from {@code outOffsets()[i]} (inclusive) to {@code outOffsets()[i + 1]} (exclusive).
+     *
+     * @return The offsets, this array must not be modified.
+     */
+    @Nonnull
+    public int[] outOffsets() {
+        return outOffsets;
+    }
+
+    /**
+     * Gets the outward neighbor indices.
+     *
+     * @return The targets, this array must not be modified.
+     * @see #outOffsets()
+     */
+    @Nonnull
+    public int[] outTargets() {
+        return outTargets;
+    }
+
+    /**
+     * Gets the outward edge weights, parallel to {@link #outTargets()}.
+     *
+     * @return The weights, this array must not be modified.
+     */
+    @Nonnull
+    public double[] outWeights() {
+        return outWeights;
+    }
+
+    /**
+     * Gets the inward row offsets. The inward neighbors of vertex {@code i} are stored in
+     * {@link #inSources()} from {@code inOffsets()[i]} (inclusive) to {@code inOffsets()[i + 1]} (exclusive).
+     *
+     * @return The offsets, this array must not be modified.
+     */
+    @Nonnull
+    public int[] inOffsets() {
+        return inOffsets;
+    }
+
+    /**
+     * Gets the inward neighbor indices.
+     *
+     * @return The sources, this array must not be modified.
+     * @see #inOffsets()
+     */
+    @Nonnull
+    public int[] inSources() {
+        return inSources;
+    }
+
+    /**
+     * Gets the inward edge weights, parallel to {@link #inSources()}.
+     *
+     * @return The weights, this array must not be modified.
+     */
+    @Nonnull
+    public double[] inWeights() {
+        return inWeights;
+    }
+
+    /**
+     * Maps an array of per-vertex values back onto their vertices.
+     *
+     * @param values The values, indexed by vertex index.
+     * @return The values keyed by vertex.
+     */
+    @Nonnull
+    public Map<V, Double> toMap(@Nonnull double[] values) {
+        Map<V, Double> map = new HashMap<>(values.length * 4 / 3 + 1);
+        for (int i = 0; i < values.length; i++) {
+            map.put(vertices.get(i), values[i]);
+        }
+        return map;
+    }
+}
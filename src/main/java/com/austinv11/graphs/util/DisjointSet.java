@@ -0,0 +1,189 @@
+package com.austinv11.graphs.util;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * A union-find (disjoint set forest) using union by size and path halving, so each operation runs in amortized
+ * O(inverse-Ackermann(n)) (effectively constant) time.
+ *
+ * This implementation is not thread safe.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Disjoint-set_data_structure">Wikipedia page</a>
+ */
+public class DisjointSet<E> {
+
+    private final Map<E, Node<E>> nodes = new HashMap<>();
+    private int setCount = 0;
+
+    /**
+     * Adds an element as its own singleton set, if it is not already present.
+     *
+     * @param element The element to add.
+     * @return True if the element was added, false if it was already present.
+     */
+    public boolean add(@Nonnull E element) {
+        if (nodes.containsKey(element))
+            return false;
+
+        nodes.put(element, new Node<>(element));
+        setCount++;
+        return true;
+    }
+
+    /**
+     * Checks if an element is tracked by this structure.
+     *
+     * @param element The element.
+     * @return True if present, false if otherwise.
+     */
+    public boolean contains(@Nonnull E element) {
+        return nodes.containsKey(element);
+    }
+
+    /**
+     * Merges the sets containing the two elements, adding either element if it is not already present.
+     *
+     * @param element1 The first element.
+     * @param element2 The second element.
+     * @return True if two distinct sets were merged, false if they were already the same set.
+     */
+    public boolean union(@Nonnull E element1, @Nonnull E element2) {
+        add(element1);
+        add(element2);
+
+        Node<E> root1 = root(nodes.get(element1));
+        Node<E> root2 = root(nodes.get(element2));
+        if (root1 == root2)
+            return false;
+
+        if (root1.size < root2.size) {
+            Node<E> temp = root1;
+            root1 = root2;
+            root2 = temp;
+        }
+
+        root2.parent = root1;
+        root1.size += root2.size;
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Finds the representative element of the set containing the given element.
+     *
+     * @param element The element.
+     * @return The representative element, or null if the element is not present.
+     */
+    public E find(@Nonnull E element) {
+        Node<E> node = nodes.get(element);
+        return node == null ? null : root(node).element;
+    }
+
+    /**
+     * Checks if two elements belong to the same set.
+     *
+     * @param element1 The first element.
+     * @param element2 The second element.
+     * @return True if both are present and in the same set, false if otherwise.
+     */
+    public boolean sameSet(@Nonnull E element1, @Nonnull E element2) {
+        Node<E> node1 = nodes.get(element1);
+        Node<E> node2 = nodes.get(element2);
+        if (node1 == null || node2 == null)
+            return false;
+
+        return root(node1) == root(node2);
+    }
+
+    /**
+     * Gets the size of the set containing the given element.
+     *
+     * @param element The element.
+     * @return The size of its set, or 0 if the element is not present.
+     */
+    public int setSize(@Nonnull E element) {
+        Node<E> node = nodes.get(element);
+        return node == null ? 0 : root(node).size;
+    }
+
+    /**
+     * Gets the number of disjoint sets.
+     *
+     * @return The number of sets.
+     */
+    public int setCount() {
+        return setCount;
+    }
+
+    /**
+     * Gets the number of elements tracked.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Gets every element in the same set as the given element.
+     *
+     * @param element The element.
+     * @return The members of its set, or an empty set if the element is not present.
+     */
+    @Nonnull
+    public Set<E> setOf(@Nonnull E element) {
+        Node<E> node = nodes.get(element);
+        if (node == null)
+            return Collections.emptySet();
+
+        Node<E> root = root(node);
+        Set<E> members = new HashSet<>();
+        for (Node<E> other : nodes.values()) {
+            if (root(other) == root)
+                members.add(other.element);
+        }
+        return members;
+    }
+
+    /**
+     * Groups all elements by the set they belong to.
+     *
+     * @return The disjoint sets.
+     */
+    @Nonnull
+    public Collection<Set<E>> sets() {
+        Map<Node<E>, Set<E>> grouped = new HashMap<>();
+        for (Node<E> node : nodes.values()) {
+            grouped.computeIfAbsent(root(node), r -> new HashSet<>()).add(node.element);
+        }
+        return grouped.values();
+    }
+
+    /**
+     * Removes every element.
+     */
+    public void clear() {
+        nodes.clear();
+        setCount = 0;
+    }
+
+    private Node<E> root(Node<E> node) {
+        while (node.parent != node) {
+            node.parent = node.parent.parent; // Path halving
+            node = node.parent;
+        }
+        return node;
+    }
+
+    private static final class Node<E> {
+
+        private final E element;
+        private Node<E> parent = this;
+        private int size = 1;
+
+        private Node(E element) {
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.austinv11.graphs.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of int ids keyed by doubles which, unlike {@link java.util.PriorityQueue}, knows where every id is
+ * so keys can be changed and ids removed in O(log(n)) time instead of O(n). This makes it suited for algorithms such
+ * as Dijkstra's which repeatedly lower the key of queued elements. Ids are expected to be small and dense (such as
+ * indices into a list of vertices), the backing arrays grow to fit the largest id used.
+ *
+ * This implementation is not thread safe.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Binary_heap">Wikipedia page</a>
+ */
+public class IndexedMinHeap {
+
+    private int[] heap; // Position -> id
+    private int[] positions; // Id -> position, or -1 if not queued
+    private double[] keys; // Id -> key
+    private int size = 0;
+
+    public IndexedMinHeap() {
+        this(16);
+    }
+
+    /**
+     * @param capacity The expected number of distinct ids.
+     */
+    public IndexedMinHeap(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Negative capacity");
+        capacity = Math.max(1, capacity);
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if an id is queued.
+     *
+     * @param id The id.
+     * @return True if queued, false if otherwise.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] >= 0;
+    }
+
+    /**
+     * Gets the key of a queued id.
+     *
+     * @param id The id.
+     * @return The key.
+     */
+    public double keyOf(int id) {
+        if (!contains(id))
+            throw new NoSuchElementException("Id " + id + " is not queued");
+        return keys[id];
+    }
+
+    /**
+     * Queues an id, or changes its key if it is already queued.
+     *
+     * @param id The id.
+     * @param key The (new) key.
+     */
+    public void update(int id, double key) {
+        if (id < 0)
+            throw new IllegalArgumentException("Negative id");
+        if (id >= positions.length)
+            grow(id + 1);
+
+        int position = positions[id];
+        if (position < 0) {
+            if (size == heap.length)
+                heap = Arrays.copyOf(heap, size * 2);
+            keys[id] = key;
+            heap[size] = id;
+            positions[id] = size;
+            siftUp(size++);
+        } else {
+            double old = keys[id];
+            keys[id] = key;
+            if (key < old)
+                siftUp(position);
+            else
+                siftDown(position);
+        }
+    }
+
+    /**
+     * Queues an id, or lowers its key if it is already queued with a higher one.
+     *
+     * @param id The id.
+     * @param key The key.
+     * @return True if the id was queued or its key was lowered, false if it was already queued with a lower or equal
+     * key.
+     */
+    public boolean offer(int id, double key) {
+        if (contains(id) && keys[id] <= key)
+            return false;
+        update(id, key);
+        return true;
+    }
+
+    /**
+     * Gets the id with the lowest key without removing it.
+     *
+     * @return The id.
+     */
+    public int peek() {
+        if (size == 0)
+            throw new NoSuchElementException("The heap is empty");
+        return heap[0];
+    }
+
+    /**
+     * Gets the lowest key.
+     *
+     * @return The key.
+     */
+    public double peekKey() {
+        return keys[peek()];
+    }
+
+    /**
+     * Removes the id with the lowest key.
+     *
+     * @return The id.
+     */
+    public int poll() {
+        int id = peek();
+        removeAt(0);
+        return id;
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @param id The id.
+     * @return True if the id was queued, false if otherwise.
+     */
+    public boolean remove(int id) {
+        if (!contains(id))
+            return false;
+        removeAt(positions[id]);
+        return true;
+    }
+
+    /**
+     * Removes every id, in O(size) time.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int position) {
+        int id = heap[position];
+        positions[id] = -1;
+        size--;
+        if (position == size)
+            return;
+
+        int last = heap[size];
+        heap[position] = last;
+        positions[last] = position;
+        siftUp(position);
+        siftDown(positions[last]);
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key)
+                break;
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]])
+                child = right;
+            int childId = heap[child];
+            if (key <= keys[childId])
+                break;
+            heap[position] = childId;
+            positions[childId] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, positions.length * 2);
+        int old = positions.length;
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, old, capacity, -1);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+}
@@ -0,0 +1,106 @@
+package com.austinv11.graphs.util;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock free, multiple producer single consumer queue. Producers never block, {@link #offer(Object)} fails
+ * when the buffer is full instead. This implements Dmitry Vyukov's bounded queue, where every slot has a sequence
+ * number which tells producers and the consumer whose turn it is to use the slot.
+ *
+ * Any thread may offer, but only one thread at a time may {@link #drain(Consumer, int)} or check
+ * {@link #isEmpty()}.
+ *
+ * @see <a href="http://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue">Bounded MPMC queue</a>
+ */
+public class MpscRingBuffer<E> {
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // Only accessed by the consumer
+
+    /**
+     * @param capacity The minimum capacity, this is rounded up to a power of two.
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Gets the number of elements this can hold.
+     *
+     * @return The capacity.
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Adds an element unless this is full.
+     *
+     * @param element The element.
+     * @return True if the element was added, false if this is full.
+     */
+    public boolean offer(@Nonnull E element) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[slot] = element;
+                    sequences.lazySet(slot, position + 1); // Publishes the element to the consumer
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // The consumer has not freed this slot yet
+            }
+        }
+    }
+
+    /**
+     * Removes elements, in order.
+     *
+     * @param consumer Receives the removed elements.
+     * @param max The maximum number of elements to remove.
+     * @return The number of elements removed.
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(@Nonnull Consumer<? super E> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) head & mask;
+            if (sequences.get(slot) != head + 1)
+                break;
+
+            E element = (E) buffer[slot];
+            buffer[slot] = null;
+            sequences.lazySet(slot, head + buffer.length); // Frees the slot for the next lap
+            head++;
+            drained++;
+            consumer.accept(element);
+        }
+        return drained;
+    }
+
+    /**
+     * Checks whether there is nothing to drain.
+     *
+     * @return True if empty.
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+}
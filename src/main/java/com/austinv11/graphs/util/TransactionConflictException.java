@@ -0,0 +1,37 @@
+package com.austinv11.graphs.util;
+
+/**
+ * Thrown when a {@link com.austinv11.graphs.Transaction} cannot be committed because the graph was modified after it
+ * began. The transaction can be retried against the new state of the graph.
+ */
+public class TransactionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long expectedVersion, actualVersion;
+
+    public TransactionConflictException(long expectedVersion, long actualVersion) {
+        super("Graph was modified concurrently (expected version " + expectedVersion + " but was " + actualVersion
+                + ")");
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    /**
+     * Gets the version the transaction was based on.
+     *
+     * @return The expected version.
+     */
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    /**
+     * Gets the version of the graph at the time of the commit.
+     *
+     * @return The actual version.
+     */
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
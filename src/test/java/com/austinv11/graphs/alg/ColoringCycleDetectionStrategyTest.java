@@ -0,0 +1,130 @@
+package com.austinv11.graphs.alg;
+
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks {@link ColoringCycleDetectionStrategy} on small graphs, on chains deeper than any thread stack and against a
+ * reference on random graphs.
+ */
+public class ColoringCycleDetectionStrategyTest {
+
+    private final ColoringCycleDetectionStrategy<Integer, SimpleVertex<Integer>,
+            SimpleEdge<Integer, SimpleVertex<Integer>>,
+            SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>> strategy =
+            new ColoringCycleDetectionStrategy<>();
+
+    @Test
+    public void diamondIsAcyclic() {
+        List<SimpleVertex<Integer>> vertices = new ArrayList<>();
+        SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                graph(4, vertices);
+        connect(graph, vertices, 0, 1);
+        connect(graph, vertices, 0, 2);
+        connect(graph, vertices, 1, 3);
+        connect(graph, vertices, 2, 3);
+        assertFalse(strategy.findCycle(graph));
+
+        connect(graph, vertices, 3, 0);
+        assertTrue(strategy.findCycle(graph));
+    }
+
+    @Test
+    public void selfLoopIsCycle() {
+        List<SimpleVertex<Integer>> vertices = new ArrayList<>();
+        SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                graph(2, vertices);
+        connect(graph, vertices, 0, 1);
+        connect(graph, vertices, 1, 1);
+        assertTrue(strategy.findCycle(graph));
+    }
+
+    @Test
+    public void deepChain() {
+        int depth = 200_000;
+        List<SimpleVertex<Integer>> vertices = new ArrayList<>();
+        SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                graph(depth, vertices);
+        for (int i = 1; i < depth; i++) {
+            connect(graph, vertices, i - 1, i);
+        }
+        assertFalse(strategy.findCycle(graph));
+
+        connect(graph, vertices, depth - 1, 0);
+        assertTrue(strategy.findCycle(graph));
+    }
+
+    @Test
+    public void matchesReferenceOnRandomGraphs() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 500; trial++) {
+            int size = 1 + random.nextInt(12);
+            int edges = random.nextInt(size * 2);
+            List<SimpleVertex<Integer>> vertices = new ArrayList<>();
+            SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                    graph(size, vertices);
+            boolean[][] adjacency = new boolean[size][size];
+            for (int i = 0; i < edges; i++) {
+                int from = random.nextInt(size), to = random.nextInt(size);
+                connect(graph, vertices, from, to);
+                adjacency[from][to] = true;
+            }
+            assertEquals("Trial " + trial, hasCycle(adjacency), strategy.findCycle(graph));
+        }
+    }
+
+    private static SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph(
+            int size, List<SimpleVertex<Integer>> vertices) {
+        SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                new SimpleGraph<>();
+        for (int i = 0; i < size; i++) {
+            SimpleVertex<Integer> vertex = new SimpleVertex<>(i);
+            vertices.add(vertex);
+            graph.addVertex(vertex);
+        }
+        return graph;
+    }
+
+    private static void connect(
+            SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph,
+            List<SimpleVertex<Integer>> vertices, int from, int to) {
+        graph.addEdge(new SimpleEdge<>(vertices.get(from), vertices.get(to), 1, true));
+    }
+
+    // Kahn's algorithm: the graph is acyclic if and only if every vertex can be removed
+    private static boolean hasCycle(boolean[][] adjacency) {
+        int size = adjacency.length;
+        int[] inDegree = new int[size];
+        for (boolean[] row : adjacency) {
+            for (int to = 0; to < size; to++) {
+                if (row[to])
+                    inDegree[to]++;
+            }
+        }
+        boolean[] removed = new boolean[size];
+        int remaining = size;
+        for (boolean progress = true; progress; ) {
+            progress = false;
+            for (int v = 0; v < size; v++) {
+                if (removed[v] || inDegree[v] != 0)
+                    continue;
+                removed[v] = true;
+                remaining--;
+                progress = true;
+                for (int to = 0; to < size; to++) {
+                    if (adjacency[v][to])
+                        inDegree[to]--;
+                }
+            }
+        }
+        return remaining > 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.austinv11.graphs.impl;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that edges handed out by an {@link OffHeapGraph} keep referring to their own record.
+ */
+public class OffHeapGraphTest {
+
+    @Test
+    public void staleEdgeDoesNotMatchReusedRecord() {
+        OffHeapGraph<String> graph = new OffHeapGraph<>();
+        SimpleVertex<String> a = new SimpleVertex<>("a"), b = new SimpleVertex<>("b");
+        graph.addEdge(new SimpleEdge<>(a, b, 1, true));
+        SimpleEdge<String, SimpleVertex<String>> stale = graph.getConnections(a, b).iterator().next();
+        graph.removeEdge(stale);
+
+        graph.addEdge(new SimpleEdge<>(a, b, 1, true)); // Reuses the freed record
+        SimpleEdge<String, SimpleVertex<String>> current = graph.getConnections(a, b).iterator().next();
+        assertNotEquals(stale, current);
+
+        graph.removeEdge(stale);
+        assertEquals(1, graph.getEdgeCount());
+        try {
+            graph.setEdgeWeight(stale, 5);
+            fail("A removed edge was reweighted");
+        } catch (NoSuchElementException expected) {
+            // The edge it referred to is gone
+        }
+        assertEquals(1, graph.getConnections(a, b).iterator().next().getWeight(), 0);
+
+        graph.removeEdge(current);
+        assertEquals(0, graph.getEdgeCount());
+    }
+
+    @Test
+    public void staleEdgeDoesNotMatchAfterClear() {
+        OffHeapGraph<String> graph = new OffHeapGraph<>();
+        SimpleVertex<String> a = new SimpleVertex<>("a"), b = new SimpleVertex<>("b");
+        graph.addEdge(new SimpleEdge<>(a, b, 1, false));
+        SimpleEdge<String, SimpleVertex<String>> stale = graph.getConnections(a, b).iterator().next();
+        graph.clear();
+
+        graph.addEdge(new SimpleEdge<>(a, b, 1, false));
+        graph.removeEdge(stale);
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test
+    public void setEdgeWeightOnlyUpdatesRecord() {
+        OffHeapGraph<String> graph = new OffHeapGraph<>();
+        SimpleVertex<String> a = new SimpleVertex<>("a"), b = new SimpleVertex<>("b");
+        graph.addEdge(new SimpleEdge<>(a, b, 1, true));
+        SimpleEdge<String, SimpleVertex<String>> edge = graph.getConnections(a, b).iterator().next();
+
+        graph.setEdgeWeight(edge, 2);
+        assertEquals(1, edge.getWeight(), 0);
+        assertEquals(2, graph.getConnections(a, b).iterator().next().getWeight(), 0);
+
+        graph.setEdgeWeight(edge, 3); // Still refers to the edge after its weight changed
+        assertEquals(3, graph.getConnections(a, b).iterator().next().getWeight(), 0);
+        graph.removeEdge(edge);
+        assertEquals(0, graph.getEdgeCount());
+    }
+}
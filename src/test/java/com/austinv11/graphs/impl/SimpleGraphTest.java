@@ -0,0 +1,137 @@
+package com.austinv11.graphs.impl;
+
+import com.austinv11.graphs.Graph;
+import com.austinv11.graphs.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that weight changes on a {@link SimpleGraph} stay isolated from its copies and snapshots.
+ */
+public class SimpleGraphTest {
+
+    private SimpleGraph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> graph;
+    private SimpleVertex<String> a, b;
+    private SimpleEdge<String, SimpleVertex<String>> edge;
+
+    @Before
+    public void setUp() {
+        graph = new SimpleGraph<>(true);
+        a = new SimpleVertex<>("a");
+        b = new SimpleVertex<>("b");
+        edge = new SimpleEdge<>(a, b, 1, true);
+        graph.addEdge(edge);
+    }
+
+    @Test
+    public void reweightDoesNotLeakIntoCopies() {
+        Graph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> snapshot = graph.snapshot();
+        SimpleGraph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> copy = graph.copy();
+
+        graph.setEdgeWeight(edge, 2);
+        assertEquals(2, weight(graph), 0);
+        assertEquals(1, weight(snapshot), 0);
+        assertEquals(1, weight(copy), 0);
+        assertEquals(1, edge.getWeight(), 0);
+
+        copy.setEdgeWeight(edge, 3);
+        assertEquals(2, weight(graph), 0);
+        assertEquals(3, weight(copy), 0);
+        assertEquals(2, weight(graph.snapshot()), 0);
+    }
+
+    @Test
+    public void reweightedEdgeIsEqualToOriginal() {
+        graph.setEdgeWeight(edge, 2);
+        SimpleEdge<String, SimpleVertex<String>> current = graph.getConnections(a, b).iterator().next();
+        assertEquals(edge, current);
+        assertEquals(edge.hashCode(), current.hashCode());
+        assertNotEquals(edge, new SimpleEdge<>(a, b, 1, true));
+
+        graph.setEdgeWeight(edge, 4); // Handles from before the change still refer to the edge
+        assertEquals(4, weight(graph), 0);
+        assertEquals(1, graph.edges().size());
+        graph.removeEdge(edge);
+        assertTrue(graph.edges().isEmpty());
+    }
+
+    @Test
+    public void reweightSelfLoop() {
+        SimpleEdge<String, SimpleVertex<String>> loop = new SimpleEdge<>(a, a, 1, false);
+        graph.addEdge(loop);
+        graph.setEdgeWeight(loop, 5);
+        assertEquals(2, graph.getConnectedEdges(a).size());
+        for (SimpleEdge<String, SimpleVertex<String>> e : graph.getConnectedEdges(a)) {
+            assertEquals(e.equals(loop) ? 5 : 1, e.getWeight(), 0);
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void reweightMissingEdge() {
+        graph.setEdgeWeight(new SimpleEdge<>(a, b, 1, true), 2);
+    }
+
+    @Test
+    public void transactionalReweightIsIsolatedFromSnapshot() {
+        Graph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> snapshot = graph.snapshot();
+        Transaction<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> transaction =
+                graph.beginTransaction();
+        transaction.setEdgeWeight(edge, 2);
+        transaction.commit();
+        assertEquals(2, weight(graph), 0);
+        assertEquals(1, weight(snapshot), 0);
+    }
+
+    @Test
+    public void transactionalReweightOfRemovedEdgeFails() {
+        SimpleVertex<String> c = new SimpleVertex<>("c");
+        Transaction<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> transaction =
+                graph.beginTransaction();
+        transaction.addVertex(c);
+        transaction.removeEdge(edge);
+        transaction.setEdgeWeight(edge, 2);
+        try {
+            transaction.commit();
+            fail("A removed edge was reweighted");
+        } catch (NoSuchElementException expected) {
+            // Nothing is applied
+        }
+        assertFalse(transaction.isOpen());
+        assertNull(graph.findVertex("c"));
+        assertEquals(1, weight(graph), 0);
+
+        transaction = graph.beginTransaction();
+        transaction.removeVertex(a);
+        transaction.addEdge(edge);
+        transaction.setEdgeWeight(edge, 3); // Added back before being reweighted
+        transaction.commit();
+        assertEquals(3, weight(graph), 0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void transactionalReweightOfMissingEdgeFails() {
+        Transaction<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> transaction =
+                graph.beginTransaction();
+        transaction.setEdgeWeight(new SimpleEdge<>(a, b, 1, true), 2);
+        transaction.commit();
+    }
+
+    @Test
+    public void batchRollbackRestoresWeight() {
+        DirectedAcyclicGraph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> dag =
+                new DirectedAcyclicGraph<>(graph);
+        dag.setEdgeWeight(edge, 2);
+        dag.beginBatch();
+        dag.setEdgeWeight(edge, 3);
+        dag.rollback();
+        assertEquals(2, weight(graph), 0);
+    }
+
+    private double weight(Graph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> graph) {
+        return graph.getConnections(a, b).iterator().next().getWeight();
+    }
+}
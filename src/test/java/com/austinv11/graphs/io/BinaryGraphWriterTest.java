@@ -0,0 +1,138 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Writes graphs with {@link BinaryGraphWriter} and reads them back with {@link MappedGraph}.
+ */
+public class BinaryGraphWriterTest {
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("graph", ".sgbf");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        SimpleGraph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> graph = new SimpleGraph<>();
+        SimpleVertex<String> a = new SimpleVertex<>("a"), b = new SimpleVertex<>("b"), c = new SimpleVertex<>("c"),
+                d = new SimpleVertex<>("d"), isolated = new SimpleVertex<>("isolated");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addVertex(c);
+        graph.addVertex(d);
+        graph.addVertex(isolated);
+        graph.addEdge(new SimpleEdge<>(a, b, 1.5, true));
+        graph.addEdge(new SimpleEdge<>(b, c, 2, false));
+        graph.addEdge(new SimpleEdge<>(c, a, 0.25, true));
+        graph.addEdge(new SimpleEdge<>(a, d, 4, true));
+        graph.addEdge(new SimpleEdge<>(d, d, 3, false));
+
+        new BinaryGraphWriter<>(ValueCodec.strings()).write(graph, file);
+        MappedGraph<String> mapped = MappedGraph.open(file, ValueCodec.strings());
+
+        assertEquals(5, mapped.getVertexCount());
+        assertEquals(5, mapped.getEdgeCount());
+        assertDegreesMatch(graph, mapped);
+
+        Collection<SimpleEdge<String, SimpleVertex<String>>> connections = mapped.getConnections("a", "b");
+        assertEquals(1, connections.size());
+        SimpleEdge<String, SimpleVertex<String>> edge = connections.iterator().next();
+        assertEquals("a", edge.getFirst());
+        assertEquals("b", edge.getSecond());
+        assertEquals(1.5, edge.getWeight(), 0);
+        assertTrue(edge.isDirected());
+        assertFalse(mapped.getConnections("b", "c").iterator().next().isDirected());
+
+        assertNull(mapped.findVertex("missing"));
+        assertTrue(mapped.vertices().contains(new SimpleVertex<>("isolated")));
+        assertFalse(mapped.vertices().contains(new SimpleVertex<>(42)));
+
+        SimpleGraph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> copy = mapped.copy();
+        assertEquals(5, copy.vertices().size());
+        assertEquals(5, copy.edges().size());
+    }
+
+    @Test
+    public void randomRoundTrip() throws IOException {
+        Random random = new Random(42);
+        SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                new SimpleGraph<>();
+        List<SimpleVertex<Integer>> vertices = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            SimpleVertex<Integer> vertex = new SimpleVertex<>(i);
+            vertices.add(vertex);
+            graph.addVertex(vertex);
+        }
+        double totalWeight = 0;
+        for (int i = 0; i < 2000; i++) {
+            double weight = random.nextDouble();
+            totalWeight += weight;
+            graph.addEdge(new SimpleEdge<>(vertices.get(random.nextInt(500)), vertices.get(random.nextInt(500)),
+                    weight, random.nextBoolean()));
+        }
+
+        new BinaryGraphWriter<>(ValueCodec.integers()).write(graph, file);
+        MappedGraph<Integer> mapped = MappedGraph.open(file, ValueCodec.integers());
+
+        assertEquals(graph.vertices().size(), mapped.getVertexCount());
+        assertEquals(graph.edges().size(), mapped.getEdgeCount());
+        assertDegreesMatch(graph, mapped);
+
+        double mappedWeight = 0;
+        for (SimpleEdge<Integer, SimpleVertex<Integer>> edge : mapped.edges()) {
+            mappedWeight += edge.getWeight();
+        }
+        assertEquals(totalWeight, mappedWeight, 1e-9);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedFileIsRejected() throws IOException {
+        SimpleGraph<String, SimpleVertex<String>, SimpleEdge<String, SimpleVertex<String>>> graph = new SimpleGraph<>();
+        SimpleVertex<String> a = new SimpleVertex<>("a"), b = new SimpleVertex<>("b");
+        graph.addVertex(a);
+        graph.addVertex(b);
+        graph.addEdge(new SimpleEdge<>(a, b, 1, true));
+        new BinaryGraphWriter<>(ValueCodec.strings()).write(graph, file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 4);
+        }
+        MappedGraph.open(file, ValueCodec.strings());
+    }
+
+    private static <T> void assertDegreesMatch(SimpleGraph<T, SimpleVertex<T>, SimpleEdge<T, SimpleVertex<T>>> graph,
+                                               MappedGraph<T> mapped) {
+        for (SimpleVertex<T> vertex : graph.vertices()) {
+            SimpleVertex<T> found = mapped.findVertex(vertex.get());
+            assertNotNull("Missing " + vertex.get(), found);
+            assertEquals(graph.getOutwardEdges(vertex).size(), mapped.getOutwardEdges(found).size());
+            assertEquals(graph.getInwardEdges(vertex).size(), mapped.getInwardEdges(found).size());
+            assertEquals(graph.getConnectedEdges(vertex).size(), mapped.getConnectedEdges(found).size());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.austinv11.graphs.io;
+
+import com.austinv11.graphs.impl.SimpleEdge;
+import com.austinv11.graphs.impl.SimpleGraph;
+import com.austinv11.graphs.impl.SimpleVertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reopens {@link DurableGraph}s to check that their write-ahead log is replayed, including after a torn or failed
+ * write.
+ */
+public class DurableGraphTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("durable");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void reopenReplaysLog() throws IOException {
+        DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph = open();
+        SimpleVertex<Integer> one = new SimpleVertex<>(1), two = new SimpleVertex<>(2), three = new SimpleVertex<>(3);
+        graph.addVertex(one);
+        graph.addVertex(two);
+        graph.addVertex(three);
+        SimpleEdge<Integer, SimpleVertex<Integer>> edge = new SimpleEdge<>(one, two, 1, true);
+        graph.addEdge(edge);
+        graph.addEdge(new SimpleEdge<>(two, three, 2, false));
+        graph.setEdgeWeight(edge, 5);
+        graph.removeVertex(three);
+        graph.close();
+
+        graph = open();
+        try {
+            assertNotNull(graph.findVertex(1));
+            assertNotNull(graph.findVertex(2));
+            assertNull(graph.findVertex(3));
+            assertEquals(1, graph.edges().size());
+            SimpleEdge<Integer, SimpleVertex<Integer>> replayed = graph.edges().iterator().next();
+            assertEquals(Integer.valueOf(1), replayed.getFirst());
+            assertEquals(Integer.valueOf(2), replayed.getSecond());
+            assertEquals(5, replayed.getWeight(), 0);
+            assertTrue(replayed.isDirected());
+        } finally {
+            graph.close();
+        }
+    }
+
+    @Test
+    public void logTruncatedMidRecordIsRecovered() throws IOException {
+        DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph = open();
+        SimpleVertex<Integer> one = new SimpleVertex<>(1), two = new SimpleVertex<>(2);
+        graph.addVertex(one);
+        graph.addVertex(two);
+        graph.addEdge(new SimpleEdge<>(one, two, 1, true));
+        graph.sync();
+        Path log = onlyLog();
+        long committed = Files.size(log);
+
+        graph.addVertex(new SimpleVertex<>(99));
+        graph.close();
+        long written = Files.size(log);
+        assertTrue(written > committed);
+
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(committed + (written - committed) / 2); // Tear the last record
+        }
+
+        graph = open();
+        try {
+            assertNotNull(graph.findVertex(1));
+            assertNotNull(graph.findVertex(2));
+            assertNull(graph.findVertex(99));
+            assertEquals(1, graph.edges().size());
+            assertEquals(committed, Files.size(log));
+
+            graph.addVertex(new SimpleVertex<>(100));
+        } finally {
+            graph.close();
+        }
+
+        graph = open();
+        try {
+            assertNotNull(graph.findVertex(100));
+            assertNull(graph.findVertex(99));
+            assertEquals(3, graph.vertices().size());
+        } finally {
+            graph.close();
+        }
+    }
+
+    @Test
+    public void checkpointThenReplay() throws IOException {
+        DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph = open();
+        SimpleVertex<Integer> one = new SimpleVertex<>(1), two = new SimpleVertex<>(2);
+        graph.addVertex(one);
+        graph.addVertex(two);
+        graph.addEdge(new SimpleEdge<>(one, two, 3, false));
+        graph.checkpoint();
+        graph.addVertex(new SimpleVertex<>(3));
+        graph.close();
+
+        graph = open();
+        try {
+            assertEquals(3, graph.vertices().size());
+            assertEquals(1, graph.edges().size());
+            assertEquals(3, graph.edges().iterator().next().getWeight(), 0);
+        } finally {
+            graph.close();
+        }
+    }
+
+    @Test
+    public void closeLetsBackgroundFlushFinish() throws IOException {
+        for (int round = 0; round < 5; round++) {
+            DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                    open(DurableGraph.Durability.ASYNC, Duration.ofNanos(1));
+            for (int i = 0; i < 1000; i++) {
+                graph.addVertex(new SimpleVertex<>(round * 1000 + i));
+            }
+            graph.close();
+        }
+
+        DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph = open();
+        try {
+            assertEquals(5000, graph.vertices().size());
+        } finally {
+            graph.close();
+        }
+    }
+
+    @Test
+    public void failedSyncKeepsRecords() throws IOException {
+        DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> graph =
+                open(DurableGraph.Durability.ASYNC, Duration.ofHours(1));
+        graph.addVertex(new SimpleVertex<>(1));
+        graph.sync();
+        graph.addVertex(new SimpleVertex<>(2));
+        graph.addVertex(new SimpleVertex<>(3));
+
+        Thread.currentThread().interrupt(); // Closes the log during the write
+        try {
+            graph.sync();
+            fail("An interrupted sync succeeded");
+        } catch (UncheckedIOException expected) {
+            // The records stay buffered
+        } finally {
+            Thread.interrupted();
+        }
+        graph.close();
+
+        graph = open();
+        try {
+            assertEquals(3, graph.vertices().size());
+        } finally {
+            graph.close();
+        }
+    }
+
+    private DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> open()
+            throws IOException {
+        return open(DurableGraph.Durability.SYNC, Duration.ofMillis(5));
+    }
+
+    private DurableGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>> open(
+            DurableGraph.Durability durability, Duration commitInterval) throws IOException {
+        return DurableGraph.builder(directory,
+                new SimpleGraph<Integer, SimpleVertex<Integer>, SimpleEdge<Integer, SimpleVertex<Integer>>>(true),
+                ValueCodec.integers(), SimpleVertex::new, EdgeFactory.<Integer>simple())
+                .setDurability(durability)
+                .setCommitInterval(commitInterval)
+                .setCheckpointBytes(0)
+                .open();
+    }
+
+    private Path onlyLog() throws IOException {
+        List<Path> logs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "wal-*.log")) {
+            files.forEach(logs::add);
+        }
+        assertEquals(1, logs.size());
+        return logs.get(0);
+    }
+}
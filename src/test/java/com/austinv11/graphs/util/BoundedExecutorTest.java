@@ -0,0 +1,66 @@
+package com.austinv11.graphs.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a {@link BoundedExecutor} runs every task it accepts, even once its delegate starts rejecting them.
+ */
+public class BoundedExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void limitsConcurrency() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor(pool, 1);
+        AtomicInteger running = new AtomicInteger(), peak = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[50];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                running.decrementAndGet();
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+        assertEquals(1, peak.get());
+    }
+
+    @Test
+    public void rejectedTasksStillRun() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor(pool, 1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, executor);
+        CompletableFuture<?>[] queued = new CompletableFuture<?>[10];
+        for (int i = 0; i < queued.length; i++) {
+            queued[i] = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor);
+        }
+
+        pool.shutdown(); // Queued tasks are now rejected when the first one finishes
+        blocker.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        CompletableFuture.allOf(queued).get(10, TimeUnit.SECONDS);
+
+        CompletableFuture<String> late = CompletableFuture.supplyAsync(() -> "late", executor);
+        assertEquals("late", late.get(10, TimeUnit.SECONDS)); // Runs on the caller rather than throwing
+    }
+}